@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Runs the same k6 workload against the servlet stack (Tomcat, blocking Mongo driver) and the reactive stack (Netty,
+# WebFlux, reactive Mongo driver) and prints throughput and latency side by side. Requires docker-compose services to
+# be up, k6 and jq on the PATH.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+VUS=${VUS:-400}
+DURATION=${DURATION:-2m}
+RESULTS=target/load-test
+mkdir -p "$RESULTS"
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/employee-service-*.jar | grep -v original | head -n 1)
+
+for stack in servlet reactive; do
+  profile=default
+  [ "$stack" = reactive ] && profile=reactive
+  java -jar "$JAR" --spring.profiles.active=$profile > "$RESULTS/$stack.log" 2>&1 &
+  pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  until curl -sf -u testUser:test123 http://localhost:8080/actuator/health > /dev/null; do sleep 1; done
+
+  k6 run --quiet -e VUS="$VUS" -e DURATION="$DURATION" --summary-export "$RESULTS/$stack.json" load-test/k6/employees.js
+
+  kill $pid
+  wait $pid 2>/dev/null || true
+done
+
+printf '%-10s %12s %10s %10s\n' stack req/s p95_ms p99_ms
+for stack in servlet reactive; do
+  jq -r --arg stack "$stack" \
+    '[$stack, (.metrics.http_reqs.rate | floor), .metrics.http_req_duration["p(95)"], .metrics.http_req_duration["p(99)"]] | @tsv' \
+    "$RESULTS/$stack.json" | xargs printf '%-10s %12s %10.1f %10.1f\n'
+done
@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# Runs the same k6 workload against the service with platform threads and with virtual threads and prints
+# throughput and latency side by side. Requires docker-compose services to be up, k6 and jq on the PATH.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+VUS=${VUS:-400}
+DURATION=${DURATION:-2m}
+RESULTS=target/load-test
+mkdir -p "$RESULTS"
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/employee-service-*.jar | grep -v original | head -n 1)
+
+for mode in platform virtual; do
+  enabled=false
+  [ "$mode" = virtual ] && enabled=true
+  java -jar "$JAR" --employee.threads.virtual.enabled=$enabled > "$RESULTS/$mode.log" 2>&1 &
+  pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  until curl -sf -u testUser:test123 http://localhost:8080/actuator/health > /dev/null; do sleep 1; done
+
+  k6 run --quiet -e VUS="$VUS" -e DURATION="$DURATION" --summary-export "$RESULTS/$mode.json" load-test/k6/employees.js
+
+  kill $pid
+  wait $pid 2>/dev/null || true
+done
+
+printf '%-10s %12s %10s %10s\n' mode req/s p95_ms p99_ms
+for mode in platform virtual; do
+  jq -r --arg mode "$mode" \
+    '[$mode, (.metrics.http_reqs.rate | floor), .metrics.http_req_duration["p(95)"], .metrics.http_req_duration["p(99)"]] | @tsv' \
+    "$RESULTS/$mode.json" | xargs printf '%-10s %12s %10.1f %10.1f\n'
+done
@@ -0,0 +1,61 @@
+// Mixed read-heavy workload against a running employee-service.
+// Usage: k6 run -e BASE_URL=http://localhost:8080 -e VUS=400 -e DURATION=2m load-test/k6/employees.js
+import http from 'k6/http';
+import encoding from 'k6/encoding';
+import { check } from 'k6';
+import exec from 'k6/execution';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const SEED = parseInt(__ENV.SEED || '2000');
+const AUTH = { headers: {
+    'Authorization': `Basic ${encoding.b64encode(`${__ENV.USERNAME || 'testUser'}:${__ENV.PASSWORD || 'test123'}`)}`,
+    'Content-Type': 'application/json',
+} };
+
+export const options = {
+    scenarios: {
+        mixed: {
+            executor: 'constant-vus',
+            vus: parseInt(__ENV.VUS || '400'),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function employee(prefix, i) {
+    return {
+        email: `${prefix}-${i}@example.com`,
+        fullName: `Load Test ${i}`,
+        birthday: '1990-01-01',
+        hobbies: ['Reading', 'Sports'],
+    };
+}
+
+export function setup() {
+    const run = Date.now();
+    const ids = [];
+    for (let offset = 0; offset < SEED; offset += 500) {
+        const batch = [];
+        for (let i = offset; i < Math.min(offset + 500, SEED); i++) {
+            batch.push(employee(`seed-${run}`, i));
+        }
+        const response = http.post(`${BASE_URL}/employees/batch`, JSON.stringify(batch), AUTH);
+        response.json('results').forEach(result => result.employee && ids.push(result.employee.id));
+    }
+    return { ids, run };
+}
+
+export default function (data) {
+    const roll = Math.random();
+    if (roll < 0.8) {
+        const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+        check(http.get(`${BASE_URL}/employees/${id}`, AUTH), { 'get 200': r => r.status === 200 });
+    } else if (roll < 0.9) {
+        check(http.get(`${BASE_URL}/employees?size=50`, AUTH), { 'list 200': r => r.status === 200 });
+    } else {
+        const i = `${exec.vu.idInTest}-${exec.vu.iterationInScenario}`;
+        check(http.post(`${BASE_URL}/employees`, JSON.stringify(employee(`load-${data.run}`, i)), AUTH),
+            { 'create 201': r => r.status === 201 });
+    }
+}
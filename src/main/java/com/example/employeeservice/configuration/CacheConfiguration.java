@@ -0,0 +1,16 @@
+package com.example.employeeservice.configuration;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Caches are backed by Caffeine and bounded through {@code spring.cache.caffeine.spec}. The cache advice wraps the
+ * transaction advice so that evictions happen after the change is committed.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfiguration {
+
+    public static final String EMPLOYEES_CACHE = "employees";
+}
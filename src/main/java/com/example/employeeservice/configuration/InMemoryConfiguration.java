@@ -0,0 +1,104 @@
+package com.example.employeeservice.configuration;
+
+import com.example.employeeservice.repository.EmployeeRepository;
+import com.example.employeeservice.repository.EmployeeStatsRepository;
+import com.example.employeeservice.repository.OutboxEventRepository;
+import com.example.employeeservice.repository.inmemory.InMemoryEmployeeRepository;
+import com.example.employeeservice.repository.inmemory.InMemoryEmployeeStatsRepository;
+import com.example.employeeservice.repository.inmemory.InMemoryOutboxEventRepository;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.record.RecordBatch;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs the servlet stack without MongoDB or Kafka, selected with the {@code in-memory} profile, so that load tests
+ * need nothing but the JVM. Employees, their stats counters and outbox events are kept in memory, and the relay
+ * publishes to a template that acknowledges every event at once and discards it. Data is lost on restart and not
+ * shared between instances.
+ */
+@Configuration
+@Profile(InMemoryConfiguration.PROFILE)
+public class InMemoryConfiguration {
+
+    public static final String PROFILE = "in-memory";
+
+    @Bean
+    public EmployeeRepository employeeRepository() {
+        return new InMemoryEmployeeRepository();
+    }
+
+    @Bean
+    public EmployeeStatsRepository employeeStatsRepository() {
+        return new InMemoryEmployeeStatsRepository();
+    }
+
+    @Bean
+    public OutboxEventRepository outboxEventRepository() {
+        return new InMemoryOutboxEventRepository();
+    }
+
+    /**
+     * There is nothing to commit or roll back, but transaction synchronization, and with it the listeners that run
+     * after commit, behaves as with Mongo.
+     */
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new ResourcelessTransactionManager();
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> kafkaTemplate() {
+        return new DiscardingKafkaTemplate();
+    }
+
+    /**
+     * Keeps nothing of what it is sent, so that a long load test does not accumulate every event in memory.
+     */
+    private static class DiscardingKafkaTemplate extends KafkaTemplate<String, byte[]> {
+
+        DiscardingKafkaTemplate() {
+            super(() -> {
+                throw new UnsupportedOperationException("There is no Kafka producer in the in-memory profile");
+            });
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, byte[]>> send(ProducerRecord<String, byte[]> record) {
+            RecordMetadata metadata = new RecordMetadata(new TopicPartition(record.topic(), 0), -1, 0,
+                    RecordBatch.NO_TIMESTAMP, -1, -1);
+            return CompletableFuture.completedFuture(new SendResult<>(record, metadata));
+        }
+    }
+
+    private static class ResourcelessTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.employeeservice.configuration;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.projection.EmployeeFields;
+import com.example.employeeservice.serialization.WireFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Employees are written through the {@link EmployeeFields} filter. Unless a response selects fields, the default
+ * filter writes all of them, which keeps the outbox payload and the export unchanged.
+ * <p>
+ * Besides JSON, the API reads and writes CBOR and Smile when asked for with {@code Accept} or {@code Content-Type}.
+ * Their converters and codecs replace Spring's defaults, whose mappers lack the filter and Spring Boot's settings.
+ */
+@Configuration
+public class JacksonConfiguration {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer employeeFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(Employee.class, EmployeeFields.FilterMixin.class)
+                .filters(EmployeeFields.ALL.getFilters());
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(WireFormat.CBOR.mapper(builder));
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(WireFormat.SMILE.mapper(builder));
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CodecCustomizer binaryCodecsCustomizer(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        return configurer -> {
+            ObjectMapper cbor = WireFormat.CBOR.mapper(builders.getObject());
+            ObjectMapper smile = WireFormat.SMILE.mapper(builders.getObject());
+            configurer.customCodecs().register(new Jackson2CborEncoder(cbor));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cbor));
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smile));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smile));
+        };
+    }
+}
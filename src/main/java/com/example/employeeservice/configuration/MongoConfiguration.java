@@ -0,0 +1,25 @@
+package com.example.employeeservice.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+/**
+ * Employee writes and their outbox events share a transaction, which requires MongoDB to run as a replica set.
+ */
+@Configuration
+@Profile("!" + InMemoryConfiguration.PROFILE)
+public class MongoConfiguration {
+
+    /**
+     * Primary so that {@code @Transactional} keeps resolving it when the reactive stack adds its own manager.
+     */
+    @Bean
+    @Primary
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory mongoDatabaseFactory) {
+        return new MongoTransactionManager(mongoDatabaseFactory);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.employeeservice.configuration;
+
+import com.example.employeeservice.security.CachingPasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Shared by the servlet and the reactive security setup.
+ */
+@Configuration
+@Slf4j
+public class PasswordEncoderConfiguration {
+
+    private static final Pattern ENCODED_PASSWORD = Pattern.compile("^\\{.+}.*$");
+
+    /**
+     * Stored passwords are bcrypt hashes; successful checks are cached so that Basic auth does not pay for a bcrypt
+     * round on every request.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${employee.security.credential-cache.enabled:true}") boolean cacheEnabled,
+            @Value("${employee.security.credential-cache.maximum-size:1000}") long maximumSize,
+            @Value("${employee.security.credential-cache.ttl:60s}") Duration ttl
+    ) {
+        PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        if (!cacheEnabled) {
+            return passwordEncoder;
+        }
+        return new CachingPasswordEncoder(passwordEncoder, maximumSize, ttl);
+    }
+
+    /**
+     * Password of the {@code spring.security.user} as the delegating encoder expects it. Like Spring Boot's own user,
+     * a password without an {@code {id}} prefix is plain text, and a generated one is logged so that it can be used.
+     */
+    static String userPassword(SecurityProperties.User user) {
+        String password = user.getPassword();
+        if (user.isPasswordGenerated()) {
+            log.warn("\n\nUsing generated security password: {}\n\nThis generated password is for development use only. "
+                    + "Set spring.security.user.password before running the application in production.\n", password);
+        }
+        return ENCODED_PASSWORD.matcher(password).matches() ? password : "{noop}" + password;
+    }
+}
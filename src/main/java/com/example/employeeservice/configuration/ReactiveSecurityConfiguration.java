@@ -0,0 +1,54 @@
+package com.example.employeeservice.configuration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import javax.crypto.SecretKey;
+
+import static org.springframework.security.config.Customizer.withDefaults;
+
+/**
+ * Reactive counterpart of {@link SecurityConfiguration}: stateless HTTP Basic with the same user and password
+ * encoder, plus bearer tokens when token mode is enabled.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfiguration {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, ObjectProvider<SecretKey> tokenSigningKey) {
+        http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchanges -> exchanges
+                        .anyExchange().authenticated()
+                )
+                .httpBasic(withDefaults());
+        tokenSigningKey.ifAvailable(key -> http.oauth2ResourceServer(resourceServer -> resourceServer
+                .jwt(jwt -> jwt.jwtDecoder(NimbusReactiveJwtDecoder.withSecretKey(key)
+                        .macAlgorithm(MacAlgorithm.HS256)
+                        .build()))));
+        return http.build();
+    }
+
+    @Bean
+    public MapReactiveUserDetailsService reactiveUserDetailsService(SecurityProperties securityProperties) {
+        SecurityProperties.User user = securityProperties.getUser();
+        return new MapReactiveUserDetailsService(User.withUsername(user.getName())
+                .password(PasswordEncoderConfiguration.userPassword(user))
+                .roles(user.getRoles().toArray(String[]::new))
+                .build());
+    }
+}
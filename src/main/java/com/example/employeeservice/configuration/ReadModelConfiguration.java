@@ -0,0 +1,33 @@
+package com.example.employeeservice.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+
+import java.time.Duration;
+
+/**
+ * Listener containers of the employee read model. They are configured like the default ones but also publish idle
+ * events, so that the read model learns it has caught up when the topic has no new events to deliver.
+ */
+@Configuration
+@ConditionalOnProperty(value = "employee.read-model.enabled", havingValue = "true")
+public class ReadModelConfiguration {
+
+    public static final String CONTAINER_FACTORY = "employeeReadModelContainerFactory";
+
+    @Bean(CONTAINER_FACTORY)
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> employeeReadModelContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${employee.read-model.idle-event-interval:1s}") Duration idleEventInterval) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.getContainerProperties().setIdleEventInterval(idleEventInterval.toMillis());
+        return factory;
+    }
+}
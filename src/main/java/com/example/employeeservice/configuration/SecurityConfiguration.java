@@ -1,31 +1,58 @@
 package com.example.employeeservice.configuration;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
 @Configuration
 @EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfiguration {
 
+    @Value("${employee.security.token.enabled:false}")
+    private boolean tokenEnabled;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests((authz) -> authz
                         .anyRequest().authenticated()
 
                 )
                 .httpBasic(withDefaults());
+        if (tokenEnabled) {
+            http.oauth2ResourceServer(resourceServer -> resourceServer.jwt(withDefaults()));
+        }
         return http.build();
     }
 
+    /**
+     * Declared here rather than left to Spring Boot, which backs off its user as soon as a JWT decoder exists, while
+     * token mode still needs Basic credentials to issue tokens.
+     */
+    @Bean
+    public InMemoryUserDetailsManager userDetailsService(SecurityProperties securityProperties) {
+        SecurityProperties.User user = securityProperties.getUser();
+        return new InMemoryUserDetailsManager(User.withUsername(user.getName())
+                .password(PasswordEncoderConfiguration.userPassword(user))
+                .roles(user.getRoles().toArray(String[]::new))
+                .build());
+    }
+
     @Bean
     public WebSecurityCustomizer webSecurityCustomizer() {
         return (web) -> web.ignoring().requestMatchers("/swagger-ui/**", "/v3/api-docs/**");
@@ -0,0 +1,62 @@
+package com.example.employeeservice.configuration;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+
+/**
+ * Stateless token mode: clients exchange their Basic credentials once for an HS256-signed JWT, which every instance
+ * validates locally with the shared secret instead of re-checking the password.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.security.token.enabled", havingValue = "true")
+public class TokenConfiguration {
+
+    static final int MIN_KEY_BITS = 256;
+
+    /**
+     * HS256 needs a key of at least 256 bits. There is no default, so the service does not start in token mode with a
+     * missing or guessable secret.
+     */
+    @Bean
+    public SecretKey tokenSigningKey(@Value("${employee.security.token.secret:}") String secret) {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("employee.security.token.secret must be set to a base64 key of at least "
+                    + MIN_KEY_BITS + " bits in token mode");
+        }
+        byte[] key;
+        try {
+            key = Base64.getDecoder().decode(secret.strip());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("employee.security.token.secret is not base64", e);
+        }
+        if (key.length * 8 < MIN_KEY_BITS) {
+            throw new IllegalStateException("employee.security.token.secret has " + key.length * 8
+                    + " bits, HS256 needs at least " + MIN_KEY_BITS);
+        }
+        return new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    @Bean
+    public JwtEncoder jwtEncoder(SecretKey tokenSigningKey) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(tokenSigningKey));
+    }
+
+    @Bean
+    public JwtDecoder jwtDecoder(SecretKey tokenSigningKey) {
+        return NimbusJwtDecoder.withSecretKey(tokenSigningKey)
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+    }
+}
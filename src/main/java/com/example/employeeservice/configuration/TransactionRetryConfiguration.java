@@ -0,0 +1,33 @@
+package com.example.employeeservice.configuration;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Retries {@code @Transactional} methods that fail with a transient transaction error. The advice runs outside of the
+ * transaction, so that every attempt gets a new one, and is an infrastructure bean, so that the auto-proxy creator
+ * Spring Boot registers without AspectJ applies it.
+ */
+@Configuration
+public class TransactionRetryConfiguration {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor transientTransactionRetryAdvisor(
+            @Value("${employee.transactions.max-attempts:5}") int maxAttempts
+    ) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(null, Transactional.class, true),
+                new TransientTransactionRetryInterceptor(maxAttempts));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.employeeservice.configuration;
+
+import com.mongodb.MongoException;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs a transactional method again when MongoDB aborted its transaction with a {@code TransientTransactionError},
+ * which is what two concurrent writes to the same employee get: the second one hits a write conflict. Each attempt
+ * starts a new transaction after a short random backoff. Methods joining an outer transaction are left to the retry
+ * of that one. Once the attempts are used up, the failure surfaces as a {@link ConcurrencyFailureException}.
+ */
+@Slf4j
+public class TransientTransactionRetryInterceptor implements MethodInterceptor {
+
+    public static final long BACKOFF_MILLIS = 10;
+
+    private final int maxAttempts;
+
+    public TransientTransactionRetryInterceptor(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("employee.transactions.max-attempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                || !(invocation instanceof ProxyMethodInvocation proxyInvocation)) {
+            return invocation.proceed();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return proxyInvocation.invocableClone().proceed();
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    throw new ConcurrencyFailureException(
+                            "Transaction of " + invocation.getMethod().getName() + " failed " + attempt + " times", e);
+                }
+                log.debug("retrying {} after a transient transaction error", invocation.getMethod().getName(), e);
+                Thread.sleep(ThreadLocalRandom.current().nextLong(BACKOFF_MILLIS << attempt));
+            }
+        }
+    }
+
+    /**
+     * Whether the failure, or one of its causes, carries the driver's {@code TransientTransactionError} label. Spring
+     * translates the driver's exception into several types, so the label is looked up along the causes.
+     */
+    public static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongoException
+                    && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,27 +1,61 @@
 package com.example.employeeservice.controller;
 
+import com.example.employeeservice.dto.request.BulkDeleteEmployeesRequest;
+import com.example.employeeservice.dto.request.BulkUpdateEmployeesRequest;
 import com.example.employeeservice.dto.request.CreateEmployeeRequest;
+import com.example.employeeservice.dto.request.PatchEmployeeRequest;
+import com.example.employeeservice.dto.request.SearchEmployeesRequest;
 import com.example.employeeservice.dto.request.UpdateEmployeeRequest;
+import com.example.employeeservice.dto.response.BatchCreateEmployeeResponse;
 import com.example.employeeservice.dto.response.CreateEmployeeResponse;
+import com.example.employeeservice.dto.response.EmployeePageResponse;
 import com.example.employeeservice.exception.AlreadyExistException;
+import com.example.employeeservice.exception.BadRequestException;
 import com.example.employeeservice.exception.NotFoundException;
+import com.example.employeeservice.exception.PreconditionFailedException;
 import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.projection.EmployeeFields;
+import com.example.employeeservice.service.BulkOperation;
+import com.example.employeeservice.service.EmployeeBatchService;
+import com.example.employeeservice.service.EmployeeBulkService;
+import com.example.employeeservice.service.EmployeeExportService;
 import com.example.employeeservice.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/employees")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class EmployeeController {
 
+    private static final String FIELDS_DESCRIPTION =
+            "Comma-separated employee fields to return, out of id, email, fullName, birthday and hobbies. The id is always returned.";
+
     private final EmployeeService employeeService;
+    private final EmployeeExportService employeeExportService;
+    private final EmployeeBatchService employeeBatchService;
+    private final EmployeeBulkService employeeBulkService;
 
     @Operation(
             summary = "Create an employee",
@@ -33,38 +67,172 @@ public class EmployeeController {
     }
 
     @Operation(
-            summary = "Get all employees",
-            description = "Retrieves a list of all employees.")
+            summary = "Create employees in bulk",
+            description = "Creates every valid employee of the batch that does not clash with an existing email and reports the outcome per item.")
+    @PostMapping("/batch")
+    public BatchCreateEmployeeResponse createEmployees(@RequestBody List<CreateEmployeeRequest> requests) throws BadRequestException {
+        return employeeBatchService.createEmployees(requests);
+    }
+
+    @Operation(
+            summary = "Update employees in bulk",
+            description = "Applies the same changes to the listed employees or to every employee matching the filter, chunk by chunk, and streams the progress as newline-delimited JSON. Emails cannot be changed in bulk.")
+    @PostMapping(value = "/bulk-update", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> updateEmployees(@Valid @RequestBody BulkUpdateEmployeesRequest request)
+            throws BadRequestException {
+        return bulk(employeeBulkService.prepareUpdate(request));
+    }
+
+    @Operation(
+            summary = "Delete employees in bulk",
+            description = "Deletes the listed employees or every employee matching the filter, chunk by chunk, and streams the progress as newline-delimited JSON.")
+    @PostMapping(value = "/bulk-delete", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> deleteEmployees(@RequestBody BulkDeleteEmployeesRequest request)
+            throws BadRequestException {
+        return bulk(employeeBulkService.prepareDelete(request));
+    }
+
+    @Operation(
+            summary = "Get employees",
+            description = "Retrieves a page of employees ordered by ID. Pass the returned nextCursor to fetch the following page. Answers 304 if the page still matches If-None-Match.")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = EmployeePageResponse.class)))
     @GetMapping
-    public List<Employee> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public MappingJacksonValue getEmployees(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest,
+            HttpServletResponse response
+    ) throws BadRequestException {
+        EmployeeFields selected = EmployeeFields.parse(fields);
+        EmployeePageResponse page = employeeService.getEmployees(cursor, size, selected);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return webRequest.checkNotModified(EmployeeETags.of(page, selected, accept)) ? null : selected.serialize(page);
+    }
+
+    @Operation(
+            summary = "Search employees",
+            description = "Retrieves a page of employees, ordered by ID, that have every given hobby, were born within the given range and whose full name starts with the given name, ignoring case. Pass the returned nextCursor to fetch the following page. Answers 304 if the page still matches If-None-Match.")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = EmployeePageResponse.class)))
+    @GetMapping("/search")
+    public MappingJacksonValue searchEmployees(
+            SearchEmployeesRequest request,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest,
+            HttpServletResponse response
+    ) throws BadRequestException {
+        EmployeeFields selected = EmployeeFields.parse(fields);
+        EmployeePageResponse page = employeeService.searchEmployees(request, cursor, size, selected);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return webRequest.checkNotModified(EmployeeETags.of(page, selected, accept)) ? null : selected.serialize(page);
+    }
+
+    @Operation(
+            summary = "Get upcoming birthdays",
+            description = "Retrieves a page of employees whose birthday is within the given number of days from the given date, today by default, ordered by the date it comes, across the new year too. Pass the returned nextCursor, with the same from, to fetch the following page. Answers 304 if the page still matches If-None-Match.")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = EmployeePageResponse.class)))
+    @GetMapping("/birthdays")
+    public MappingJacksonValue getUpcomingBirthdays(
+            @RequestParam int withinDays,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest,
+            HttpServletResponse response
+    ) throws BadRequestException {
+        EmployeeFields selected = EmployeeFields.parse(fields);
+        EmployeePageResponse page = employeeService.getUpcomingBirthdays(withinDays, from, cursor, size, selected);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return webRequest.checkNotModified(EmployeeETags.of(page, selected, accept)) ? null : selected.serialize(page);
+    }
+
+    @Operation(
+            summary = "Export all employees",
+            description = "Streams every employee as newline-delimited JSON.")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(employeeExportService::exportEmployees);
     }
 
     @Operation(
             summary = "Get an employee by ID",
-            description = "Retrieves an employee based on the provided employee ID.")
+            description = "Retrieves an employee based on the provided employee ID. The ETag is the employee's version, followed by a hash of the representation unless every field is asked for as JSON; answers 304 if it still matches If-None-Match.")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = Employee.class)))
     @GetMapping("/{employeeId}")
-    public Employee getEmployeeById(@PathVariable UUID employeeId) throws NotFoundException {
-        return employeeService.getEmployeeById(employeeId);
+    public MappingJacksonValue getEmployeeById(
+            @PathVariable UUID employeeId,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest,
+            HttpServletResponse response
+    ) throws NotFoundException, BadRequestException {
+        EmployeeFields selected = EmployeeFields.parse(fields);
+        Employee employee = selected.isAll()
+                ? employeeService.getEmployeeById(employeeId)
+                : employeeService.getEmployeeById(employeeId, selected);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        String etag = EmployeeETags.of(employee, selected, accept);
+        return webRequest.checkNotModified(etag) ? null : selected.serialize(employee);
     }
 
     @Operation(
             summary = "Update an employee",
-            description = "Updates the details of an existing employee.")
+            description = "Updates the details of an existing employee. With If-Match, fails with 412 unless the employee still has that ETag.")
     @PutMapping("/{employeeId}")
-    public Employee updateEmployee(
+    public ResponseEntity<Employee> updateEmployee(
+            @PathVariable UUID employeeId,
+            @RequestBody UpdateEmployeeRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) throws NotFoundException, AlreadyExistException, PreconditionFailedException {
+        Employee employee = employeeService.updateEmployee(employeeId, request, EmployeeETags.expectedVersion(ifMatch));
+        return withETag(employee, accept);
+    }
+
+    @Operation(
+            summary = "Partially update an employee",
+            description = "Changes only the supplied fields in a single atomic update and returns the updated employee. With If-Match, fails with 412 unless the employee still has that ETag.")
+    @PatchMapping("/{employeeId}")
+    public ResponseEntity<Employee> patchEmployee(
             @PathVariable UUID employeeId,
-            @RequestBody UpdateEmployeeRequest request
-    ) throws NotFoundException {
-        return employeeService.updateEmployee(employeeId, request);
+            @Valid @RequestBody PatchEmployeeRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) throws NotFoundException, AlreadyExistException, BadRequestException, PreconditionFailedException {
+        Employee employee = employeeService.patchEmployee(employeeId, request, EmployeeETags.expectedVersion(ifMatch));
+        return withETag(employee, accept);
     }
 
     @Operation(
             summary = "Delete an employee",
-            description = "Deletes an employee based on the provided employee ID.")
+            description = "Deletes an employee based on the provided employee ID. With If-Match, fails with 412 unless the employee still has that ETag.")
     @DeleteMapping("/{employeeId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteEmployee(@PathVariable UUID employeeId) {
-        employeeService.deleteEmployee(employeeId);
+    public void deleteEmployee(
+            @PathVariable UUID employeeId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) throws PreconditionFailedException {
+        employeeService.deleteEmployee(employeeId, EmployeeETags.expectedVersion(ifMatch));
+    }
+
+    private static ResponseEntity<Employee> withETag(Employee employee, String accept) {
+        return ResponseEntity.ok()
+                .eTag(EmployeeETags.of(employee, EmployeeFields.ALL, accept))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(employee);
+    }
+
+    private ResponseEntity<StreamingResponseBody> bulk(BulkOperation operation) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> employeeBulkService.stream(operation, outputStream));
     }
 }
@@ -0,0 +1,118 @@
+package com.example.employeeservice.controller;
+
+import com.example.employeeservice.dto.response.EmployeePageResponse;
+import com.example.employeeservice.exception.PreconditionFailedException;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.projection.EmployeeFields;
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * ETags derived from employee versions, so that conditional requests are answered without serializing anything.
+ * An employee's ETag is its version, qualified by the representation; a page's is a digest of the ids and versions
+ * on it, of the next cursor and of the representation.
+ */
+final class EmployeeETags {
+
+    private static final Set<String> JSON_ACCEPT = Set.of("", "*/*", MediaType.APPLICATION_JSON_VALUE);
+
+    private EmployeeETags() {
+    }
+
+    /**
+     * Strong, so that it can be sent back with {@code If-Match}. The ETag of the full JSON representation is the bare
+     * version; one with fewer fields or in another format has a hash of the fields and the {@code Accept} header
+     * appended to it, so that representations of the same version do not share an ETag. Responses carrying it vary
+     * by {@code Accept}.
+     */
+    static String of(Employee employee, EmployeeFields fields, String accept) {
+        String variant = variant(fields, accept);
+        if (variant == null) {
+            return "\"" + version(employee) + "\"";
+        }
+        return "\"" + version(employee) + "-" + Integer.toHexString(variant.hashCode()) + "\"";
+    }
+
+    /**
+     * Weak, because the page body also depends on the order of its fields and the cursor encoding. The next cursor is
+     * part of the digest, so that a full last page gets a new ETag once an employee is added after it, and so is the
+     * representation, as for a single employee. Responses carrying it vary by {@code Accept}.
+     */
+    static String of(EmployeePageResponse page, EmployeeFields fields, String accept) {
+        MessageDigest digest = sha256();
+        String variant = variant(fields, accept);
+        if (variant != null) {
+            digest.update(variant.getBytes(StandardCharsets.UTF_8));
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(24);
+        for (Employee employee : page.getItems()) {
+            buffer.clear();
+            buffer.putLong(employee.getId().getMostSignificantBits())
+                    .putLong(employee.getId().getLeastSignificantBits())
+                    .putLong(version(employee));
+            digest.update(buffer.array());
+        }
+        if (page.getNextCursor() == null) {
+            digest.update((byte) 0);
+        } else {
+            digest.update((byte) 1);
+            digest.update(page.getNextCursor().getBytes(StandardCharsets.UTF_8));
+        }
+        return "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()) + "\"";
+    }
+
+    /**
+     * Reads the version an {@code If-Match} header requires.
+     *
+     * @return {@code null} if any version is accepted
+     * @throws PreconditionFailedException if the header cannot match any version, such as a weak or foreign ETag
+     */
+    static Long expectedVersion(String ifMatch) throws PreconditionFailedException {
+        if (ifMatch == null || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.strip();
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            String opaque = etag.substring(1, etag.length() - 1);
+            int variant = opaque.indexOf('-');
+            try {
+                return Long.parseLong(variant < 0 ? opaque : opaque.substring(0, variant));
+            } catch (NumberFormatException ignored) {
+                // falls through to the mismatch below
+            }
+        }
+        throw new PreconditionFailedException("If-Match {0} does not match any employee version", 412, etag);
+    }
+
+    /**
+     * @return the fields and the media type asked for, {@code null} for every field as JSON
+     */
+    private static String variant(EmployeeFields fields, String accept) {
+        String mediaType = accept == null ? "" : accept.replace(" ", "").toLowerCase(Locale.ROOT);
+        boolean json = JSON_ACCEPT.contains(mediaType);
+        if (fields.isAll() && json) {
+            return null;
+        }
+        return fields + ";" + (json ? "" : mediaType);
+    }
+
+    private static long version(Employee employee) {
+        return Objects.requireNonNullElse(employee.getVersion(), 0L);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.employeeservice.controller;
+
+import com.example.employeeservice.dto.response.EmployeeStatsResponse;
+import com.example.employeeservice.exception.BadRequestException;
+import com.example.employeeservice.stats.EmployeeStats;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/employees")
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "employee.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeStatsController {
+
+    private final EmployeeStats employeeStats;
+
+    @Value("${employee.stats.max-hobbies:1000}")
+    private int maxHobbies;
+
+    @Operation(
+            summary = "Get employee statistics",
+            description = "Returns the headcount, the most popular hobbies and the birth month distribution, served from counters maintained on every change.")
+    @GetMapping("/stats")
+    public EmployeeStatsResponse getStats(@RequestParam(defaultValue = "20") int hobbies) throws BadRequestException {
+        if (hobbies < 0) {
+            throw new BadRequestException("hobbies must not be negative", 400);
+        }
+        return employeeStats.getStats(Math.min(hobbies, maxHobbies));
+    }
+}
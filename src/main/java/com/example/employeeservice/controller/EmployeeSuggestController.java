@@ -0,0 +1,41 @@
+package com.example.employeeservice.controller;
+
+import com.example.employeeservice.dto.response.EmployeeSuggestion;
+import com.example.employeeservice.exception.BadRequestException;
+import com.example.employeeservice.suggest.EmployeeSuggestIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/employees")
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "employee.suggest.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeSuggestController {
+
+    private final EmployeeSuggestIndex employeeSuggestIndex;
+
+    @Value("${employee.suggest.max-limit:50}")
+    private int maxLimit;
+
+    @Operation(
+            summary = "Suggest employees",
+            description = "Returns the best matching employees for a typeahead query on full name and email, served from memory.")
+    @GetMapping("/suggest")
+    public List<EmployeeSuggestion> suggestEmployees(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) throws BadRequestException {
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be positive", 400);
+        }
+        return employeeSuggestIndex.suggest(q, Math.min(limit, maxLimit));
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.employeeservice.controller;
+
+import com.example.employeeservice.dto.request.BulkDeleteEmployeesRequest;
+import com.example.employeeservice.dto.request.BulkUpdateEmployeesRequest;
+import com.example.employeeservice.dto.request.CreateEmployeeRequest;
+import com.example.employeeservice.dto.request.PatchEmployeeRequest;
+import com.example.employeeservice.dto.request.SearchEmployeesRequest;
+import com.example.employeeservice.dto.request.UpdateEmployeeRequest;
+import com.example.employeeservice.dto.response.BatchCreateEmployeeResponse;
+import com.example.employeeservice.dto.response.BulkOperationProgress;
+import com.example.employeeservice.dto.response.CreateEmployeeResponse;
+import com.example.employeeservice.dto.response.EmployeePageResponse;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.projection.EmployeeFields;
+import com.example.employeeservice.service.ReactiveEmployeeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Same API as {@link EmployeeController}, served by the reactive stack.
+ */
+@RestController
+@RequestMapping("/employees")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeController {
+
+    private static final String FIELDS_DESCRIPTION =
+            "Comma-separated employee fields to return, out of id, email, fullName, birthday and hobbies. The id is always returned.";
+
+    private final ReactiveEmployeeService employeeService;
+
+    @Operation(
+            summary = "Create an employee",
+            description = "Creates a new employee with the provided details.")
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<CreateEmployeeResponse> createEmployee(@Valid @RequestBody CreateEmployeeRequest request) {
+        return employeeService.createEmployee(request);
+    }
+
+    @Operation(
+            summary = "Create employees in bulk",
+            description = "Creates every valid employee of the batch that does not clash with an existing email and reports the outcome per item.")
+    @PostMapping("/batch")
+    public Mono<BatchCreateEmployeeResponse> createEmployees(@RequestBody List<CreateEmployeeRequest> requests) {
+        return employeeService.createEmployees(requests);
+    }
+
+    @Operation(
+            summary = "Update employees in bulk",
+            description = "Applies the same changes to the listed employees or to every employee matching the filter, chunk by chunk, and streams the progress as newline-delimited JSON. Emails cannot be changed in bulk.")
+    @PostMapping(value = "/bulk-update", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkOperationProgress> updateEmployees(@Valid @RequestBody BulkUpdateEmployeesRequest request) {
+        return employeeService.updateEmployees(request);
+    }
+
+    @Operation(
+            summary = "Delete employees in bulk",
+            description = "Deletes the listed employees or every employee matching the filter, chunk by chunk, and streams the progress as newline-delimited JSON.")
+    @PostMapping(value = "/bulk-delete", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkOperationProgress> deleteEmployees(@RequestBody BulkDeleteEmployeesRequest request) {
+        return employeeService.deleteEmployees(request);
+    }
+
+    @Operation(
+            summary = "Get employees",
+            description = "Retrieves a page of employees ordered by ID. Pass the returned nextCursor to fetch the following page. Answers 304 if the page still matches If-None-Match.")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = EmployeePageResponse.class)))
+    @GetMapping
+    public Mono<MappingJacksonValue> getEmployees(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            ServerWebExchange exchange
+    ) {
+        exchange.getResponse().getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return Mono.fromCallable(() -> EmployeeFields.parse(fields))
+                .flatMap(selected -> employeeService.getEmployees(cursor, size, selected)
+                        .filter(page -> !exchange.checkNotModified(EmployeeETags.of(page, selected, accept)))
+                        .map(selected::serialize));
+    }
+
+    @Operation(
+            summary = "Search employees",
+            description = "Retrieves a page of employees, ordered by ID, that have every given hobby, were born within the given range and whose full name starts with the given name, ignoring case. Pass the returned nextCursor to fetch the following page. Answers 304 if the page still matches If-None-Match.")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = EmployeePageResponse.class)))
+    @GetMapping("/search")
+    public Mono<MappingJacksonValue> searchEmployees(
+            SearchEmployeesRequest request,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            ServerWebExchange exchange
+    ) {
+        exchange.getResponse().getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return Mono.fromCallable(() -> EmployeeFields.parse(fields))
+                .flatMap(selected -> employeeService.searchEmployees(request, cursor, size, selected)
+                        .filter(page -> !exchange.checkNotModified(EmployeeETags.of(page, selected, accept)))
+                        .map(selected::serialize));
+    }
+
+    @Operation(
+            summary = "Get upcoming birthdays",
+            description = "Retrieves a page of employees whose birthday is within the given number of days from the given date, today by default, ordered by the date it comes, across the new year too. Pass the returned nextCursor, with the same from, to fetch the following page. Answers 304 if the page still matches If-None-Match.")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = EmployeePageResponse.class)))
+    @GetMapping("/birthdays")
+    public Mono<MappingJacksonValue> getUpcomingBirthdays(
+            @RequestParam int withinDays,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            ServerWebExchange exchange
+    ) {
+        exchange.getResponse().getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return Mono.fromCallable(() -> EmployeeFields.parse(fields))
+                .flatMap(selected -> employeeService.getUpcomingBirthdays(withinDays, from, cursor, size, selected)
+                        .filter(page -> !exchange.checkNotModified(EmployeeETags.of(page, selected, accept)))
+                        .map(selected::serialize));
+    }
+
+    @Operation(
+            summary = "Export all employees",
+            description = "Streams every employee as newline-delimited JSON.")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> exportEmployees() {
+        return employeeService.exportEmployees();
+    }
+
+    @Operation(
+            summary = "Get an employee by ID",
+            description = "Retrieves an employee based on the provided employee ID. The ETag is the employee's version, followed by a hash of the representation unless every field is asked for as JSON; answers 304 if it still matches If-None-Match.")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = Employee.class)))
+    @GetMapping("/{employeeId}")
+    public Mono<MappingJacksonValue> getEmployeeById(
+            @PathVariable UUID employeeId,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            ServerWebExchange exchange
+    ) {
+        exchange.getResponse().getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        return Mono.fromCallable(() -> EmployeeFields.parse(fields))
+                .flatMap(selected -> employeeService.getEmployeeById(employeeId, selected)
+                        .filter(employee -> !exchange.checkNotModified(EmployeeETags.of(employee, selected, accept)))
+                        .map(selected::serialize));
+    }
+
+    @Operation(
+            summary = "Update an employee",
+            description = "Updates the details of an existing employee. With If-Match, fails with 412 unless the employee still has that ETag.")
+    @PutMapping("/{employeeId}")
+    public Mono<ResponseEntity<Employee>> updateEmployee(
+            @PathVariable UUID employeeId,
+            @RequestBody UpdateEmployeeRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        return Mono.fromCallable(() -> Optional.ofNullable(EmployeeETags.expectedVersion(ifMatch)))
+                .flatMap(expectedVersion -> employeeService.updateEmployee(employeeId, request, expectedVersion.orElse(null)))
+                .map(employee -> withETag(employee, accept));
+    }
+
+    @Operation(
+            summary = "Partially update an employee",
+            description = "Changes only the supplied fields in a single atomic update and returns the updated employee. With If-Match, fails with 412 unless the employee still has that ETag.")
+    @PatchMapping("/{employeeId}")
+    public Mono<ResponseEntity<Employee>> patchEmployee(
+            @PathVariable UUID employeeId,
+            @Valid @RequestBody PatchEmployeeRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        return Mono.fromCallable(() -> Optional.ofNullable(EmployeeETags.expectedVersion(ifMatch)))
+                .flatMap(expectedVersion -> employeeService.patchEmployee(employeeId, request, expectedVersion.orElse(null)))
+                .map(employee -> withETag(employee, accept));
+    }
+
+    @Operation(
+            summary = "Delete an employee",
+            description = "Deletes an employee based on the provided employee ID.")
+    @DeleteMapping("/{employeeId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteEmployee(
+            @PathVariable UUID employeeId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return Mono.fromCallable(() -> Optional.ofNullable(EmployeeETags.expectedVersion(ifMatch)))
+                .flatMap(expectedVersion -> employeeService.deleteEmployee(employeeId, expectedVersion.orElse(null)));
+    }
+
+    private static ResponseEntity<Employee> withETag(Employee employee, String accept) {
+        return ResponseEntity.ok()
+                .eTag(EmployeeETags.of(employee, EmployeeFields.ALL, accept))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(employee);
+    }
+}
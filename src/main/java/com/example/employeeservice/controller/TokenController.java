@@ -0,0 +1,33 @@
+package com.example.employeeservice.controller;
+
+import com.example.employeeservice.dto.response.TokenResponse;
+import com.example.employeeservice.exception.BadRequestException;
+import com.example.employeeservice.service.TokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/auth")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "employee.security.token.enabled", havingValue = "true")
+public class TokenController {
+
+    private final TokenService tokenService;
+
+    @Operation(
+            summary = "Issue an access token",
+            description = "Exchanges the Basic credentials of the request for a short-lived bearer token.")
+    @PostMapping("/token")
+    public TokenResponse issueToken(Authentication authentication) throws BadRequestException {
+        if (authentication instanceof JwtAuthenticationToken) {
+            throw new BadRequestException("Tokens must be requested with Basic credentials", 400);
+        }
+        return tokenService.issueToken(authentication);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.employeeservice.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deletes the listed employees or every employee matching the filter; exactly one of {@code ids} and {@code filter}
+ * must be given.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteEmployeesRequest {
+    private List<UUID> ids;
+    private SearchEmployeesRequest filter;
+}
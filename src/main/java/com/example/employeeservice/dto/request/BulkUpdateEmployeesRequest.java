@@ -0,0 +1,25 @@
+package com.example.employeeservice.dto.request;
+
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies the same changes to the listed employees or to every employee matching the filter; exactly one of
+ * {@code ids} and {@code filter} must be given. Emails are unique and cannot be changed in bulk.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateEmployeesRequest {
+    private List<UUID> ids;
+    private SearchEmployeesRequest filter;
+    @Valid
+    private PatchEmployeeRequest changes;
+}
@@ -0,0 +1,27 @@
+package com.example.employeeservice.dto.request;
+
+import jakarta.validation.constraints.Email;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Partial update; only non-null fields are changed. {@code hobbies} replaces the list while {@code addHobbies}
+ * appends to it, so at most one of them may be given.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchEmployeeRequest {
+    @Email
+    private String email;
+    private String fullName;
+    private LocalDate birthday;
+    private List<String> hobbies;
+    private List<String> addHobbies;
+}
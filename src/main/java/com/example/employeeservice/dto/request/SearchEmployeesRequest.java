@@ -0,0 +1,32 @@
+package com.example.employeeservice.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Search filters bound from the query string; omitted filters are ignored and the others are combined with AND.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchEmployeesRequest {
+    /**
+     * Employees must have every listed hobby.
+     */
+    private List<String> hobby;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate birthdayFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate birthdayTo;
+    /**
+     * Case-insensitive prefix of the full name.
+     */
+    private String name;
+}
@@ -0,0 +1,23 @@
+package com.example.employeeservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateEmployeeItemResult {
+
+    /**
+     * Position of the item in the submitted batch.
+     */
+    private int index;
+    private BatchItemStatus status;
+    private CreateEmployeeResponse employee;
+    private List<String> errors;
+}
@@ -0,0 +1,20 @@
+package com.example.employeeservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateEmployeeResponse {
+
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private List<BatchCreateEmployeeItemResult> results;
+}
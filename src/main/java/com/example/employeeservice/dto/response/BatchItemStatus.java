@@ -0,0 +1,7 @@
+package com.example.employeeservice.dto.response;
+
+public enum BatchItemStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID
+}
@@ -0,0 +1,27 @@
+package com.example.employeeservice.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a bulk operation's progress stream, written after every committed chunk and once more when the
+ * operation is {@code done}. Chunks committed before an {@code error} stay applied.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkOperationProgress {
+
+    private int chunks;
+    /**
+     * Employees changed or deleted so far.
+     */
+    private long processed;
+    private boolean done;
+    private String error;
+}
@@ -0,0 +1,22 @@
+package com.example.employeeservice.dto.response;
+
+import com.example.employeeservice.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePageResponse {
+
+    private List<Employee> items;
+    /**
+     * Opaque token to pass back as {@code cursor} to fetch the next page, {@code null} on the last page.
+     */
+    private String nextCursor;
+}
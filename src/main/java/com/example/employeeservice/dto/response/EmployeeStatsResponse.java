@@ -0,0 +1,26 @@
+package com.example.employeeservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Month;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeStatsResponse {
+
+    private long total;
+    /**
+     * Employees per hobby, most popular first.
+     */
+    private Map<String, Long> hobbies;
+    /**
+     * Employees per birth month, every month included. Employees without a birthday are not counted.
+     */
+    private Map<Month, Long> birthMonths;
+}
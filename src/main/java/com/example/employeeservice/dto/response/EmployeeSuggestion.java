@@ -0,0 +1,19 @@
+package com.example.employeeservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSuggestion {
+
+    private UUID id;
+    private String fullName;
+    private String email;
+}
@@ -0,0 +1,8 @@
+package com.example.employeeservice.exception;
+
+public class BadRequestException extends EmployeeServiceException {
+
+    public BadRequestException(String message, int errorCode, String... args) {
+        super(message, errorCode, args);
+    }
+}
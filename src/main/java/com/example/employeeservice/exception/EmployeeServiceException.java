@@ -0,0 +1,28 @@
+package com.example.employeeservice.exception;
+
+import lombok.Getter;
+
+import java.text.MessageFormat;
+
+/**
+ * Base class for the expected, client-caused errors of the service. They are thrown for control flow on hot paths
+ * (unknown ids, duplicate emails), so they skip the stack trace and format their message once, up front.
+ */
+@Getter
+public abstract class EmployeeServiceException extends Exception {
+    private final String[] args;
+    private final int errorCode;
+
+    protected EmployeeServiceException(String message, int errorCode, String... args) {
+        super(format(message, args), null, false, false);
+        this.errorCode = errorCode;
+        this.args = args;
+    }
+
+    private static String format(String message, String... args) {
+        if (args == null || args.length == 0) {
+            return message;
+        }
+        return MessageFormat.format(message, (Object[]) args);
+    }
+}
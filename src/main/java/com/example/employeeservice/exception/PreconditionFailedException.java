@@ -0,0 +1,8 @@
+package com.example.employeeservice.exception;
+
+public class PreconditionFailedException extends EmployeeServiceException {
+
+    public PreconditionFailedException(String message, int errorCode, String... args) {
+        super(message, errorCode, args);
+    }
+}
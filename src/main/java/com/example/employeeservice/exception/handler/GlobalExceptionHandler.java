@@ -1,54 +1,102 @@
 package com.example.employeeservice.exception.handler;
 
 import com.example.employeeservice.exception.AlreadyExistException;
+import com.example.employeeservice.exception.BadRequestException;
+import com.example.employeeservice.exception.EmployeeServiceException;
 import com.example.employeeservice.exception.NotFoundException;
-import lombok.extern.slf4j.Slf4j;
+import com.example.employeeservice.exception.PreconditionFailedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.text.MessageFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
-@Slf4j
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+    private final RateLimitedErrorLogger errorLogger;
+
+    public GlobalExceptionHandler(
+            MeterRegistry meterRegistry,
+            @Value("${employee.errors.log.max-per-second:10}") int maxLoggedPerSecond
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.errorLogger = new RateLimitedErrorLogger(GlobalExceptionHandler.class, maxLoggedPerSecond);
+    }
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ErrorInfo> handle(NotFoundException exception) {
+        return toResponse(exception, HttpStatus.NOT_FOUND);
+    }
 
-        var message = getMessage(exception.getMessage(), (Object) exception.getArgs());
-        var error = ErrorInfo.builder()
-                .errorMessage(message)
-                .errorCode(String.valueOf(exception.getErrorCode()))
-                .build();
+    @ExceptionHandler(AlreadyExistException.class)
+    public ResponseEntity<ErrorInfo> handle(AlreadyExistException exception) {
+        return toResponse(exception, HttpStatus.BAD_REQUEST);
+    }
 
-        log.error(error.getErrorMessage(), error);
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorInfo> handle(BadRequestException exception) {
+        return toResponse(exception, HttpStatus.BAD_REQUEST);
+    }
 
-        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorInfo> handle(PreconditionFailedException exception) {
+        return toResponse(exception, HttpStatus.PRECONDITION_FAILED);
     }
 
-    @ExceptionHandler(AlreadyExistException.class)
-    public ResponseEntity<ErrorInfo> handle(AlreadyExistException exception) {
+    /**
+     * A write that kept conflicting with concurrent writes to the same employee; the client may retry it.
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorInfo> handle(ConcurrencyFailureException exception) {
+        var errorCode = String.valueOf(HttpStatus.CONFLICT.value());
+        errorCounter(ConcurrencyFailureException.class, errorCode).increment();
 
-        var message = getMessage(exception.getMessage(), (Object) exception.getArgs());
         var error = ErrorInfo.builder()
-                .errorMessage(message)
-                .errorCode(String.valueOf(exception.getErrorCode()))
+                .errorMessage("Employee is being modified concurrently, try again")
+                .errorCode(errorCode)
                 .build();
 
-        log.error(error.getErrorMessage(), error);
+        errorLogger.warn(ConcurrencyFailureException.class.getSimpleName() + "/" + errorCode, exception.getMessage());
 
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
     @ExceptionHandler(BindException.class)
     public ResponseEntity<?> handleConstraintViolationException(BindException e) {
-        if (e.getBindingResult().hasFieldErrors()) {
-            List<FieldError> fieldErrors = e.getBindingResult().getFieldErrors().stream().map(
+        errorCounter(BindException.class, "400").increment();
+        return toResponse(e.getBindingResult());
+    }
+
+    /**
+     * Validation failures of the reactive stack.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<?> handleConstraintViolationException(WebExchangeBindException e) {
+        errorCounter(BindException.class, "400").increment();
+        return toResponse(e.getBindingResult());
+    }
+
+    public record FieldError(String field, String error) {
+    }
+
+    private ResponseEntity<?> toResponse(BindingResult bindingResult) {
+        if (bindingResult.hasFieldErrors()) {
+            List<FieldError> fieldErrors = bindingResult.getFieldErrors().stream().map(
                     f -> new FieldError(
                             f.getField(),
                             getMessage(f.getDefaultMessage())
@@ -59,7 +107,27 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body("entity.invalid");
     }
 
-    public record FieldError(String field, String error) {
+    private ResponseEntity<ErrorInfo> toResponse(EmployeeServiceException exception, HttpStatus status) {
+        var errorCode = String.valueOf(exception.getErrorCode());
+        errorCounter(exception.getClass(), errorCode).increment();
+
+        var error = ErrorInfo.builder()
+                .errorMessage(exception.getMessage())
+                .errorCode(errorCode)
+                .build();
+
+        errorLogger.warn(exception.getClass().getSimpleName() + "/" + errorCode, error.getErrorMessage());
+
+        return new ResponseEntity<>(error, status);
+    }
+
+    private Counter errorCounter(Class<? extends Exception> exceptionType, String errorCode) {
+        return errorCounters.computeIfAbsent(exceptionType.getSimpleName() + "/" + errorCode,
+                key -> Counter.builder("employee.errors")
+                        .description("Exceptions translated into error responses")
+                        .tag("exception", exceptionType.getSimpleName())
+                        .tag("code", errorCode)
+                        .register(meterRegistry));
     }
 
     private String getMessage(String exceptionMessage, Object... args) {
@@ -0,0 +1,65 @@
+package com.example.employeeservice.exception.handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Logs expected client errors at most {@code maxPerSecond} times per second and error key. Whatever is dropped in a
+ * second is summarised by the first message of the next one; the exact volume is available from the error counters.
+ */
+class RateLimitedErrorLogger {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final Logger log;
+    private final int maxPerSecond;
+    private final LongSupplier nanoClock;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    RateLimitedErrorLogger(Class<?> owner, int maxPerSecond) {
+        this(LoggerFactory.getLogger(owner), maxPerSecond, System::nanoTime);
+    }
+
+    RateLimitedErrorLogger(Logger log, int maxPerSecond, LongSupplier nanoClock) {
+        this.log = log;
+        this.maxPerSecond = maxPerSecond;
+        this.nanoClock = nanoClock;
+    }
+
+    void warn(String key, String message) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        Window window = windows.computeIfAbsent(key, k -> new Window(nanoClock.getAsLong()));
+        long now = nanoClock.getAsLong();
+        long start = window.start.get();
+        if (now - start >= WINDOW_NANOS && window.start.compareAndSet(start, now)) {
+            window.logged.set(0);
+            long suppressed = window.suppressed.getAndSet(0);
+            if (suppressed > 0) {
+                log.warn("{} similar errors suppressed [{}]", suppressed, key);
+            }
+        }
+        if (window.logged.incrementAndGet() <= maxPerSecond) {
+            log.warn("{} [{}]", message, key);
+        } else {
+            window.suppressed.incrementAndGet();
+        }
+    }
+
+    private static final class Window {
+        private final AtomicLong start;
+        private final AtomicInteger logged = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private Window(long start) {
+            this.start = new AtomicLong(start);
+        }
+    }
+}
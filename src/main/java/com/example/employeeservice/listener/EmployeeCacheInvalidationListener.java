@@ -0,0 +1,42 @@
+package com.example.employeeservice.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.example.employeeservice.configuration.CacheConfiguration.EMPLOYEES_CACHE;
+
+/**
+ * Evicts cached employees changed by any replica. Every instance joins its own consumer group so that each one
+ * sees every event on the topic.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(value = "employee.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeCacheInvalidationListener {
+
+    private final Cache cache;
+
+    public EmployeeCacheInvalidationListener(CacheManager cacheManager) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(EMPLOYEES_CACHE));
+    }
+
+    @KafkaListener(
+            topics = "${spring.kafka.topic}",
+            groupId = "employee-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onEmployeeEvent(ConsumerRecord<String, byte[]> record) {
+        try {
+            cache.evict(UUID.fromString(record.key()));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            log.warn("ignoring employee event with unexpected key {}", record.key());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.employeeservice.listener;
+
+import com.example.employeeservice.configuration.ReadModelConfiguration;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeEventType;
+import com.example.employeeservice.readmodel.EmployeeReadModel;
+import com.example.employeeservice.repository.EmployeeRepository;
+import com.example.employeeservice.serialization.EmployeeEventCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Materializes the employee topic into the local read model. Every instance joins its own consumer group and replays
+ * the topic from its start. After every event, and whenever the topic is idle, the consumer's lag is handed to the
+ * read model, which serves reads once it is zero.
+ * <p>
+ * A delta is applied to the version it follows. If the read model holds no employee to apply it to, because the topic
+ * was compacted down to the delta, or an older version than that, the employee is read from Mongo instead. Deltas the
+ * read model is already past are skipped.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "employee.read-model.enabled", havingValue = "true")
+public class EmployeeReadModelListener {
+
+    public static final String LISTENER_ID = "employee-read-model";
+
+    private final EmployeeReadModel employeeReadModel;
+    private final EmployeeEventCodec employeeEventCodec;
+    private final EmployeeRepository employeeRepository;
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            topics = "${spring.kafka.topic}",
+            groupId = "employee-read-model-${random.uuid}",
+            containerFactory = ReadModelConfiguration.CONTAINER_FACTORY,
+            properties = "auto.offset.reset=earliest")
+    public void onEmployeeEvent(ConsumerRecord<String, byte[]> record, Consumer<?, ?> consumer) {
+        try {
+            apply(UUID.fromString(record.key()), record);
+        } catch (IllegalArgumentException | NullPointerException | IOException e) {
+            log.warn("ignoring unreadable employee event with key {}", record.key());
+        }
+        updateLag(consumer);
+    }
+
+    @EventListener(condition = "event.listenerId.startsWith('" + LISTENER_ID + "')")
+    public void onIdle(ListenerContainerIdleEvent event) {
+        updateLag(event.getConsumer());
+    }
+
+    private void apply(UUID employeeId, ConsumerRecord<String, byte[]> record) throws IOException {
+        if (record.value() == null) {
+            employeeReadModel.remove(employeeId);
+        } else if (EmployeeEventCodec.typeOf(record) != EmployeeEventType.DELTA) {
+            employeeReadModel.put(employeeEventCodec.decode(record));
+        } else {
+            Employee base = employeeReadModel.findById(employeeId).orElse(null);
+            long baseVersion = base == null ? -1 : version(base);
+            Employee employee = base == null ? null : employeeEventCodec.decode(record, base);
+            if (employee != null && version(employee) == baseVersion + 1) {
+                employeeReadModel.put(employee);
+            } else if (employee == null || version(employee) > baseVersion) {
+                employeeRepository.findById(employeeId).ifPresent(employeeReadModel::put);
+            }
+        }
+    }
+
+    /**
+     * Sums the lag of the assigned partitions, unless the consumer does not know it for all of them yet.
+     */
+    private void updateLag(Consumer<?, ?> consumer) {
+        Set<TopicPartition> partitions = consumer.assignment();
+        if (partitions.isEmpty()) {
+            return;
+        }
+        long lag = 0;
+        for (TopicPartition partition : partitions) {
+            OptionalLong partitionLag = consumer.currentLag(partition);
+            if (partitionLag.isEmpty()) {
+                return;
+            }
+            lag += partitionLag.getAsLong();
+        }
+        employeeReadModel.updateLag(lag);
+    }
+
+    private static long version(Employee employee) {
+        return employee.getVersion() == null ? 0 : employee.getVersion();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.employeeservice.listener;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeEventType;
+import com.example.employeeservice.serialization.EmployeeEventCodec;
+import com.example.employeeservice.suggest.EmployeeSuggestIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Applies employee changes made by any replica to the local suggest index. Like the cache invalidation listener,
+ * every instance joins its own consumer group so that each one sees every event on the topic. A delta is applied to
+ * the indexed employee; one for an employee not indexed yet is left to the snapshot that follows or to the next load.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "employee.suggest.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeSuggestIndexListener {
+
+    private final EmployeeSuggestIndex employeeSuggestIndex;
+    private final EmployeeEventCodec employeeEventCodec;
+
+    @KafkaListener(
+            topics = "${spring.kafka.topic}",
+            groupId = "employee-suggest-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onEmployeeEvent(ConsumerRecord<String, byte[]> record) {
+        try {
+            UUID employeeId = UUID.fromString(record.key());
+            if (record.value() == null) {
+                employeeSuggestIndex.remove(employeeId);
+            } else if (EmployeeEventCodec.typeOf(record) == EmployeeEventType.DELTA) {
+                Optional<Employee> base = employeeSuggestIndex.find(employeeId);
+                if (base.isPresent()) {
+                    employeeSuggestIndex.put(employeeEventCodec.decode(record, base.get()));
+                }
+            } else {
+                employeeSuggestIndex.put(employeeEventCodec.decode(record));
+            }
+        } catch (IllegalArgumentException | NullPointerException | IOException e) {
+            log.warn("ignoring unreadable employee event with key {}", record.key());
+        }
+    }
+}
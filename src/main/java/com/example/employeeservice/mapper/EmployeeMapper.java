@@ -1,6 +1,7 @@
 package com.example.employeeservice.mapper;
 
 import com.example.employeeservice.dto.request.CreateEmployeeRequest;
+import com.example.employeeservice.dto.request.PatchEmployeeRequest;
 import com.example.employeeservice.dto.request.UpdateEmployeeRequest;
 import com.example.employeeservice.dto.response.CreateEmployeeResponse;
 import com.example.employeeservice.model.Employee;
@@ -18,12 +19,15 @@ public class EmployeeMapper {
                 .build();
     }
 
-    public static Employee updateEmployee(UpdateEmployeeRequest request, Employee employee) {
-        employee.setEmail(request.getEmail());
-        employee.setFullName(request.getFullName());
-        employee.setBirthday(request.getBirthday());
-        employee.setHobbies(request.getHobbies());
-        return employee;
+    /**
+     * Translates a full update into a single {@code $set} of every field, so that it can be applied atomically.
+     */
+    public static EmployeeUpdate mapToUpdate(UpdateEmployeeRequest request) {
+        return new EmployeeUpdate()
+                .email(request.getEmail())
+                .fullName(request.getFullName())
+                .birthday(request.getBirthday())
+                .hobbies(request.getHobbies());
     }
 
     public static CreateEmployeeResponse mapToCreateEmployeeResponse(Employee employee) {
@@ -35,4 +39,27 @@ public class EmployeeMapper {
                 .hobbies(employee.getHobbies())
                 .build();
     }
+
+    /**
+     * Translates the supplied fields of a patch into a single {@code $set}/{@code $push} update.
+     */
+    public static EmployeeUpdate mapToUpdate(PatchEmployeeRequest request) {
+        EmployeeUpdate update = new EmployeeUpdate();
+        if (request.getEmail() != null) {
+            update.email(request.getEmail());
+        }
+        if (request.getFullName() != null) {
+            update.fullName(request.getFullName());
+        }
+        if (request.getBirthday() != null) {
+            update.birthday(request.getBirthday());
+        }
+        if (request.getHobbies() != null) {
+            update.hobbies(request.getHobbies());
+        }
+        if (request.getAddHobbies() != null && !request.getAddHobbies().isEmpty()) {
+            update.addHobbies(request.getAddHobbies());
+        }
+        return update;
+    }
 }
@@ -0,0 +1,90 @@
+package com.example.employeeservice.mapper;
+
+import com.example.employeeservice.model.Employee;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Partial update of an employee that Mongo applies and that can also be applied to the state it replaced, so that
+ * the result of a {@code findAndModify} is known from the pre-image it returns without reading the employee again.
+ * Each method adds an operation together with its effect on an {@link Employee}, so the two cannot drift apart.
+ * Derived search fields are set alongside the fields they are derived from.
+ */
+public class EmployeeUpdate extends Update {
+
+    private final List<Consumer<Employee>> effects = new ArrayList<>();
+
+    public EmployeeUpdate email(String email) {
+        set("email", email);
+        effects.add(employee -> employee.setEmail(email));
+        return this;
+    }
+
+    public EmployeeUpdate fullName(String fullName) {
+        String normalizedName = Employee.normalizeName(fullName);
+        set("fullName", fullName).set("normalizedName", normalizedName);
+        effects.add(employee -> {
+            employee.setFullName(fullName);
+            employee.setNormalizedName(normalizedName);
+        });
+        return this;
+    }
+
+    public EmployeeUpdate birthday(LocalDate birthday) {
+        Integer birthdayMonthDay = Employee.monthDay(birthday);
+        set("birthday", birthday).set("birthdayMonthDay", birthdayMonthDay);
+        effects.add(employee -> {
+            employee.setBirthday(birthday);
+            employee.setBirthdayMonthDay(birthdayMonthDay);
+        });
+        return this;
+    }
+
+    /**
+     * Removes the hobbies if {@code null}: {@code $push} fails on a {@code null} field but creates a missing one.
+     */
+    public EmployeeUpdate hobbies(List<String> hobbies) {
+        if (hobbies == null) {
+            unset("hobbies");
+        } else {
+            set("hobbies", hobbies);
+        }
+        effects.add(employee -> employee.setHobbies(hobbies == null ? null : new ArrayList<>(hobbies)));
+        return this;
+    }
+
+    /**
+     * Appends the hobbies with {@code $push}, which creates the list if the employee has none.
+     */
+    public EmployeeUpdate addHobbies(List<String> hobbies) {
+        push("hobbies").each(hobbies.toArray());
+        effects.add(employee -> {
+            List<String> updated = employee.getHobbies() == null ? new ArrayList<>() : new ArrayList<>(employee.getHobbies());
+            updated.addAll(hobbies);
+            employee.setHobbies(updated);
+        });
+        return this;
+    }
+
+    /**
+     * A copy of the employee with this update applied and its version incremented, as the template increments it
+     * with every update of a versioned entity; a missing version is incremented to 1 like {@code $inc} does.
+     */
+    public Employee applyTo(Employee employee) {
+        Employee updated = new Employee(
+                employee.getId(),
+                employee.getEmail(),
+                employee.getFullName(),
+                employee.getBirthday(),
+                employee.getHobbies() == null ? null : new ArrayList<>(employee.getHobbies()),
+                employee.getNormalizedName(),
+                employee.getBirthdayMonthDay(),
+                employee.getVersion() == null ? 1 : employee.getVersion() + 1);
+        effects.forEach(effect -> effect.accept(updated));
+        return updated;
+    }
+}
@@ -1,16 +1,34 @@
 package com.example.employeeservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
+/**
+ * The search indexes end in {@code _id}. After an equality match on their first field, such as a search for one hobby,
+ * the matches are in the order of the id cursor and are read without sorting, as are the birthdays of a range of
+ * days in {@code birthdayMonthDay_id} order. A range on the first field, such as a birthday range or a name prefix,
+ * or several filters leave the matches out of id order: the index bounds what is read and Mongo then sorts it.
+ */
 @Document
+@CompoundIndexes({
+        @CompoundIndex(name = "hobbies_id", def = "{'hobbies': 1, '_id': 1}"),
+        @CompoundIndex(name = "birthday_id", def = "{'birthday': 1, '_id': 1}"),
+        @CompoundIndex(name = "normalizedName_id", def = "{'normalizedName': 1, '_id': 1}"),
+        @CompoundIndex(name = "birthdayMonthDay_id", def = "{'birthdayMonthDay': 1, '_id': 1}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,9 +36,34 @@ import java.util.UUID;
 public class Employee {
 
     private UUID id;
+    @Indexed(unique = true)
     private String email;
     private String fullName;
     private LocalDate birthday;
     private List<String> hobbies;
+    /**
+     * Lower-cased {@link #fullName} for case-insensitive prefix search, kept in sync on every write.
+     */
+    @JsonIgnore
+    private String normalizedName;
+    /**
+     * {@link #birthday} as {@code month * 100 + day}, so that birthdays in a range of days can be found with one index
+     * range whatever the year. Derived like {@link #normalizedName}.
+     */
+    @JsonIgnore
+    private Integer birthdayMonthDay;
+    /**
+     * Incremented by every update and exposed as the ETag. Employees stored before it existed, or inserted in bulk,
+     * have none and count as version 0.
+     */
+    @Version
+    private Long version;
 
+    public static String normalizeName(String fullName) {
+        return fullName == null ? null : fullName.strip().toLowerCase(Locale.ROOT);
+    }
+
+    public static Integer monthDay(LocalDate date) {
+        return date == null ? null : date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.employeeservice.model;
+
+import java.util.UUID;
+
+/**
+ * Published in-process for every employee write recorded in the outbox.
+ *
+ * @param previous the employee before the change, {@code null} if it was created or did not exist
+ * @param employee the employee after the change, {@code null} if it was deleted
+ */
+public record EmployeeChangedEvent(UUID employeeId, Employee previous, Employee employee) {
+
+    public boolean isDeletion() {
+        return employee == null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.employeeservice.model;
+
+/**
+ * What an employee event on the topic carries. Deletions are tombstones and have no type.
+ */
+public enum EmployeeEventType {
+
+    /**
+     * The whole employee.
+     */
+    SNAPSHOT,
+    /**
+     * The id, the new version and only the fields the change modified, with their new values; a cleared field is
+     * {@code null}.
+     */
+    DELTA
+}
@@ -0,0 +1,27 @@
+package com.example.employeeservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * One materialized employee count, such as the headcount or the employees with a given hobby. Counters are moved
+ * by deltas after every change and recomputed from the employees by the rebuild job.
+ */
+@Document("employee_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeStatsCounter {
+
+    /**
+     * {@code total}, {@code hobby:<hobby>} or {@code birthMonth:<1-12>}.
+     */
+    @Id
+    private String id;
+    private long count;
+}
@@ -0,0 +1,29 @@
+package com.example.employeeservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Marks a flush of stats deltas as applied. It is written in the same transaction as the increments, so an instance
+ * that lost the outcome of a flush can repeat it without counting it twice. Expires once no retry can be pending.
+ */
+@Document("employee_stats_flushes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeStatsFlush {
+
+    /**
+     * Instance id and flush sequence number.
+     */
+    @Id
+    private String id;
+    @Indexed(expireAfter = "1d")
+    private Instant flushedAt;
+}
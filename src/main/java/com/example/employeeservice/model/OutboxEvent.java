@@ -0,0 +1,46 @@
+package com.example.employeeservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Employee event waiting to be relayed to Kafka. It is written in the same transaction as the employee change,
+ * and removed once the broker has acknowledged it.
+ */
+@Document("employee_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    private ObjectId id;
+    @Indexed
+    private String key;
+    /**
+     * Serialized employee, or its changed fields for a {@link EmployeeEventType#DELTA}; {@code null} for a deletion
+     * tombstone.
+     */
+    private String payload;
+    /**
+     * {@code null} for tombstones and for events recorded before deltas existed, which are snapshots.
+     */
+    private EmployeeEventType type;
+    /**
+     * Version of the employee after the event, which orders the events of one employee: Mongo serializes the writes
+     * to an employee, whereas the {@link #id} is generated by each replica and only has a resolution of one second.
+     * A tombstone follows the last version, or every version if the employee did not exist. {@code null} for events
+     * recorded before the version was.
+     */
+    private Long version;
+    private Instant createdAt;
+}
@@ -0,0 +1,39 @@
+package com.example.employeeservice.pagination;
+
+import com.example.employeeservice.exception.BadRequestException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a list of employees ordered by birthday month-day and id, encoded like {@link CursorCodec} as an
+ * opaque, url-safe continuation token.
+ */
+public record BirthdayCursor(int monthDay, UUID id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(20);
+        buffer.putInt(monthDay);
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    public static BirthdayCursor decode(String cursor) throws BadRequestException {
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", 400);
+        }
+        if (bytes.length != 20) {
+            throw new BadRequestException("Invalid cursor", 400);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new BirthdayCursor(buffer.getInt(), new UUID(buffer.getLong(), buffer.getLong()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.employeeservice.pagination;
+
+import com.example.employeeservice.exception.BadRequestException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Encodes the last seen employee id as an opaque, url-safe continuation token.
+ */
+public final class CursorCodec {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private CursorCodec() {
+    }
+
+    public static String encode(UUID lastId) {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putLong(lastId.getMostSignificantBits());
+        buffer.putLong(lastId.getLeastSignificantBits());
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    public static UUID decode(String cursor) throws BadRequestException {
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", 400);
+        }
+        if (bytes.length != 16) {
+            throw new BadRequestException("Invalid cursor", 400);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
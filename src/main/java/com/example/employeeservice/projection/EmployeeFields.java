@@ -0,0 +1,124 @@
+package com.example.employeeservice.projection;
+
+import com.example.employeeservice.exception.BadRequestException;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Employee fields selected with the {@code fields} request parameter. The selection becomes a Mongo projection, so
+ * unselected fields are neither read nor mapped, and a Jackson filter, so they are left out of the response rather
+ * than written as {@code null}. The id is always included because it is the page cursor, and the version is always
+ * read because it is the ETag.
+ * <p>
+ * Every possible selection is built once up front, and parameter values already seen are cached, so a repeated
+ * request parses nothing.
+ */
+public final class EmployeeFields {
+
+    public static final String FILTER_ID = "employeeFields";
+
+    private static final List<String> SELECTABLE = List.of("id", "email", "fullName", "birthday", "hobbies");
+    private static final int ID = 1;
+    private static final int EVERY_FIELD = (1 << SELECTABLE.size()) - 1;
+    private static final EmployeeFields[] BY_MASK = IntStream.rangeClosed(0, EVERY_FIELD)
+            .mapToObj(mask -> (mask & ID) == 0 ? null : new EmployeeFields(mask))
+            .toArray(EmployeeFields[]::new);
+    private static final Cache<String, EmployeeFields> PARSED = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .build();
+
+    public static final EmployeeFields ALL = BY_MASK[EVERY_FIELD];
+
+    private final String[] names;
+    private final FilterProvider filters;
+
+    private EmployeeFields(int mask) {
+        this.names = IntStream.range(0, SELECTABLE.size())
+                .filter(i -> (mask & 1 << i) != 0)
+                .mapToObj(SELECTABLE::get)
+                .toArray(String[]::new);
+        this.filters = new SimpleFilterProvider().addFilter(FILTER_ID, mask == EVERY_FIELD
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(names));
+    }
+
+    /**
+     * Parses a comma-separated list of field names; {@code null} selects every field.
+     */
+    public static EmployeeFields parse(String fields) throws BadRequestException {
+        if (fields == null) {
+            return ALL;
+        }
+        EmployeeFields parsed = PARSED.getIfPresent(fields);
+        if (parsed == null) {
+            parsed = BY_MASK[mask(fields)];
+            PARSED.put(fields, parsed);
+        }
+        return parsed;
+    }
+
+    public boolean isAll() {
+        return this == ALL;
+    }
+
+    /**
+     * Restricts the query to the selected fields.
+     */
+    public Query applyTo(Query query) {
+        if (!isAll()) {
+            query.fields().include(names).include("version");
+        }
+        return query;
+    }
+
+    /**
+     * Wraps a response body so that the employees in it are written with the selected fields only.
+     */
+    public MappingJacksonValue serialize(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(filters);
+        return value;
+    }
+
+    public FilterProvider getFilters() {
+        return filters;
+    }
+
+    /**
+     * The selected field names, comma-separated in a fixed order.
+     */
+    @Override
+    public String toString() {
+        return String.join(",", names);
+    }
+
+    private static int mask(String fields) throws BadRequestException {
+        int mask = ID;
+        for (String field : fields.split(",")) {
+            int index = SELECTABLE.indexOf(field.strip());
+            if (index < 0) {
+                throw new BadRequestException("Unknown field \"{0}\", expected any of {1}", 400,
+                        field.strip(), String.join(", ", SELECTABLE));
+            }
+            mask |= 1 << index;
+        }
+        return mask;
+    }
+
+    /**
+     * Attaches the filter to {@link com.example.employeeservice.model.Employee} on the application's object mapper
+     * only, so that other mappers keep serializing it without a filter provider.
+     */
+    @JsonFilter(FILTER_ID)
+    public interface FilterMixin {
+    }
+}
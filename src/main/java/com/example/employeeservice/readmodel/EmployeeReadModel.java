@@ -0,0 +1,181 @@
+package com.example.employeeservice.readmodel;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static com.example.employeeservice.repository.inmemory.InMemoryEmployeeRepository.MONGO_UUID_ORDER;
+
+/**
+ * Local copy of every employee, materialized from the employee topic, that serves reads by id and pages of all
+ * employees without Mongo. Employees are kept in id order the way Mongo orders them, so cursors stay valid between the
+ * two, and a page is a range of that order. Searches with filters are left to Mongo's indexes. Hobby names are shared
+ * between employees instead of held once per employee.
+ * <p>
+ * An employee is only replaced by a newer version, so the topic replay and this instance's own changes, applied when
+ * they commit so that its clients read their writes, may arrive in any order. An employee deleted here stays deleted
+ * for older versions still on the topic until its tombstone comes by.
+ * <p>
+ * Reads are only served from here once the replay has caught up with the end of the topic. After that the model
+ * trails the topic by {@link #getLag()} events; when that grows beyond {@code employee.read-model.max-lag}, reads go
+ * back to Mongo until the model has caught up again.
+ */
+@Component
+@ConditionalOnProperty(value = "employee.read-model.enabled", havingValue = "true")
+public class EmployeeReadModel {
+
+    private final ConcurrentSkipListMap<UUID, Employee> employees = new ConcurrentSkipListMap<>(MONGO_UUID_ORDER);
+    private final Map<UUID, Long> deletedVersions = new ConcurrentHashMap<>();
+    private final Map<String, String> hobbies = new ConcurrentHashMap<>();
+    private final long maxLag;
+    private volatile long lag = -1;
+    private volatile boolean replayed;
+    private volatile boolean caughtUp;
+
+    public EmployeeReadModel(MeterRegistry meterRegistry, @Value("${employee.read-model.max-lag:1000}") long maxLag) {
+        this.maxLag = maxLag;
+        Gauge.builder("employee.read-model.employees", employees, Map::size)
+                .description("Employees in the read model")
+                .register(meterRegistry);
+        Gauge.builder("employee.read-model.lag", this, model -> model.lag < 0 ? Double.NaN : model.lag)
+                .description("Events on the employee topic not applied to the read model yet")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the replay has reached the end of the topic once since startup.
+     */
+    public boolean isReplayed() {
+        return replayed;
+    }
+
+    /**
+     * Whether reads are served from here: the lag has been zero and not grown beyond the maximum since.
+     */
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    /**
+     * @return the events left to apply, -1 until the consumer knows the end of the topic
+     */
+    public long getLag() {
+        return lag;
+    }
+
+    /**
+     * Records how far the consumer is behind the end of the topic. Reads are served from here once it is not behind,
+     * and no longer once it is more than the maximum lag behind.
+     */
+    public void updateLag(long lag) {
+        this.lag = lag;
+        if (lag == 0) {
+            replayed = true;
+            caughtUp = true;
+        } else if (lag > maxLag) {
+            caughtUp = false;
+        }
+    }
+
+    public Optional<Employee> findById(UUID employeeId) {
+        return Optional.ofNullable(employees.get(employeeId)).map(EmployeeReadModel::copy);
+    }
+
+    /**
+     * Returns the page of employees after {@code after} in id order, a range of the map.
+     */
+    public Slice<Employee> findAll(UUID after, int size) {
+        List<Employee> content = (after == null ? employees : employees.tailMap(after, false)).values().stream()
+                .limit(size + 1L)
+                .map(EmployeeReadModel::copy)
+                .toList();
+        boolean hasNext = content.size() > size;
+        return new SliceImpl<>(hasNext ? content.subList(0, size) : content, PageRequest.of(0, size), hasNext);
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!event.isDeletion()) {
+            put(event.employee());
+        } else if (event.previous() != null) {
+            deletedVersions.put(event.employeeId(), version(event.previous()));
+            employees.remove(event.employeeId());
+        }
+    }
+
+    /**
+     * Stores the employee unless a newer or the same version is stored or was deleted here.
+     */
+    public void put(Employee employee) {
+        Employee stored = compact(employee);
+        employees.compute(stored.getId(), (id, current) -> {
+            Long deletedVersion = deletedVersions.get(id);
+            if (deletedVersion != null && version(stored) <= deletedVersion
+                    || current != null && version(stored) <= version(current)) {
+                return current;
+            }
+            return stored;
+        });
+    }
+
+    /**
+     * Applies a tombstone from the topic, which comes after every other event of the employee.
+     */
+    public void remove(UUID employeeId) {
+        employees.remove(employeeId);
+        deletedVersions.remove(employeeId);
+    }
+
+    private Employee compact(Employee employee) {
+        List<String> sharedHobbies = employee.getHobbies() == null ? null : employee.getHobbies().stream()
+                .map(hobby -> hobbies.computeIfAbsent(hobby, h -> h))
+                .toList();
+        return new Employee(
+                employee.getId(),
+                employee.getEmail(),
+                employee.getFullName(),
+                employee.getBirthday(),
+                sharedHobbies,
+                Employee.normalizeName(employee.getFullName()),
+                Employee.monthDay(employee.getBirthday()),
+                employee.getVersion());
+    }
+
+    /**
+     * The stored hobbies are immutable and shared, everything else is copied.
+     */
+    private static Employee copy(Employee employee) {
+        return new Employee(
+                employee.getId(),
+                employee.getEmail(),
+                employee.getFullName(),
+                employee.getBirthday(),
+                employee.getHobbies(),
+                employee.getNormalizedName(),
+                employee.getBirthdayMonthDay(),
+                employee.getVersion());
+    }
+
+    private static long version(Employee employee) {
+        return employee.getVersion() == null ? 0 : employee.getVersion();
+    }
+}
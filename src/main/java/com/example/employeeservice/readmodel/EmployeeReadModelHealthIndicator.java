@@ -0,0 +1,30 @@
+package com.example.employeeservice.readmodel;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Out of service until the read model has replayed the employee topic, which keeps the instance out of the readiness
+ * group and so out of rotation until it can serve reads. Falling behind later only sends reads back to Mongo, so the
+ * instance stays ready then.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "employee.read-model.enabled", havingValue = "true")
+public class EmployeeReadModelHealthIndicator implements HealthIndicator {
+
+    private final EmployeeReadModel employeeReadModel;
+
+    @Override
+    public Health health() {
+        Health.Builder health = employeeReadModel.isReplayed() ? Health.up() : Health.outOfService();
+        return health
+                .withDetail("servingReads", employeeReadModel.isCaughtUp())
+                .withDetail("employees", employeeReadModel.size())
+                .withDetail("lag", employeeReadModel.getLag())
+                .build();
+    }
+}
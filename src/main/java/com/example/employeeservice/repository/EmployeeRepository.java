@@ -1,14 +1,24 @@
 package com.example.employeeservice.repository;
 
 import com.example.employeeservice.model.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface EmployeeRepository extends MongoRepository<Employee, UUID> {
+public interface EmployeeRepository extends MongoRepository<Employee, UUID>, EmployeeRepositoryCustom {
 
     Optional<Employee> findByEmail(String email);
+
+    List<Employee> findByEmailIn(Collection<String> emails);
+
+    Slice<Employee> findAllBy(Pageable pageable);
+
+    Slice<Employee> findByIdGreaterThan(UUID id, Pageable pageable);
 }
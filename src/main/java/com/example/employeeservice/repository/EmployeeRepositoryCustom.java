@@ -0,0 +1,87 @@
+package com.example.employeeservice.repository;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.pagination.BirthdayCursor;
+import com.example.employeeservice.projection.EmployeeFields;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Opens a server-side cursor over all employees in id order. The returned stream must be closed to release the
+     * cursor.
+     */
+    Stream<Employee> streamAll(int batchSize);
+
+    /**
+     * Inserts all employees in one unordered bulk write.
+     *
+     * @return positions in {@code employees} that were rejected because of a duplicate key
+     */
+    Set<Integer> insertAllUnordered(List<Employee> employees);
+
+    /**
+     * Applies the update and increments the version atomically in one round trip. With an expected version the
+     * update only applies if the employee still has that version.
+     *
+     * @return the employee before the update, empty if it does not exist or has another version
+     */
+    Optional<Employee> patch(UUID id, Update update, Long expectedVersion);
+
+    /**
+     * Deletes the employee in one round trip. With an expected version it is only deleted if it still has that
+     * version.
+     *
+     * @return the deleted employee, empty if it does not exist or has another version
+     */
+    Optional<Employee> remove(UUID id, Long expectedVersion);
+
+    /**
+     * Applies the update to all given employees with one multi-document update, incrementing their versions.
+     *
+     * @return the updated employees
+     */
+    List<Employee> updateAll(Collection<UUID> ids, Update update);
+
+    /**
+     * Reads only the selected fields of the employee.
+     */
+    Optional<Employee> findById(UUID id, EmployeeFields fields);
+
+    /**
+     * Returns the selected fields of up to {@code size} matching employees with an id greater than {@code after},
+     * ordered by id.
+     */
+    Slice<Employee> search(EmployeeSearchCriteria criteria, UUID after, int size, EmployeeFields fields);
+
+    /**
+     * Returns the selected fields of up to {@code size} employees whose birthday month-day is between {@code from}
+     * and {@code to}, inclusive, ordered by month-day and id and starting after {@code after} unless it is
+     * {@code null}.
+     *
+     * @see Employee#getBirthdayMonthDay()
+     */
+    Slice<Employee> findByBirthdayMonthDay(int from, int to, BirthdayCursor after, int size, EmployeeFields fields);
+
+    /**
+     * Sets the normalized name of employees written before it existed.
+     *
+     * @return number of updated employees
+     */
+    int backfillNormalizedNames(int batchSize);
+
+    /**
+     * Sets the birthday month-day of employees written before it existed.
+     *
+     * @return number of updated employees
+     */
+    int backfillBirthdayMonthDays(int batchSize);
+}
@@ -0,0 +1,227 @@
+package com.example.employeeservice.repository;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.pagination.BirthdayCursor;
+import com.example.employeeservice.projection.EmployeeFields;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    private static final Pattern REGEX_METACHARACTERS = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Stream<Employee> streamAll(int batchSize) {
+        return mongoTemplate.stream(new Query().with(Sort.by("id")).cursorBatchSize(batchSize), Employee.class);
+    }
+
+    @Override
+    public Set<Integer> insertAllUnordered(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Employee.class)
+                    .insert(employees)
+                    .execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            Set<Integer> duplicates = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+                duplicates.add(error.getIndex());
+            }
+            return duplicates;
+        }
+    }
+
+    @Override
+    public Optional<Employee> patch(UUID id, Update update, Long expectedVersion) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                byIdAndVersion(id, expectedVersion),
+                update,
+                FindAndModifyOptions.options().returnNew(false),
+                Employee.class));
+    }
+
+    @Override
+    public Optional<Employee> remove(UUID id, Long expectedVersion) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(byIdAndVersion(id, expectedVersion), Employee.class));
+    }
+
+    @Override
+    public List<Employee> updateAll(Collection<UUID> ids, Update update) {
+        Query query = Query.query(Criteria.where("id").in(ids));
+        mongoTemplate.updateMulti(query, update, Employee.class);
+        return mongoTemplate.find(query, Employee.class);
+    }
+
+    @Override
+    public Optional<Employee> findById(UUID id, EmployeeFields fields) {
+        return Optional.ofNullable(mongoTemplate.findOne(
+                fields.applyTo(Query.query(Criteria.where("id").is(id))),
+                Employee.class));
+    }
+
+    @Override
+    public Slice<Employee> search(EmployeeSearchCriteria criteria, UUID after, int size, EmployeeFields fields) {
+        List<Employee> employees = mongoTemplate.find(fields.applyTo(searchQuery(criteria, after, size + 1)), Employee.class);
+        boolean hasNext = employees.size() > size;
+        List<Employee> content = hasNext ? employees.subList(0, size) : employees;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    /**
+     * Walks the {@code birthdayMonthDay_id} index from the position on; the month-day is always read because the
+     * next cursor is made of it.
+     */
+    @Override
+    public Slice<Employee> findByBirthdayMonthDay(int from, int to, BirthdayCursor after, int size, EmployeeFields fields) {
+        Query query = fields.applyTo(birthdayQuery(from, to, after, size + 1));
+        if (!fields.isAll()) {
+            query.fields().include("birthdayMonthDay");
+        }
+
+        List<Employee> employees = mongoTemplate.find(query, Employee.class);
+        boolean hasNext = employees.size() > size;
+        List<Employee> content = hasNext ? employees.subList(0, size) : employees;
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
+
+    /**
+     * Month-days between {@code from} and {@code to} after the cursor: past its month-day, or on it with a greater id.
+     */
+    static Query birthdayQuery(int from, int to, BirthdayCursor after, int limit) {
+        Criteria criteria = Criteria.where("birthdayMonthDay")
+                .gte(after == null ? from : Math.max(from, after.monthDay()))
+                .lte(to);
+        if (after != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("birthdayMonthDay").gt(after.monthDay()),
+                    Criteria.where("id").gt(after.id()));
+        }
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "birthdayMonthDay", "id"))
+                .limit(limit);
+    }
+
+    @Override
+    public int backfillNormalizedNames(int batchSize) {
+        return backfill(Criteria.where("normalizedName").exists(false).and("fullName").ne(null), "fullName",
+                employee -> Update.update("normalizedName", Employee.normalizeName(employee.getFullName())), batchSize);
+    }
+
+    @Override
+    public int backfillBirthdayMonthDays(int batchSize) {
+        return backfill(Criteria.where("birthdayMonthDay").exists(false).and("birthday").ne(null), "birthday",
+                employee -> Update.update("birthdayMonthDay", Employee.monthDay(employee.getBirthday())), batchSize);
+    }
+
+    /**
+     * Every filter is served by one of the {@code <field>_id} indexes declared on {@link Employee}; the name prefix is
+     * an anchored, case-sensitive regex on the normalized name so that Mongo can turn it into index bounds.
+     */
+    static Query searchQuery(EmployeeSearchCriteria criteria, UUID after, int limit) {
+        List<Criteria> filters = new ArrayList<>();
+        if (criteria.getHobbies() != null && !criteria.getHobbies().isEmpty()) {
+            filters.add(Criteria.where("hobbies").all(criteria.getHobbies()));
+        }
+        if (criteria.getBirthdayFrom() != null || criteria.getBirthdayTo() != null) {
+            Criteria birthday = Criteria.where("birthday");
+            if (criteria.getBirthdayFrom() != null) {
+                birthday.gte(criteria.getBirthdayFrom());
+            }
+            if (criteria.getBirthdayTo() != null) {
+                birthday.lte(criteria.getBirthdayTo());
+            }
+            filters.add(birthday);
+        }
+        if (criteria.getNamePrefix() != null && !criteria.getNamePrefix().isEmpty()) {
+            String escaped = REGEX_METACHARACTERS.matcher(criteria.getNamePrefix()).replaceAll("\\\\$0");
+            filters.add(Criteria.where("normalizedName").regex("^" + escaped));
+        }
+        if (criteria.getIds() != null) {
+            filters.add(Criteria.where("id").in(criteria.getIds()));
+        }
+        if (after != null) {
+            filters.add(Criteria.where("id").gt(after));
+        }
+
+        Query query = filters.isEmpty() ? new Query() : new Query(new Criteria().andOperator(filters));
+        return query.with(Sort.by(Sort.Direction.ASC, "id")).limit(limit);
+    }
+
+    /**
+     * Matches the employee, and if given its version; an employee without a version matches version 0.
+     */
+    public static Query byIdAndVersion(UUID id, Long expectedVersion) {
+        Criteria criteria = Criteria.where("id").is(id);
+        if (expectedVersion != null) {
+            criteria = expectedVersion == 0
+                    ? criteria.and("version").in(0L, null)
+                    : criteria.and("version").is(expectedVersion);
+        }
+        return Query.query(criteria);
+    }
+
+    /**
+     * Streams the id and source field of the matching employees and writes the derived field back in unordered bulk
+     * updates of {@code batchSize}.
+     */
+    private int backfill(Criteria missing, String source, Function<Employee, Update> derive, int batchSize) {
+        Query query = Query.query(missing).cursorBatchSize(batchSize);
+        query.fields().include("id", source);
+
+        int updated = 0;
+        List<Employee> batch = new ArrayList<>(batchSize);
+        try (Stream<Employee> employees = mongoTemplate.stream(query, Employee.class)) {
+            for (Employee employee : (Iterable<Employee>) employees::iterator) {
+                batch.add(employee);
+                if (batch.size() == batchSize) {
+                    updated += update(batch, derive);
+                    batch.clear();
+                }
+            }
+        }
+        return updated + update(batch, derive);
+    }
+
+    private int update(List<Employee> employees, Function<Employee, Update> derive) {
+        if (employees.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Employee.class);
+        for (Employee employee : employees) {
+            bulkOperations.updateOne(Query.query(Criteria.where("id").is(employee.getId())), derive.apply(employee));
+        }
+        return bulkOperations.execute().getModifiedCount();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.employeeservice.repository;
+
+import com.example.employeeservice.model.Employee;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Filters of an employee search; {@code null} filters are ignored and the others are combined with AND.
+ */
+@Value
+@Builder
+public class EmployeeSearchCriteria {
+    /**
+     * Employees must have all of these hobbies.
+     */
+    List<String> hobbies;
+    LocalDate birthdayFrom;
+    LocalDate birthdayTo;
+    /**
+     * Already normalized with {@link com.example.employeeservice.model.Employee#normalizeName(String)}.
+     */
+    String namePrefix;
+    /**
+     * Employees must be one of these.
+     */
+    List<UUID> ids;
+
+    public boolean hasFilters() {
+        return ids != null || hobbies != null || birthdayFrom != null || birthdayTo != null || namePrefix != null;
+    }
+
+    /**
+     * Evaluates the filters in memory, for stores that are not queried through Mongo.
+     */
+    public boolean matches(Employee employee) {
+        return (ids == null || ids.contains(employee.getId()))
+                && (hobbies == null || employee.getHobbies() != null && employee.getHobbies().containsAll(hobbies))
+                && (birthdayFrom == null || employee.getBirthday() != null && !employee.getBirthday().isBefore(birthdayFrom))
+                && (birthdayTo == null || employee.getBirthday() != null && !employee.getBirthday().isAfter(birthdayTo))
+                && (namePrefix == null || employee.getNormalizedName() != null && employee.getNormalizedName().startsWith(namePrefix));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.employeeservice.repository;
+
+import com.example.employeeservice.model.Employee;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Derives {@link Employee#getNormalizedName()} and {@link Employee#getBirthdayMonthDay()} on every whole-document
+ * write (save, insert and bulk inserts). Partial updates set them themselves, see {@code EmployeeUpdate}.
+ */
+@Component
+public class EmployeeSearchFieldsCallback implements BeforeConvertCallback<Employee> {
+
+    @Override
+    public Employee onBeforeConvert(Employee employee, String collection) {
+        employee.setNormalizedName(Employee.normalizeName(employee.getFullName()));
+        employee.setBirthdayMonthDay(Employee.monthDay(employee.getBirthday()));
+        return employee;
+    }
+}
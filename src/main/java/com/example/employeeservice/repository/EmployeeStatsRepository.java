@@ -0,0 +1,9 @@
+package com.example.employeeservice.repository;
+
+import com.example.employeeservice.model.EmployeeStatsCounter;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmployeeStatsRepository extends MongoRepository<EmployeeStatsCounter, String>, EmployeeStatsRepositoryCustom {
+}
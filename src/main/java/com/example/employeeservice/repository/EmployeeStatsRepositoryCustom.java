@@ -0,0 +1,18 @@
+package com.example.employeeservice.repository;
+
+import java.util.Map;
+
+public interface EmployeeStatsRepositoryCustom {
+
+    /**
+     * Adds each delta to its counter, creating missing counters, in one transaction. The deltas are added once per
+     * {@code flushId}: repeating a flush whose outcome is unknown with the same id does nothing if it was applied.
+     */
+    void increment(String flushId, Map<String, Long> deltas);
+
+    /**
+     * Sets every counter to the given count and removes the counters that are not given, in one unordered bulk
+     * write.
+     */
+    void replaceAll(Map<String, Long> counts);
+}
@@ -0,0 +1,57 @@
+package com.example.employeeservice.repository;
+
+import com.example.employeeservice.model.EmployeeStatsCounter;
+import com.example.employeeservice.model.EmployeeStatsFlush;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Map;
+
+public class EmployeeStatsRepositoryCustomImpl implements EmployeeStatsRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public EmployeeStatsRepositoryCustomImpl(MongoTemplate mongoTemplate, PlatformTransactionManager transactionManager) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void increment(String flushId, Map<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                mongoTemplate.insert(new EmployeeStatsFlush(flushId, Instant.now()));
+            } catch (DuplicateKeyException e) {
+                // an earlier attempt of this flush committed, so its deltas are already counted
+                status.setRollbackOnly();
+                return;
+            }
+            BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EmployeeStatsCounter.class);
+            deltas.forEach((id, delta) -> bulkOperations.upsert(byId(id), new Update().inc("count", delta)));
+            bulkOperations.execute();
+        });
+    }
+
+    @Override
+    public void replaceAll(Map<String, Long> counts) {
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EmployeeStatsCounter.class);
+        counts.forEach((id, count) -> bulkOperations.upsert(byId(id), Update.update("count", count)));
+        bulkOperations.remove(Query.query(Criteria.where("id").nin(counts.keySet())));
+        bulkOperations.execute();
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("id").is(id));
+    }
+}
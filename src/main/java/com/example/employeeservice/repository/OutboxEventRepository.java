@@ -0,0 +1,21 @@
+package com.example.employeeservice.repository;
+
+import com.example.employeeservice.model.OutboxEvent;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, ObjectId> {
+
+    List<OutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+
+    List<OutboxEvent> findAllByKeyInOrderByIdAsc(Collection<String> keys);
+
+    Optional<OutboxEvent> findFirstByOrderByIdAsc();
+}
@@ -0,0 +1,21 @@
+package com.example.employeeservice.repository;
+
+import com.example.employeeservice.model.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking view of the employee collection for the reactive stack; mirrors the queries of
+ * {@link EmployeeRepository} that the reactive API serves natively.
+ */
+@Repository
+public interface ReactiveEmployeeRepository extends ReactiveMongoRepository<Employee, UUID> {
+
+    Flux<Employee> findAllBy(Pageable pageable);
+
+    Flux<Employee> findByIdGreaterThan(UUID id, Pageable pageable);
+}
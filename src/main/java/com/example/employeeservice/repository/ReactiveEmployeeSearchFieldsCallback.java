@@ -0,0 +1,21 @@
+package com.example.employeeservice.repository;
+
+import com.example.employeeservice.model.Employee;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveBeforeConvertCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link EmployeeSearchFieldsCallback}.
+ */
+@Component
+public class ReactiveEmployeeSearchFieldsCallback implements ReactiveBeforeConvertCallback<Employee> {
+
+    @Override
+    public Publisher<Employee> onBeforeConvert(Employee employee, String collection) {
+        employee.setNormalizedName(Employee.normalizeName(employee.getFullName()));
+        employee.setBirthdayMonthDay(Employee.monthDay(employee.getBirthday()));
+        return Mono.just(employee);
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.employeeservice.repository.inmemory;
+
+import com.example.employeeservice.mapper.EmployeeUpdate;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.pagination.BirthdayCursor;
+import com.example.employeeservice.projection.EmployeeFields;
+import com.example.employeeservice.repository.EmployeeRepository;
+import com.example.employeeservice.repository.EmployeeSearchCriteria;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * {@link EmployeeRepository} without MongoDB, for load tests on a machine without containers. Employees are ordered
+ * by id the way Mongo orders binary UUIDs, so cursors behave the same, and a unique email index is kept alongside:
+ * an insert, save or update that would give two employees the same email fails with {@link DuplicateKeyException}.
+ * Versions are checked and incremented like Mongo's {@code @Version} handling. Filtered searches scan in id order.
+ */
+public class InMemoryEmployeeRepository extends InMemoryRepository<Employee, UUID> implements EmployeeRepository {
+
+    /**
+     * Unsigned byte order of the standard binary representation.
+     */
+    public static final Comparator<UUID> MONGO_UUID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private final Map<String, UUID> emails = new ConcurrentHashMap<>();
+
+    public InMemoryEmployeeRepository() {
+        super(MONGO_UUID_ORDER);
+    }
+
+    @Override
+    public Optional<Employee> findByEmail(String email) {
+        UUID id = emails.get(email);
+        return id == null ? Optional.empty() : findById(id);
+    }
+
+    @Override
+    public List<Employee> findByEmailIn(Collection<String> emails) {
+        return findAllById(emails.stream().map(this.emails::get).filter(Objects::nonNull).toList());
+    }
+
+    @Override
+    public Slice<Employee> findAllBy(Pageable pageable) {
+        return slice(stream(null), pageable);
+    }
+
+    @Override
+    public Slice<Employee> findByIdGreaterThan(UUID id, Pageable pageable) {
+        return slice(stream(id), pageable);
+    }
+
+    @Override
+    public Stream<Employee> streamAll(int batchSize) {
+        return stream(null).map(this::copy);
+    }
+
+    /**
+     * Without transactions a rejected batch removes what it inserted itself, which is what the caller's rollback
+     * achieves with Mongo.
+     */
+    @Override
+    public Set<Integer> insertAllUnordered(List<Employee> employees) {
+        Set<Integer> duplicates = new HashSet<>();
+        List<UUID> inserted = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            try {
+                inserted.add(insert(employees.get(i)).getId());
+            } catch (DuplicateKeyException e) {
+                duplicates.add(i);
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            inserted.forEach(this::deleteById);
+        }
+        return duplicates;
+    }
+
+    @Override
+    public Optional<Employee> patch(UUID id, Update update, Long expectedVersion) {
+        List<Employee> previous = new ArrayList<>(1);
+        modify(id, current -> {
+            if (expectedVersion != null && version(current) != expectedVersion) {
+                return current;
+            }
+            previous.add(copy(current));
+            return apply(current, update);
+        });
+        return previous.stream().findFirst();
+    }
+
+    @Override
+    public Optional<Employee> remove(UUID id, Long expectedVersion) {
+        return removeIf(id, current -> expectedVersion == null || version(current) == expectedVersion);
+    }
+
+    @Override
+    public List<Employee> updateAll(Collection<UUID> ids, Update update) {
+        return ids.stream()
+                .map(id -> modify(id, current -> apply(current, update)))
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /**
+     * Returns the whole employee; unselected fields are left out when it is serialized.
+     */
+    @Override
+    public Optional<Employee> findById(UUID id, EmployeeFields fields) {
+        return findById(id);
+    }
+
+    @Override
+    public Slice<Employee> search(EmployeeSearchCriteria criteria, UUID after, int size, EmployeeFields fields) {
+        return slice(stream(after).filter(criteria::matches), PageRequest.of(0, size));
+    }
+
+    /**
+     * Scans all employees, which is what Mongo does without the index.
+     */
+    @Override
+    public Slice<Employee> findByBirthdayMonthDay(int from, int to, BirthdayCursor after, int size, EmployeeFields fields) {
+        Comparator<Employee> order = Comparator
+                .comparing(Employee::getBirthdayMonthDay)
+                .thenComparing(Employee::getId, MONGO_UUID_ORDER);
+        Employee position = after == null ? null : Employee.builder().birthdayMonthDay(after.monthDay()).id(after.id()).build();
+        return slice(stream(null)
+                .filter(employee -> employee.getBirthdayMonthDay() != null
+                        && employee.getBirthdayMonthDay() >= from
+                        && employee.getBirthdayMonthDay() <= to)
+                .filter(employee -> position == null || order.compare(employee, position) > 0)
+                .sorted(order), PageRequest.of(0, size));
+    }
+
+    /**
+     * Search fields are derived on every write, so there is never anything to backfill.
+     */
+    @Override
+    public int backfillNormalizedNames(int batchSize) {
+        return 0;
+    }
+
+    @Override
+    public int backfillBirthdayMonthDays(int batchSize) {
+        return 0;
+    }
+
+    @Override
+    protected UUID identify(Employee employee) {
+        if (employee.getId() == null) {
+            throw new InvalidDataAccessApiUsageException("Employees must be stored with an id");
+        }
+        return employee.getId();
+    }
+
+    @Override
+    protected Employee copy(Employee employee) {
+        return new Employee(
+                employee.getId(),
+                employee.getEmail(),
+                employee.getFullName(),
+                employee.getBirthday(),
+                employee.getHobbies() == null ? null : new ArrayList<>(employee.getHobbies()),
+                employee.getNormalizedName(),
+                employee.getBirthdayMonthDay(),
+                employee.getVersion());
+    }
+
+    @Override
+    protected Employee beforeStore(Employee current, Employee employee) {
+        if (current == null ? employee.getVersion() != null : !Objects.equals(current.getVersion(), employee.getVersion())) {
+            throw new OptimisticLockingFailureException("Employee " + employee.getId() + " has another version");
+        }
+        reserveEmail(employee.getId(), current == null ? null : current.getEmail(), employee.getEmail());
+        employee.setNormalizedName(Employee.normalizeName(employee.getFullName()));
+        employee.setBirthdayMonthDay(Employee.monthDay(employee.getBirthday()));
+        employee.setVersion(current == null ? 0 : version(current) + 1);
+        return copy(employee);
+    }
+
+    @Override
+    protected void afterRemove(Employee removed) {
+        if (removed.getEmail() != null) {
+            emails.remove(removed.getEmail(), removed.getId());
+        }
+    }
+
+    /**
+     * Only an {@link EmployeeUpdate} knows its effect on an employee; an arbitrary update would need Mongo to apply.
+     */
+    private Employee apply(Employee current, Update update) {
+        if (!(update instanceof EmployeeUpdate employeeUpdate)) {
+            throw new InvalidDataAccessApiUsageException("Only an EmployeeUpdate can be applied without MongoDB");
+        }
+        Employee updated = employeeUpdate.applyTo(current);
+        reserveEmail(current.getId(), current.getEmail(), updated.getEmail());
+        return updated;
+    }
+
+    /**
+     * Claims the new email for the employee and releases the old one; fails if another employee holds it.
+     */
+    private void reserveEmail(UUID id, String previous, String email) {
+        if (Objects.equals(previous, email)) {
+            return;
+        }
+        if (email != null) {
+            UUID owner = emails.putIfAbsent(email, id);
+            if (owner != null && !owner.equals(id)) {
+                throw new DuplicateKeyException("Duplicate email " + email);
+            }
+        }
+        if (previous != null) {
+            emails.remove(previous, id);
+        }
+    }
+
+    private static long version(Employee employee) {
+        return employee.getVersion() == null ? 0 : employee.getVersion();
+    }
+}
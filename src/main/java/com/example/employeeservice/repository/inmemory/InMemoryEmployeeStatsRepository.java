@@ -0,0 +1,55 @@
+package com.example.employeeservice.repository.inmemory;
+
+import com.example.employeeservice.model.EmployeeStatsCounter;
+import com.example.employeeservice.repository.EmployeeStatsRepository;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * {@link EmployeeStatsRepository} without MongoDB. Each counter is incremented atomically, like an upsert with
+ * {@code $inc}. An increment either applies or throws, so no flush is ever repeated and flush ids are not kept.
+ */
+public class InMemoryEmployeeStatsRepository extends InMemoryRepository<EmployeeStatsCounter, String> implements EmployeeStatsRepository {
+
+    public InMemoryEmployeeStatsRepository() {
+        super(Comparator.naturalOrder());
+    }
+
+    @Override
+    public void increment(String flushId, Map<String, Long> deltas) {
+        deltas.forEach(this::increment);
+    }
+
+    @Override
+    public void replaceAll(Map<String, Long> counts) {
+        counts.forEach((id, count) -> save(new EmployeeStatsCounter(id, count)));
+        stream(null)
+                .map(EmployeeStatsCounter::getId)
+                .filter(id -> !counts.containsKey(id))
+                .toList()
+                .forEach(this::deleteById);
+    }
+
+    @Override
+    protected String identify(EmployeeStatsCounter counter) {
+        return counter.getId();
+    }
+
+    @Override
+    protected EmployeeStatsCounter copy(EmployeeStatsCounter counter) {
+        return new EmployeeStatsCounter(counter.getId(), counter.getCount());
+    }
+
+    private void increment(String id, long delta) {
+        while (modify(id, counter -> new EmployeeStatsCounter(id, counter.getCount() + delta)).isEmpty()) {
+            try {
+                insert(new EmployeeStatsCounter(id, delta));
+                return;
+            } catch (DuplicateKeyException e) {
+                // created concurrently, increment that one
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.employeeservice.repository.inmemory;
+
+import com.example.employeeservice.model.OutboxEvent;
+import com.example.employeeservice.repository.OutboxEventRepository;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link OutboxEventRepository} without MongoDB. Ids are generated on insert, so events are relayed in the order
+ * they were recorded, as with Mongo.
+ */
+public class InMemoryOutboxEventRepository extends InMemoryRepository<OutboxEvent, ObjectId> implements OutboxEventRepository {
+
+    public InMemoryOutboxEventRepository() {
+        super(Comparator.naturalOrder());
+    }
+
+    @Override
+    public List<OutboxEvent> findAllByOrderByIdAsc(Pageable pageable) {
+        return slice(stream(null), pageable).getContent();
+    }
+
+    @Override
+    public List<OutboxEvent> findAllByKeyInOrderByIdAsc(Collection<String> keys) {
+        return stream(null).filter(event -> keys.contains(event.getKey())).map(this::copy).toList();
+    }
+
+    @Override
+    public Optional<OutboxEvent> findFirstByOrderByIdAsc() {
+        return stream(null).findFirst().map(this::copy);
+    }
+
+    @Override
+    protected ObjectId identify(OutboxEvent event) {
+        if (event.getId() == null) {
+            event.setId(new ObjectId());
+        }
+        return event.getId();
+    }
+
+    @Override
+    protected OutboxEvent copy(OutboxEvent event) {
+        return new OutboxEvent(event.getId(), event.getKey(), event.getPayload(), event.getType(), event.getVersion(),
+                event.getCreatedAt());
+    }
+}
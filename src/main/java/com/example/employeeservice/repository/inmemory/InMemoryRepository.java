@@ -0,0 +1,259 @@
+package com.example.employeeservice.repository.inmemory;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link MongoRepository} kept in a concurrent hash map, with a sorted set of ids for the id-ordered reads. Every
+ * write to one entity is atomic; entities are copied on the way in and out, like documents, so callers never share
+ * state with the store. Sorting is only supported by id, and query by example not at all.
+ */
+abstract class InMemoryRepository<T, ID> implements MongoRepository<T, ID> {
+
+    private static final String UNSUPPORTED = "not supported by the in-memory repository";
+
+    private final Map<ID, T> entities = new ConcurrentHashMap<>();
+    private final NavigableSet<ID> ids;
+
+    InMemoryRepository(Comparator<? super ID> idOrder) {
+        this.ids = new ConcurrentSkipListSet<>(idOrder);
+    }
+
+    /**
+     * Returns the entity's id, first assigning one if the store would generate it.
+     */
+    protected abstract ID identify(T entity);
+
+    protected abstract T copy(T entity);
+
+    /**
+     * Prepares the document to store over {@code current}, {@code null} if there is none. Runs once per write, while
+     * holding the entity's lock, and may reject the write by throwing.
+     */
+    protected T beforeStore(T current, T entity) {
+        return copy(entity);
+    }
+
+    /**
+     * Runs while holding the lock of the entity that is being removed.
+     */
+    protected void afterRemove(T removed) {
+    }
+
+    /**
+     * Atomically replaces the entity with the result of {@code change}, which may return it unchanged.
+     *
+     * @return the entity after the change, empty if it does not exist
+     */
+    protected Optional<T> modify(ID id, Function<T, T> change) {
+        return Optional.ofNullable(entities.computeIfPresent(id, (key, current) -> change.apply(current)))
+                .map(this::copy);
+    }
+
+    /**
+     * Atomically removes the entity if it matches.
+     *
+     * @return the removed entity, empty if it does not exist or does not match
+     */
+    protected Optional<T> removeIf(ID id, Predicate<T> condition) {
+        List<T> removed = new ArrayList<>(1);
+        entities.computeIfPresent(id, (key, current) -> {
+            if (!condition.test(current)) {
+                return current;
+            }
+            ids.remove(key);
+            afterRemove(current);
+            removed.add(current);
+            return null;
+        });
+        return removed.stream().findFirst();
+    }
+
+    /**
+     * Entities in id order, starting after {@code after} unless it is {@code null}.
+     */
+    protected Stream<T> stream(ID after) {
+        return (after == null ? ids : ids.tailSet(after, false)).stream()
+                .map(entities::get)
+                .filter(Objects::nonNull);
+    }
+
+    protected Slice<T> slice(Stream<T> entities, Pageable pageable) {
+        List<T> content = entities
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L)
+                .map(this::copy)
+                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        return store(entity, true);
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        return StreamSupport.stream(entities.spliterator(), false).map(this::insert).toList();
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        return store(entity, false);
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        return StreamSupport.stream(entities.spliterator(), false).map(this::save).toList();
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        return Optional.ofNullable(entities.get(id)).map(this::copy);
+    }
+
+    @Override
+    public boolean existsById(ID id) {
+        return entities.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return stream(null).map(this::copy).toList();
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(entities::get)
+                .filter(Objects::nonNull)
+                .map(this::copy)
+                .toList();
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        checkSort(sort);
+        return findAll();
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        checkSort(pageable.getSort());
+        List<T> content = stream(null)
+                .skip(pageable.isPaged() ? pageable.getOffset() : 0)
+                .limit(pageable.isPaged() ? pageable.getPageSize() : Long.MAX_VALUE)
+                .map(this::copy)
+                .toList();
+        return new PageImpl<>(content, pageable, count());
+    }
+
+    @Override
+    public long count() {
+        return entities.size();
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        removeIf(id, entity -> true);
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(identify(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends ID> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw new UnsupportedOperationException(UNSUPPORTED);
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw new UnsupportedOperationException(UNSUPPORTED);
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw new UnsupportedOperationException(UNSUPPORTED);
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw new UnsupportedOperationException(UNSUPPORTED);
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw new UnsupportedOperationException(UNSUPPORTED);
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw new UnsupportedOperationException(UNSUPPORTED);
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw new UnsupportedOperationException(UNSUPPORTED);
+    }
+
+    private <S extends T> S store(S entity, boolean insert) {
+        ID id = identify(entity);
+        entities.compute(id, (key, current) -> {
+            if (insert && current != null) {
+                throw new DuplicateKeyException("Duplicate id " + key);
+            }
+            T stored = beforeStore(current, entity);
+            ids.add(key);
+            return stored;
+        });
+        return entity;
+    }
+
+    private static void checkSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!order.getProperty().equals("id") || order.isDescending()) {
+                throw new UnsupportedOperationException("Sorting by " + order + " is " + UNSUPPORTED);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.employeeservice.serialization;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeEventType;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Encodes the values of the employee topic in {@code employee.kafka.value-format} and names the format in the
+ * {@value #CONTENT_TYPE_HEADER} header of every record, so that consumers can read each record in the format it was
+ * written in while producers switch. Records without the header were written before it existed and are JSON.
+ * <p>
+ * The outbox keeps recording JSON, which lets the relay publish events recorded before a switch too. A binary value
+ * is transcoded from it token by token, without binding an employee.
+ * <p>
+ * Events other than tombstones name their {@link EmployeeEventType} in the {@value #EVENT_TYPE_HEADER} header;
+ * without it they are snapshots.
+ */
+@Component
+public class EmployeeEventCodec {
+
+    public static final String CONTENT_TYPE_HEADER = "content-type";
+    public static final String EVENT_TYPE_HEADER = "event-type";
+
+    private static final Map<EmployeeEventType, Header> TYPE_HEADERS = new EnumMap<>(EmployeeEventType.class);
+
+    static {
+        for (EmployeeEventType type : EmployeeEventType.values()) {
+            TYPE_HEADERS.put(type, new RecordHeader(EVENT_TYPE_HEADER,
+                    type.name().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    private final Map<WireFormat, ObjectMapper> mappers = new EnumMap<>(WireFormat.class);
+    private final WireFormat valueFormat;
+    private final Header contentType;
+
+    @Autowired
+    public EmployeeEventCodec(ObjectProvider<Jackson2ObjectMapperBuilder> builders,
+                              @Value("${employee.kafka.value-format:json}") WireFormat valueFormat) {
+        this(builders::getObject, valueFormat);
+    }
+
+    public EmployeeEventCodec(Supplier<Jackson2ObjectMapperBuilder> builders, WireFormat valueFormat) {
+        for (WireFormat format : WireFormat.values()) {
+            mappers.put(format, format.mapper(builders.get()));
+        }
+        this.valueFormat = valueFormat;
+        this.contentType = new RecordHeader(CONTENT_TYPE_HEADER,
+                valueFormat.getMediaType().toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public WireFormat getValueFormat() {
+        return valueFormat;
+    }
+
+    public Header getContentTypeHeader() {
+        return contentType;
+    }
+
+    public static Header typeHeader(EmployeeEventType type) {
+        return TYPE_HEADERS.get(type);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the header names an unknown type
+     */
+    public static EmployeeEventType typeOf(ConsumerRecord<String, byte[]> record) {
+        Header header = record.headers().lastHeader(EVENT_TYPE_HEADER);
+        return header == null
+                ? EmployeeEventType.SNAPSHOT
+                : EmployeeEventType.valueOf(new String(header.value(), StandardCharsets.UTF_8).toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the JSON payload recorded in the outbox in the value format, {@code null} for a tombstone.
+     */
+    public byte[] encode(String payload) throws IOException {
+        if (payload == null) {
+            return null;
+        }
+        if (valueFormat == WireFormat.JSON) {
+            return payload.getBytes(StandardCharsets.UTF_8);
+        }
+        ByteArrayBuilder bytes = new ByteArrayBuilder(payload.length());
+        try (JsonParser parser = mappers.get(WireFormat.JSON).getFactory().createParser(payload);
+             JsonGenerator generator = mappers.get(valueFormat).getFactory().createGenerator(bytes)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads the employee in the format named by the record's header, {@code null} for a tombstone.
+     *
+     * @throws IllegalArgumentException if the header names an unsupported format
+     */
+    public Employee decode(ConsumerRecord<String, byte[]> record) throws IOException {
+        return record.value() == null ? null : mapper(record).readValue(record.value(), Employee.class);
+    }
+
+    /**
+     * Applies a {@link EmployeeEventType#DELTA} to {@code base}: the fields in the value replace those of the base,
+     * which is modified and returned.
+     *
+     * @throws IllegalArgumentException if the header names an unsupported format
+     */
+    public Employee decode(ConsumerRecord<String, byte[]> record, Employee base) throws IOException {
+        return mapper(record).readerForUpdating(base).readValue(record.value());
+    }
+
+    private ObjectMapper mapper(ConsumerRecord<String, byte[]> record) {
+        Header header = record.headers().lastHeader(CONTENT_TYPE_HEADER);
+        return mappers.get(WireFormat.of(header == null ? null : new String(header.value(), StandardCharsets.UTF_8)));
+    }
+}
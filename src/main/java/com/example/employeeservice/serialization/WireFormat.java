@@ -0,0 +1,59 @@
+package com.example.employeeservice.serialization;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.function.Supplier;
+
+/**
+ * Jackson encodings offered to REST clients through {@code Accept} and {@code Content-Type}, and for the values of
+ * the employee topic. The binary ones carry the same document as JSON with shorter framing, so every mapper is built
+ * from the application's {@link Jackson2ObjectMapperBuilder} and differs only in its factory.
+ */
+public enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON, JsonFactory::new),
+    CBOR(MediaType.APPLICATION_CBOR, CBORFactory::new),
+    SMILE(new MediaType("application", "x-jackson-smile"), SmileFactory::new);
+
+    private final MediaType mediaType;
+    private final Supplier<JsonFactory> factory;
+
+    WireFormat(MediaType mediaType, Supplier<JsonFactory> factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Builds a mapper for this format with the builder's configuration; the builder must not be reused.
+     */
+    public ObjectMapper mapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(factory.get()).build();
+    }
+
+    /**
+     * Returns the format with the given media type, {@link #JSON} if it is {@code null}.
+     *
+     * @throws IllegalArgumentException if no format has the media type
+     */
+    public static WireFormat of(String mediaType) {
+        if (mediaType == null) {
+            return JSON;
+        }
+        MediaType parsed = MediaType.parseMediaType(mediaType);
+        for (WireFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(parsed)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported wire format " + mediaType);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.dto.response.BulkOperationProgress;
+
+import java.util.function.Consumer;
+
+/**
+ * A validated bulk change, applied chunk by chunk when run.
+ */
+@FunctionalInterface
+public interface BulkOperation {
+
+    /**
+     * Applies the change, reporting progress after every committed chunk and once more when done.
+     *
+     * @return the final progress
+     */
+    BulkOperationProgress run(Consumer<BulkOperationProgress> onProgress);
+}
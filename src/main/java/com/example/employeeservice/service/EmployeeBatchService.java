@@ -0,0 +1,145 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.dto.request.CreateEmployeeRequest;
+import com.example.employeeservice.dto.response.BatchCreateEmployeeItemResult;
+import com.example.employeeservice.dto.response.BatchCreateEmployeeResponse;
+import com.example.employeeservice.dto.response.BatchItemStatus;
+import com.example.employeeservice.exception.BadRequestException;
+import com.example.employeeservice.mapper.EmployeeMapper;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.repository.EmployeeRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.example.employeeservice.mapper.EmployeeMapper.mapToCreateEmployeeResponse;
+
+@Service
+@RequiredArgsConstructor
+public class EmployeeBatchService {
+
+    private final EmployeeRepository employeeRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    @Value("${employee.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    /**
+     * Creates all valid, non-duplicate employees of the batch with one uniqueness query and one bulk insert whose
+     * outbox events are recorded in the same transaction, and reports the outcome for every submitted item.
+     */
+    public BatchCreateEmployeeResponse createEmployees(List<CreateEmployeeRequest> requests) throws BadRequestException {
+        if (requests.size() > maxBatchSize) {
+            throw new BadRequestException("Batch size must not exceed {0}", 400, String.valueOf(maxBatchSize));
+        }
+
+        BatchCreateEmployeeItemResult[] results = new BatchCreateEmployeeItemResult[requests.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateEmployeeRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = invalid(i, List.of("must not be null"));
+                continue;
+            }
+            Set<ConstraintViolation<CreateEmployeeRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[i] = invalid(i, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .toList());
+            } else if (candidates.putIfAbsent(request.getEmail(), i) != null) {
+                results[i] = result(i, BatchItemStatus.DUPLICATE, null);
+            }
+        }
+
+        Set<String> existingEmails = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            employeeRepository.findByEmailIn(candidates.keySet())
+                    .forEach(employee -> existingEmails.add(employee.getEmail()));
+        }
+
+        List<Integer> positions = new ArrayList<>();
+        List<Employee> employees = new ArrayList<>();
+        candidates.forEach((email, index) -> {
+            if (existingEmails.contains(email)) {
+                results[index] = result(index, BatchItemStatus.DUPLICATE, null);
+            } else {
+                positions.add(index);
+                employees.add(EmployeeMapper.updateEmployee(requests.get(index)));
+            }
+        });
+
+        // a duplicate key aborts the whole transaction, so drop the clashing items and retry with the rest;
+        // this only loops when another writer inserted one of the emails after the uniqueness query
+        while (!employees.isEmpty()) {
+            Set<Integer> rejected = insertWithEvents(employees);
+            if (rejected.isEmpty()) {
+                break;
+            }
+            for (int i = employees.size() - 1; i >= 0; i--) {
+                if (rejected.contains(i)) {
+                    int index = positions.remove(i);
+                    employees.remove(i);
+                    results[index] = result(index, BatchItemStatus.DUPLICATE, null);
+                }
+            }
+        }
+        for (int i = 0; i < employees.size(); i++) {
+            results[positions.get(i)] = result(positions.get(i), BatchItemStatus.CREATED, employees.get(i));
+        }
+
+        return toResponse(List.of(results));
+    }
+
+    private Set<Integer> insertWithEvents(List<Employee> employees) {
+        return transactionTemplate.execute(status -> {
+            Set<Integer> rejected = employeeRepository.insertAllUnordered(employees);
+            if (!rejected.isEmpty()) {
+                status.setRollbackOnly();
+                return rejected;
+            }
+            outboxService.recordAll(employees);
+            return Set.of();
+        });
+    }
+
+    private static BatchCreateEmployeeItemResult invalid(int index, List<String> errors) {
+        return BatchCreateEmployeeItemResult.builder()
+                .index(index)
+                .status(BatchItemStatus.INVALID)
+                .errors(errors)
+                .build();
+    }
+
+    private static BatchCreateEmployeeItemResult result(int index, BatchItemStatus status, Employee employee) {
+        return BatchCreateEmployeeItemResult.builder()
+                .index(index)
+                .status(status)
+                .employee(employee == null ? null : mapToCreateEmployeeResponse(employee))
+                .build();
+    }
+
+    private static BatchCreateEmployeeResponse toResponse(List<BatchCreateEmployeeItemResult> results) {
+        Map<BatchItemStatus, Integer> counts = new HashMap<>();
+        results.forEach(result -> counts.merge(result.getStatus(), 1, Integer::sum));
+        return BatchCreateEmployeeResponse.builder()
+                .created(counts.getOrDefault(BatchItemStatus.CREATED, 0))
+                .duplicates(counts.getOrDefault(BatchItemStatus.DUPLICATE, 0))
+                .invalid(counts.getOrDefault(BatchItemStatus.INVALID, 0))
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.dto.request.BulkDeleteEmployeesRequest;
+import com.example.employeeservice.dto.request.BulkUpdateEmployeesRequest;
+import com.example.employeeservice.dto.request.PatchEmployeeRequest;
+import com.example.employeeservice.dto.request.SearchEmployeesRequest;
+import com.example.employeeservice.dto.response.BulkOperationProgress;
+import com.example.employeeservice.exception.BadRequestException;
+import com.example.employeeservice.mapper.EmployeeMapper;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.projection.EmployeeFields;
+import com.example.employeeservice.repository.EmployeeRepository;
+import com.example.employeeservice.repository.EmployeeSearchCriteria;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static com.example.employeeservice.configuration.CacheConfiguration.EMPLOYEES_CACHE;
+
+/**
+ * Updates or deletes many employees, selected by id or by search filter, in chunks of
+ * {@code employee.bulk.chunk-size}. Each chunk is selected, changed with one multi-document write and has its
+ * outbox events recorded with one insert, all in one transaction, so the relay publishes the whole chunk as one
+ * pipelined Kafka batch. Chunks commit independently: a failure stops the operation but keeps the chunks before it.
+ */
+@Service
+@Slf4j
+public class EmployeeBulkService {
+
+    private final EmployeeRepository employeeRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache cache;
+
+    @Value("${employee.bulk.chunk-size:500}")
+    private int chunkSize;
+    @Value("${employee.bulk.max-ids:100000}")
+    private int maxIds;
+
+    public EmployeeBulkService(EmployeeRepository employeeRepository,
+                               OutboxService outboxService,
+                               TransactionTemplate transactionTemplate,
+                               ObjectMapper objectMapper,
+                               CacheManager cacheManager) {
+        this.employeeRepository = employeeRepository;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.cache = Objects.requireNonNull(cacheManager.getCache(EMPLOYEES_CACHE));
+    }
+
+    /**
+     * Validates the request up front, so that it is rejected before any progress is reported.
+     */
+    public BulkOperation prepareUpdate(BulkUpdateEmployeesRequest request) throws BadRequestException {
+        PatchEmployeeRequest changes = request.getChanges();
+        if (changes == null) {
+            throw new BadRequestException("No fields to update", 400);
+        }
+        if (changes.getEmail() != null) {
+            throw new BadRequestException("email cannot be changed in bulk", 400);
+        }
+        if (changes.getHobbies() != null && changes.getAddHobbies() != null) {
+            throw new BadRequestException("hobbies and addHobbies cannot be combined", 400);
+        }
+        Update update = EmployeeMapper.mapToUpdate(changes);
+        if (update.getUpdateObject().isEmpty()) {
+            throw new BadRequestException("No fields to update", 400);
+        }
+
+        List<EmployeeSearchCriteria> selection = selection(request.getIds(), request.getFilter());
+        return onProgress -> run("update", selection, employees -> outboxService.recordAll(employees,
+                employeeRepository.updateAll(employees.stream().map(Employee::getId).toList(), update)), onProgress);
+    }
+
+    /**
+     * Validates the request up front, so that it is rejected before any progress is reported.
+     */
+    public BulkOperation prepareDelete(BulkDeleteEmployeesRequest request) throws BadRequestException {
+        List<EmployeeSearchCriteria> selection = selection(request.getIds(), request.getFilter());
+        return onProgress -> run("delete", selection, employees -> {
+            employeeRepository.deleteAllById(employees.stream().map(Employee::getId).toList());
+            outboxService.recordDeletions(employees);
+        }, onProgress);
+    }
+
+    /**
+     * Runs the operation and writes its progress as newline-delimited JSON, flushed after every chunk. A client that
+     * disconnects does not stop the operation.
+     */
+    public void stream(BulkOperation operation, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(BulkOperationProgress.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            boolean[] connected = {true};
+            operation.run(progress -> {
+                if (!connected[0]) {
+                    return;
+                }
+                try {
+                    writer.writeValue(generator, progress);
+                    generator.writeRaw('\n');
+                    generator.flush();
+                } catch (IOException e) {
+                    log.debug("client stopped reading the bulk progress", e);
+                    connected[0] = false;
+                }
+            });
+        }
+    }
+
+    /**
+     * Splits the listed ids into chunk-sized selections, or returns the filter, which is paged through by id.
+     */
+    private List<EmployeeSearchCriteria> selection(List<UUID> ids, SearchEmployeesRequest filter) throws BadRequestException {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        if (hasIds == (filter != null)) {
+            throw new BadRequestException("Exactly one of ids and filter must be given", 400);
+        }
+        if (filter != null) {
+            EmployeeSearchCriteria criteria = EmployeeService.toSearchCriteria(filter);
+            if (criteria.equals(EmployeeSearchCriteria.builder().build())) {
+                throw new BadRequestException("filter must restrict at least one field", 400);
+            }
+            return List.of(criteria);
+        }
+        if (ids.size() > maxIds) {
+            throw new BadRequestException("At most {0} ids can be given", 400, String.valueOf(maxIds));
+        }
+
+        List<UUID> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        List<EmployeeSearchCriteria> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            chunks.add(EmployeeSearchCriteria.builder()
+                    .ids(distinct.subList(from, Math.min(from + chunkSize, distinct.size())))
+                    .build());
+        }
+        return chunks;
+    }
+
+    private BulkOperationProgress run(String name, List<EmployeeSearchCriteria> selection, Consumer<List<Employee>> change,
+                                      Consumer<BulkOperationProgress> onProgress) {
+        int chunks = 0;
+        long processed = 0;
+        try {
+            for (EmployeeSearchCriteria criteria : selection) {
+                UUID after = null;
+                boolean hasNext = true;
+                while (hasNext) {
+                    UUID from = after;
+                    // the chunk is selected in the transaction that changes it, so it cannot change in between, and is
+                    // read whole because the change events carry the previous state
+                    Slice<Employee> chunk = transactionTemplate.execute(status -> {
+                        Slice<Employee> matched = employeeRepository.search(criteria, from, chunkSize, EmployeeFields.ALL);
+                        if (matched.hasContent()) {
+                            change.accept(matched.getContent());
+                        }
+                        return matched;
+                    });
+                    if (chunk.hasContent()) {
+                        chunk.forEach(employee -> cache.evict(employee.getId()));
+                        after = chunk.getContent().get(chunk.getNumberOfElements() - 1).getId();
+                        processed += chunk.getNumberOfElements();
+                        onProgress.accept(progress(++chunks, processed, false, null));
+                    }
+                    hasNext = chunk.hasNext();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("bulk {} failed after {} employees in {} chunks", name, processed, chunks, e);
+            return report(onProgress, progress(chunks, processed, true, "Bulk " + name + " failed, " + processed + " employees were processed"));
+        }
+        log.info("bulk {} processed {} employees in {} chunks", name, processed, chunks);
+        return report(onProgress, progress(chunks, processed, true, null));
+    }
+
+    private static BulkOperationProgress report(Consumer<BulkOperationProgress> onProgress, BulkOperationProgress progress) {
+        onProgress.accept(progress);
+        return progress;
+    }
+
+    private static BulkOperationProgress progress(int chunks, long processed, boolean done, String error) {
+        return BulkOperationProgress.builder()
+                .chunks(chunks)
+                .processed(processed)
+                .done(done)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.repository.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeExportService {
+
+    private final EmployeeRepository employeeRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${employee.export.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Writes every employee as newline-delimited JSON, reading from a Mongo cursor and flushing once per cursor
+     * batch. Writes to the servlet stream block while the client is not reading, so at most one batch is held.
+     */
+    public void exportEmployees(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Employee.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        long count = 0;
+        try (Stream<Employee> employees = employeeRepository.streamAll(batchSize);
+             JsonGenerator generator = writer.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            Iterator<Employee> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count % batchSize == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        log.debug("exported {} employees", count);
+    }
+}
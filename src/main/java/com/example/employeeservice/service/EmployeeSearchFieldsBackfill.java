@@ -0,0 +1,39 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills in the normalized name and birthday month-day of employees stored before name search and the upcoming
+ * birthdays query existed, so that they are found by them. Idempotent: once every employee has the fields, a run only
+ * costs one indexed query per field.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "employee.search.backfill.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeSearchFieldsBackfill {
+
+    private final EmployeeRepository employeeRepository;
+
+    @Value("${employee.search.backfill.batch-size:500}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int names = employeeRepository.backfillNormalizedNames(batchSize);
+        if (names > 0) {
+            log.info("Backfilled normalized names of {} employees", names);
+        }
+        int birthdays = employeeRepository.backfillBirthdayMonthDays(batchSize);
+        if (birthdays > 0) {
+            log.info("Backfilled birthday month-days of {} employees", birthdays);
+        }
+    }
+}
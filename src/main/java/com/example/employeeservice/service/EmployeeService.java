@@ -1,63 +1,300 @@
 package com.example.employeeservice.service;
 
 import com.example.employeeservice.dto.request.CreateEmployeeRequest;
+import com.example.employeeservice.dto.request.PatchEmployeeRequest;
+import com.example.employeeservice.dto.request.SearchEmployeesRequest;
 import com.example.employeeservice.dto.request.UpdateEmployeeRequest;
 import com.example.employeeservice.dto.response.CreateEmployeeResponse;
+import com.example.employeeservice.dto.response.EmployeePageResponse;
 import com.example.employeeservice.exception.AlreadyExistException;
+import com.example.employeeservice.exception.BadRequestException;
 import com.example.employeeservice.exception.NotFoundException;
+import com.example.employeeservice.exception.PreconditionFailedException;
 import com.example.employeeservice.mapper.EmployeeMapper;
+import com.example.employeeservice.mapper.EmployeeUpdate;
 import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeChangedEvent;
+import com.example.employeeservice.pagination.BirthdayCursor;
+import com.example.employeeservice.pagination.CursorCodec;
+import com.example.employeeservice.projection.EmployeeFields;
+import com.example.employeeservice.readmodel.EmployeeReadModel;
 import com.example.employeeservice.repository.EmployeeRepository;
+import com.example.employeeservice.repository.EmployeeSearchCriteria;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static com.example.employeeservice.configuration.CacheConfiguration.EMPLOYEES_CACHE;
 import static com.example.employeeservice.mapper.EmployeeMapper.mapToCreateEmployeeResponse;
 
 @Service
 @RequiredArgsConstructor
 public class EmployeeService {
 
+    private static final int MAX_BIRTHDAY_WINDOW_DAYS = 366;
+    private static final int FIRST_MONTH_DAY = 101;
+    private static final int LAST_MONTH_DAY = 1231;
+
     private final EmployeeRepository employeeRepository;
-    private final KafkaMessagePublishService kafkaMessagePublishService;
+    private final OutboxService outboxService;
+
+    /**
+     * Present with {@code employee.read-model.enabled}; serves the reads by id, list and search once caught up.
+     */
+    @Autowired(required = false)
+    private EmployeeReadModel employeeReadModel;
 
+    @Value("${employee.pagination.default-page-size:50}")
+    private int defaultPageSize;
+    @Value("${employee.pagination.max-page-size:500}")
+    private int maxPageSize;
+
+    @Transactional(rollbackFor = Exception.class)
     public CreateEmployeeResponse createEmployee(CreateEmployeeRequest request) throws AlreadyExistException {
-        Optional<Employee> employeeOptional = employeeRepository.findByEmail(request.getEmail());
-        if (employeeOptional.isPresent()) {
-            throw new AlreadyExistException("Employee with the same email already exists", 400);
+        Employee employee;
+        try {
+            employee = employeeRepository.insert(EmployeeMapper.updateEmployee(request));
+        } catch (DuplicateKeyException e) {
+            throw emailAlreadyExists();
         }
-
-        Employee employee = employeeRepository.save(EmployeeMapper.updateEmployee(request));
-        kafkaMessagePublishService.publish(employee);
+        outboxService.record(null, employee);
 
         return mapToCreateEmployeeResponse(employee);
     }
 
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    public EmployeePageResponse getEmployees(String cursor, Integer size, EmployeeFields fields)
+            throws BadRequestException {
+        if (servesReadsFromReadModel() || !fields.isAll()) {
+            return searchEmployees(EmployeeSearchCriteria.builder().build(), cursor, size, fields);
+        }
+        Pageable pageable = PageRequest.of(0, resolvePageSize(size), Sort.by(Sort.Direction.ASC, "id"));
+
+        Slice<Employee> slice = cursor == null
+                ? employeeRepository.findAllBy(pageable)
+                : employeeRepository.findByIdGreaterThan(CursorCodec.decode(cursor), pageable);
+
+        return toPageResponse(slice);
+    }
+
+    public EmployeePageResponse searchEmployees(SearchEmployeesRequest request, String cursor, Integer size,
+                                                EmployeeFields fields) throws BadRequestException {
+        return searchEmployees(toSearchCriteria(request), cursor, size, fields);
+    }
+
+    /**
+     * Whether reads by id and unfiltered pages are served from the read model, which is only the case while it has
+     * caught up with the topic. Searches with filters always use Mongo's indexes.
+     * Employees read from it are not cached: a cached copy could outlive the eviction of a change that the read model
+     * applies after it.
+     */
+    public boolean servesReadsFromReadModel() {
+        return employeeReadModel != null && employeeReadModel.isCaughtUp();
+    }
+
+    /**
+     * Returns a page of employees whose birthday is within {@code withinDays} days from {@code from}, today if
+     * {@code null}, in the order the birthdays come. A window that wraps around the new year is read as two ranges
+     * of the month-day index, the one up to December 31 first; a page may span both.
+     */
+    public EmployeePageResponse getUpcomingBirthdays(int withinDays, LocalDate from, String cursor, Integer size,
+                                                     EmployeeFields fields) throws BadRequestException {
+        if (withinDays < 0 || withinDays > MAX_BIRTHDAY_WINDOW_DAYS) {
+            throw new BadRequestException("withinDays must be between 0 and {0}", 400,
+                    String.valueOf(MAX_BIRTHDAY_WINDOW_DAYS));
+        }
+        LocalDate start = from == null ? LocalDate.now() : from;
+        List<int[]> ranges = monthDayRanges(start, withinDays);
+        BirthdayCursor after = cursor == null ? null : BirthdayCursor.decode(cursor);
+        int first = 0;
+        if (after != null) {
+            while (first < ranges.size()
+                    && (after.monthDay() < ranges.get(first)[0] || after.monthDay() > ranges.get(first)[1])) {
+                first++;
+            }
+            if (first == ranges.size()) {
+                throw new BadRequestException("Cursor is outside of the requested birthdays", 400);
+            }
+        }
+
+        int pageSize = resolvePageSize(size);
+        List<Employee> items = new ArrayList<>(pageSize);
+        boolean hasNext = false;
+        for (int i = first; i < ranges.size() && items.size() < pageSize; i++) {
+            Slice<Employee> slice = employeeRepository.findByBirthdayMonthDay(ranges.get(i)[0], ranges.get(i)[1],
+                    i == first ? after : null, pageSize - items.size(), fields);
+            items.addAll(slice.getContent());
+            hasNext = slice.hasNext() || items.size() == pageSize && i < ranges.size() - 1;
+        }
+
+        Employee last = hasNext ? items.get(items.size() - 1) : null;
+        return EmployeePageResponse.builder()
+                .items(items)
+                .nextCursor(last == null ? null : new BirthdayCursor(last.getBirthdayMonthDay(), last.getId()).encode())
+                .build();
     }
 
+    @Cacheable(cacheNames = EMPLOYEES_CACHE, key = "#employeeId", condition = "!#root.target.servesReadsFromReadModel()")
     public Employee getEmployeeById(UUID employeeId) throws NotFoundException {
-        return employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new NotFoundException("Employee not found", 404));
+        Optional<Employee> employee = servesReadsFromReadModel()
+                ? employeeReadModel.findById(employeeId)
+                : employeeRepository.findById(employeeId);
+        return employee.orElseThrow(() -> new NotFoundException("Employee not found", 404));
     }
 
-    public Employee updateEmployee(UUID employeeId, UpdateEmployeeRequest request) throws NotFoundException {
-        Employee employee = employeeRepository.findById(employeeId)
-                .orElseThrow(() -> new NotFoundException("Employee not found", 404));
+    /**
+     * Reads only the selected fields. Unlike the full employee, the partial one is not cached.
+     */
+    public Employee getEmployeeById(UUID employeeId, EmployeeFields fields) throws NotFoundException {
+        Optional<Employee> employee = servesReadsFromReadModel()
+                ? employeeReadModel.findById(employeeId)
+                : employeeRepository.findById(employeeId, fields);
+        return employee.orElseThrow(() -> new NotFoundException("Employee not found", 404));
+    }
 
-        EmployeeMapper.updateEmployee(request, employee);
-        Employee updatedEmployee = employeeRepository.save(employee);
+    /**
+     * Replaces every field in one atomic update. With an expected version the update fails instead of overwriting a
+     * concurrent change.
+     */
+    @CacheEvict(cacheNames = EMPLOYEES_CACHE, key = "#employeeId")
+    @Transactional(rollbackFor = Exception.class)
+    public Employee updateEmployee(UUID employeeId, UpdateEmployeeRequest request, Long expectedVersion)
+            throws NotFoundException, AlreadyExistException, PreconditionFailedException {
+        EmployeeChangedEvent change = modify(employeeId, EmployeeMapper.mapToUpdate(request), expectedVersion);
 
-        kafkaMessagePublishService.publish(updatedEmployee);
-        return updatedEmployee;
+        outboxService.record(change.previous(), change.employee());
+        return change.employee();
     }
 
-    public void deleteEmployee(UUID employeeId) {
-        employeeRepository.deleteById(employeeId);
-        kafkaMessagePublishService.publishDeletion(employeeId);
+    @CacheEvict(cacheNames = EMPLOYEES_CACHE, key = "#employeeId")
+    @Transactional(rollbackFor = Exception.class)
+    public Employee patchEmployee(UUID employeeId, PatchEmployeeRequest request, Long expectedVersion)
+            throws NotFoundException, AlreadyExistException, BadRequestException, PreconditionFailedException {
+        if (request.getHobbies() != null && request.getAddHobbies() != null) {
+            throw new BadRequestException("hobbies and addHobbies cannot be combined", 400);
+        }
+        EmployeeUpdate update = EmployeeMapper.mapToUpdate(request);
+        if (update.getUpdateObject().isEmpty()) {
+            throw new BadRequestException("No fields to update", 400);
+        }
+
+        EmployeeChangedEvent change = modify(employeeId, update, expectedVersion);
+
+        outboxService.record(change.previous(), change.employee());
+        return change.employee();
+    }
+
+    @CacheEvict(cacheNames = EMPLOYEES_CACHE, key = "#employeeId")
+    @Transactional(rollbackFor = Exception.class)
+    public void deleteEmployee(UUID employeeId, Long expectedVersion) throws PreconditionFailedException {
+        Optional<Employee> previous = employeeRepository.remove(employeeId, expectedVersion);
+        if (previous.isEmpty() && expectedVersion != null) {
+            throw versionMismatch();
+        }
+        outboxService.recordDeletion(employeeId, previous.orElse(null));
+    }
+
+    /**
+     * Updates the employee and returns the version it replaced in the same round trip, so that the change knows the
+     * exact state it replaced; the new state follows from applying the update to it. Only if nothing was updated is
+     * the employee looked up, to tell a missing employee from a version mismatch.
+     */
+    private EmployeeChangedEvent modify(UUID employeeId, EmployeeUpdate update, Long expectedVersion)
+            throws NotFoundException, AlreadyExistException, PreconditionFailedException {
+        Optional<Employee> previous;
+        try {
+            previous = employeeRepository.patch(employeeId, update, expectedVersion);
+        } catch (DuplicateKeyException e) {
+            throw emailAlreadyExists();
+        }
+        if (previous.isEmpty()) {
+            if (expectedVersion != null && employeeRepository.existsById(employeeId)) {
+                throw versionMismatch();
+            }
+            throw new NotFoundException("Employee not found", 404);
+        }
+        return new EmployeeChangedEvent(employeeId, previous.get(), update.applyTo(previous.get()));
+    }
+
+    /**
+     * Inclusive month-day ranges covering the {@code withinDays} days from {@code from}, in calendar order from it.
+     */
+    static List<int[]> monthDayRanges(LocalDate from, int withinDays) {
+        int start = Employee.monthDay(from);
+        int end = Employee.monthDay(from.plusDays(withinDays));
+        if (withinDays >= 365) {
+            return List.of(new int[]{start, LAST_MONTH_DAY}, new int[]{FIRST_MONTH_DAY, start - 1});
+        }
+        if (end >= start) {
+            return List.<int[]>of(new int[]{start, end});
+        }
+        return List.of(new int[]{start, LAST_MONTH_DAY}, new int[]{FIRST_MONTH_DAY, end});
+    }
+
+    static EmployeeSearchCriteria toSearchCriteria(SearchEmployeesRequest request) throws BadRequestException {
+        if (request.getBirthdayFrom() != null && request.getBirthdayTo() != null
+                && request.getBirthdayFrom().isAfter(request.getBirthdayTo())) {
+            throw new BadRequestException("birthdayFrom must not be after birthdayTo", 400);
+        }
+        String namePrefix = Employee.normalizeName(request.getName());
+        return EmployeeSearchCriteria.builder()
+                .hobbies(request.getHobby())
+                .birthdayFrom(request.getBirthdayFrom())
+                .birthdayTo(request.getBirthdayTo())
+                .namePrefix(namePrefix == null || namePrefix.isEmpty() ? null : namePrefix)
+                .build();
+    }
+
+    private EmployeePageResponse searchEmployees(EmployeeSearchCriteria criteria, String cursor, Integer size,
+                                                 EmployeeFields fields) throws BadRequestException {
+        UUID after = cursor == null ? null : CursorCodec.decode(cursor);
+        int pageSize = resolvePageSize(size);
+
+        return toPageResponse(servesReadsFromReadModel() && !criteria.hasFilters()
+                ? employeeReadModel.findAll(after, pageSize)
+                : employeeRepository.search(criteria, after, pageSize, fields));
+    }
+
+    private static EmployeePageResponse toPageResponse(Slice<Employee> slice) {
+        String nextCursor = slice.hasNext()
+                ? CursorCodec.encode(slice.getContent().get(slice.getNumberOfElements() - 1).getId())
+                : null;
+
+        return EmployeePageResponse.builder()
+                .items(slice.getContent())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private static AlreadyExistException emailAlreadyExists() {
+        return new AlreadyExistException("Employee with the same email already exists", 400);
+    }
+
+    private static PreconditionFailedException versionMismatch() {
+        return new PreconditionFailedException("Employee has been modified since the given version", 412);
+    }
+
+    private int resolvePageSize(Integer size) throws BadRequestException {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive", 400);
+        }
+        return Math.min(size, maxPageSize);
     }
 }
@@ -1,37 +1,91 @@
 package com.example.employeeservice.service;
 
-import com.example.employeeservice.model.Employee;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import com.example.employeeservice.model.EmployeeEventType;
+import com.example.employeeservice.model.OutboxEvent;
+import com.example.employeeservice.serialization.EmployeeEventCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RetriableException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.KafkaException;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Hands events to the producer without blocking; linger, batch size, compression and retries of retriable errors
+ * are configured on the producer under {@code spring.kafka.producer}. Values are encoded by {@link EmployeeEventCodec}.
+ * Outcomes are counted instead of logged.
+ */
 @Service
-@RequiredArgsConstructor
-@Slf4j
 public class KafkaMessagePublishService {
 
     @Value("${spring.kafka.topic}")
     private String topic;
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final EmployeeEventCodec employeeEventCodec;
+    private final Timer sendTimer;
+    private final Counter succeeded;
+    private final Counter failedRetriable;
+    private final Counter failedFatal;
 
-    public void publish(Employee event) {
+    public KafkaMessagePublishService(KafkaTemplate<String, byte[]> kafkaTemplate, EmployeeEventCodec employeeEventCodec,
+                                      MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.employeeEventCodec = employeeEventCodec;
+        this.sendTimer = Timer.builder("employee.kafka.send")
+                .description("Time from handing an event to the producer until the broker acknowledged it")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.succeeded = meterRegistry.counter("employee.kafka.sent", "result", "success");
+        this.failedRetriable = meterRegistry.counter("employee.kafka.sent", "result", "retriable-failure");
+        this.failedFatal = meterRegistry.counter("employee.kafka.sent", "result", "failure");
+    }
+
+    /**
+     * Sends the event keyed by employee id with its type; a {@code null} payload is published as a tombstone.
+     */
+    public CompletableFuture<SendResult<String, byte[]>> publish(OutboxEvent event) {
+        long start = System.nanoTime();
+        byte[] value;
         try {
-            kafkaTemplate.send(topic, event.getId().toString(), objectMapper.writeValueAsString(event));
-            log.info("employee event published");
-        } catch (JsonProcessingException e) {
-            log.error("could not sent employee event");
+            value = employeeEventCodec.encode(event.getPayload());
+        } catch (IOException e) {
+            failedFatal.increment();
+            return CompletableFuture.failedFuture(e);
         }
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, null, event.getKey(), value, value == null
+                ? List.of(employeeEventCodec.getContentTypeHeader())
+                : List.of(employeeEventCodec.getContentTypeHeader(), EmployeeEventCodec.typeHeader(
+                        event.getType() == null ? EmployeeEventType.SNAPSHOT : event.getType())));
+        return kafkaTemplate.send(record)
+                .whenComplete((result, error) -> {
+                    sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    if (error == null) {
+                        succeeded.increment();
+                    } else if (unwrap(error) instanceof RetriableException) {
+                        // the producer gave up after delivery.timeout.ms; the relay resends it on its next run
+                        failedRetriable.increment();
+                    } else {
+                        failedFatal.increment();
+                    }
+                });
     }
 
-    public void publishDeletion(UUID employeeId) {
-        kafkaTemplate.send(topic, employeeId.toString(), null);
-        log.info("employee delete event published");
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof KafkaException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
     }
 }
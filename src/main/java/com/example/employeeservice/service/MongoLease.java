@@ -0,0 +1,58 @@
+package com.example.employeeservice.service;
+
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Lease held by at most one replica at a time, for jobs that must not run on several replicas at once. The holder
+ * renews it while working; once it expires, any replica can take it over.
+ */
+public class MongoLease {
+
+    static final String COLLECTION = "employee_outbox_lease";
+
+    private final MongoTemplate mongoTemplate;
+    private final String id;
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * @param mongoTemplate null in the in-memory profile, which runs a single instance that always holds the lease
+     */
+    public MongoLease(MongoTemplate mongoTemplate, String id) {
+        this.mongoTemplate = mongoTemplate;
+        this.id = id;
+    }
+
+    /**
+     * Takes or renews the lease until {@code duration} from now.
+     *
+     * @return whether this instance holds the lease
+     */
+    public boolean acquire(Duration duration) {
+        if (mongoTemplate == null) {
+            return true;
+        }
+        Instant now = Instant.now();
+        Query query = Query.query(Criteria.where("_id").is(id)
+                .orOperator(Criteria.where("owner").is(owner), Criteria.where("expiresAt").lt(now)));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("expiresAt", now.plus(duration));
+        try {
+            return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    Document.class, COLLECTION) != null;
+        } catch (DuplicateKeyException e) {
+            // the lease document exists and is held by another replica
+            return false;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.model.OutboxEvent;
+import com.example.employeeservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox to Kafka in {@code _id} order, except that the events of one employee are published in the order
+ * of their versions. Only the replica holding the relay lease publishes, which keeps events of the same employee in
+ * the order they were written. An event is deleted from the outbox only after the broker acknowledged it and every
+ * event before it, so a failed batch is retried from the first unacknowledged event on the next run.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(value = "employee.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Duration LEASE_MARGIN = Duration.ofSeconds(10);
+    // events recorded before they had a version are older than those that have one
+    private static final Comparator<OutboxEvent> BY_VERSION =
+            Comparator.comparing(OutboxEvent::getVersion, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaMessagePublishService kafkaMessagePublishService;
+    private final MongoLease lease;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter relayed;
+    private final Counter failed;
+
+    @Value("${employee.outbox.relay.batch-size:500}")
+    private int batchSize;
+    @Value("${employee.outbox.relay.send-timeout:120s}")
+    private Duration sendTimeout;
+    @Value("${employee.outbox.relay.lease-duration:130s}")
+    private Duration leaseDuration;
+    // milliseconds, as Kafka configures it
+    @Value("${spring.kafka.producer.properties.delivery.timeout.ms:120000}")
+    private Duration deliveryTimeout;
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaMessagePublishService kafkaMessagePublishService,
+                       ObjectProvider<MongoTemplate> mongoTemplate,
+                       MeterRegistry meterRegistry) {
+        this(outboxEventRepository, kafkaMessagePublishService, mongoTemplate.getIfAvailable(), meterRegistry);
+    }
+
+    /**
+     * @param mongoTemplate null in the in-memory profile, which runs a single instance that needs no lease
+     */
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaMessagePublishService kafkaMessagePublishService,
+                       MongoTemplate mongoTemplate,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaMessagePublishService = kafkaMessagePublishService;
+        this.lease = new MongoLease(mongoTemplate, "outbox-relay");
+        this.relayed = meterRegistry.counter("employee.outbox.relayed");
+        this.failed = meterRegistry.counter("employee.outbox.failed");
+        Gauge.builder("employee.outbox.pending", pending, AtomicLong::get)
+                .description("Events waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("employee.outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest event waiting in the outbox")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Every batch starts by renewing the lease and then waits up to the send timeout for the broker. The producer
+     * keeps retrying a send until its delivery timeout, so a shorter wait would give up on events that may still be
+     * published, and relay them again behind the events after them. If the lease ran out before the wait, another
+     * replica could take it and publish the same events alongside, so it must outlast the wait and the reads and
+     * deletes around it.
+     */
+    @PostConstruct
+    void checkTimeouts() {
+        if (sendTimeout.compareTo(deliveryTimeout) < 0) {
+            throw new IllegalStateException("employee.outbox.relay.send-timeout must be at least the producer's "
+                    + "delivery.timeout.ms of " + deliveryTimeout.toMillis() + "ms");
+        }
+        if (leaseDuration.compareTo(sendTimeout.plus(LEASE_MARGIN)) < 0) {
+            throw new IllegalStateException("employee.outbox.relay.lease-duration must be at least "
+                    + LEASE_MARGIN.toSeconds() + "s longer than employee.outbox.relay.send-timeout");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employee.outbox.relay.poll-interval:PT0.5S}")
+    public void relay() {
+        if (!lease.acquire(leaseDuration)) {
+            return;
+        }
+        try {
+            int relayedCount;
+            do {
+                relayedCount = relayBatch();
+            } while (relayedCount >= batchSize && lease.acquire(leaseDuration));
+        } finally {
+            updateLagMetrics();
+        }
+    }
+
+    /**
+     * @return number of events relayed and removed from the outbox
+     */
+    int relayBatch() {
+        List<OutboxEvent> batch = inPublishOrder(outboxEventRepository.findAllByOrderByIdAsc(PageRequest.ofSize(batchSize)));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(kafkaMessagePublishService.publish(event));
+        }
+
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        List<OutboxEvent> acknowledged = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged.add(batch.get(i));
+            } catch (ExecutionException | TimeoutException e) {
+                failed.increment();
+                log.warn("could not relay outbox event {}, retrying on next run", batch.get(i).getId(), e);
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        outboxEventRepository.deleteAll(acknowledged);
+        relayed.increment(acknowledged.size());
+        return acknowledged.size();
+    }
+
+    /**
+     * Adds the other waiting events of the employees in the batch, then gives each employee's events the positions
+     * they hold in {@code _id} order, sorted by version. Replicas generate the {@code _id}s, so two changes of one
+     * employee made by different replicas within a second may have them in either order, but never their versions.
+     * An earlier version is always committed by the time a later one is, so it is found here unless already relayed.
+     */
+    private List<OutboxEvent> inPublishOrder(List<OutboxEvent> batch) {
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        Set<String> keys = batch.stream().map(OutboxEvent::getKey).collect(Collectors.toSet());
+        List<OutboxEvent> events = outboxEventRepository.findAllByKeyInOrderByIdAsc(keys);
+        Map<String, Queue<OutboxEvent>> byVersion = events.stream()
+                .sorted(BY_VERSION)
+                .collect(Collectors.groupingBy(OutboxEvent::getKey, Collectors.toCollection(ArrayDeque::new)));
+        return events.stream()
+                .map(event -> byVersion.get(event.getKey()).remove())
+                .toList();
+    }
+
+    private void updateLagMetrics() {
+        pending.set(outboxEventRepository.count());
+        lagMillis.set(outboxEventRepository.findFirstByOrderByIdAsc()
+                .map(event -> Duration.between(event.getCreatedAt(), Instant.now()).toMillis())
+                .orElse(0L));
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeChangedEvent;
+import com.example.employeeservice.model.EmployeeEventType;
+import com.example.employeeservice.model.OutboxEvent;
+import com.example.employeeservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Records employee events in the outbox. Callers are expected to run inside the transaction that writes the
+ * employee, so that the event is stored if and only if the change is. Each event is also published in-process as an
+ * {@link EmployeeChangedEvent} for local listeners that react after commit.
+ * <p>
+ * With {@code employee.kafka.event-mode=delta}, updates are recorded as {@link EmployeeEventType#DELTA}s of the
+ * fields that differ from the previous state. Creations and every {@code employee.kafka.snapshot-every}th version
+ * are still whole snapshots, so that a consumer never has to go back far to find one.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${employee.kafka.event-mode:snapshot}")
+    private EmployeeEventType eventMode;
+    @Value("${employee.kafka.snapshot-every:10}")
+    private int snapshotEvery;
+
+    /**
+     * @param previous the employee before the change, {@code null} if it was created
+     */
+    public void record(Employee previous, Employee employee) {
+        outboxEventRepository.insert(toEvent(previous, employee));
+        eventPublisher.publishEvent(new EmployeeChangedEvent(employee.getId(), previous, employee));
+    }
+
+    /**
+     * Records newly created employees.
+     */
+    public void recordAll(List<Employee> employees) {
+        recordAll(List.of(), employees);
+    }
+
+    /**
+     * Records changed employees; each is matched by id to its state in {@code previous}.
+     */
+    public void recordAll(List<Employee> previous, List<Employee> employees) {
+        if (!employees.isEmpty()) {
+            Map<UUID, Employee> previousById = previous.stream()
+                    .collect(Collectors.toMap(Employee::getId, Function.identity()));
+            outboxEventRepository.insert(employees.stream()
+                    .map(employee -> toEvent(previousById.get(employee.getId()), employee))
+                    .toList());
+            employees.forEach(employee -> eventPublisher.publishEvent(
+                    new EmployeeChangedEvent(employee.getId(), previousById.get(employee.getId()), employee)));
+        }
+    }
+
+    /**
+     * @param previous the deleted employee, {@code null} if it did not exist
+     */
+    public void recordDeletion(UUID employeeId, Employee previous) {
+        outboxEventRepository.insert(toDeletionEvent(employeeId, previous));
+        eventPublisher.publishEvent(new EmployeeChangedEvent(employeeId, previous, null));
+    }
+
+    public void recordDeletions(List<Employee> deleted) {
+        if (!deleted.isEmpty()) {
+            outboxEventRepository.insert(deleted.stream().map(employee -> toDeletionEvent(employee.getId(), employee)).toList());
+            deleted.forEach(employee -> eventPublisher.publishEvent(
+                    new EmployeeChangedEvent(employee.getId(), employee, null)));
+        }
+    }
+
+    /**
+     * @param previous the deleted employee, {@code null} if it did not exist
+     */
+    OutboxEvent toDeletionEvent(UUID employeeId, Employee previous) {
+        return OutboxEvent.builder()
+                .key(employeeId.toString())
+                .version(previous == null ? Long.MAX_VALUE : version(previous) + 1)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    /**
+     * @param previous the employee before the change, {@code null} if it was created
+     */
+    OutboxEvent toEvent(Employee previous, Employee employee) {
+        long version = version(employee);
+        boolean delta = eventMode == EmployeeEventType.DELTA && previous != null && version % snapshotEvery != 0;
+        try {
+            return OutboxEvent.builder()
+                    .key(employee.getId().toString())
+                    .payload(objectMapper.writeValueAsString(delta ? diff(previous, employee) : employee))
+                    .type(delta ? EmployeeEventType.DELTA : EmployeeEventType.SNAPSHOT)
+                    .version(version)
+                    .createdAt(Instant.now())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("could not serialize employee event", e);
+        }
+    }
+
+    /**
+     * Compares the employees as they are serialized, so the delta has the same field names and values as a snapshot.
+     */
+    private ObjectNode diff(Employee previous, Employee employee) {
+        ObjectNode before = objectMapper.valueToTree(previous);
+        ObjectNode after = objectMapper.valueToTree(employee);
+        ObjectNode delta = objectMapper.createObjectNode();
+        delta.set("id", after.get("id"));
+        delta.set("version", after.get("version"));
+        after.fields().forEachRemaining(field -> {
+            if (!field.getValue().equals(before.get(field.getKey()))) {
+                delta.set(field.getKey(), field.getValue());
+            }
+        });
+        return delta;
+    }
+
+    private static long version(Employee employee) {
+        return employee.getVersion() == null ? 0 : employee.getVersion();
+    }
+}
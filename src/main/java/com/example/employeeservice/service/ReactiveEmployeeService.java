@@ -0,0 +1,305 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.configuration.TransientTransactionRetryInterceptor;
+import com.example.employeeservice.dto.request.BulkDeleteEmployeesRequest;
+import com.example.employeeservice.dto.request.BulkUpdateEmployeesRequest;
+import com.example.employeeservice.dto.request.CreateEmployeeRequest;
+import com.example.employeeservice.dto.request.PatchEmployeeRequest;
+import com.example.employeeservice.dto.request.SearchEmployeesRequest;
+import com.example.employeeservice.dto.request.UpdateEmployeeRequest;
+import com.example.employeeservice.dto.response.BatchCreateEmployeeResponse;
+import com.example.employeeservice.dto.response.BulkOperationProgress;
+import com.example.employeeservice.dto.response.CreateEmployeeResponse;
+import com.example.employeeservice.dto.response.EmployeePageResponse;
+import com.example.employeeservice.exception.AlreadyExistException;
+import com.example.employeeservice.exception.BadRequestException;
+import com.example.employeeservice.exception.NotFoundException;
+import com.example.employeeservice.exception.PreconditionFailedException;
+import com.example.employeeservice.mapper.EmployeeMapper;
+import com.example.employeeservice.mapper.EmployeeUpdate;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeChangedEvent;
+import com.example.employeeservice.pagination.CursorCodec;
+import com.example.employeeservice.projection.EmployeeFields;
+import com.example.employeeservice.repository.EmployeeRepositoryCustomImpl;
+import com.example.employeeservice.repository.ReactiveEmployeeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.example.employeeservice.configuration.CacheConfiguration.EMPLOYEES_CACHE;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService} for the reactive stack. Reads and single-employee writes use
+ * the reactive driver; a write and its outbox event share a reactive transaction, and the cache eviction and
+ * {@link EmployeeChangedEvent} follow once it committed. The batch import, bulk changes, search and upcoming birthdays
+ * are rarely on the hot path and reuse the blocking services on the bounded elastic scheduler.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeService {
+
+    private final ReactiveEmployeeRepository employeeRepository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final TransactionalOperator transactionalOperator;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeService employeeService;
+    private final EmployeeBatchService employeeBatchService;
+    private final EmployeeBulkService employeeBulkService;
+    private final Cache cache;
+
+    @Value("${employee.pagination.default-page-size:50}")
+    private int defaultPageSize;
+    @Value("${employee.pagination.max-page-size:500}")
+    private int maxPageSize;
+    @Value("${employee.transactions.max-attempts:5}")
+    private int maxTransactionAttempts;
+
+    public ReactiveEmployeeService(ReactiveEmployeeRepository employeeRepository,
+                                   ReactiveMongoTemplate mongoTemplate,
+                                   TransactionalOperator transactionalOperator,
+                                   OutboxService outboxService,
+                                   ApplicationEventPublisher eventPublisher,
+                                   EmployeeService employeeService,
+                                   EmployeeBatchService employeeBatchService,
+                                   EmployeeBulkService employeeBulkService,
+                                   CacheManager cacheManager) {
+        this.employeeRepository = employeeRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.transactionalOperator = transactionalOperator;
+        this.outboxService = outboxService;
+        this.eventPublisher = eventPublisher;
+        this.employeeService = employeeService;
+        this.employeeBatchService = employeeBatchService;
+        this.employeeBulkService = employeeBulkService;
+        this.cache = Objects.requireNonNull(cacheManager.getCache(EMPLOYEES_CACHE));
+    }
+
+    public Mono<CreateEmployeeResponse> createEmployee(CreateEmployeeRequest request) {
+        return write(Mono.defer(() -> employeeRepository.insert(EmployeeMapper.updateEmployee(request)))
+                .map(employee -> new EmployeeChangedEvent(employee.getId(), null, employee)))
+                .map(EmployeeMapper::mapToCreateEmployeeResponse);
+    }
+
+    public Mono<BatchCreateEmployeeResponse> createEmployees(List<CreateEmployeeRequest> requests) {
+        return Mono.fromCallable(() -> employeeBatchService.createEmployees(requests))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Flux<BulkOperationProgress> updateEmployees(BulkUpdateEmployeesRequest request) {
+        return Mono.fromCallable(() -> employeeBulkService.prepareUpdate(request))
+                .flatMapMany(ReactiveEmployeeService::run);
+    }
+
+    public Flux<BulkOperationProgress> deleteEmployees(BulkDeleteEmployeesRequest request) {
+        return Mono.fromCallable(() -> employeeBulkService.prepareDelete(request))
+                .flatMapMany(ReactiveEmployeeService::run);
+    }
+
+    public Mono<EmployeePageResponse> getEmployees(String cursor, Integer size, EmployeeFields fields) {
+        return Mono.fromCallable(() -> resolvePageSize(size))
+                .flatMap(pageSize -> {
+                    // one extra employee tells whether there is a next page
+                    Pageable pageable = PageRequest.of(0, pageSize + 1, Sort.by(Sort.Direction.ASC, "id"));
+                    Flux<Employee> employees = cursor == null
+                            ? findPage(null, pageable, fields)
+                            : Mono.fromCallable(() -> CursorCodec.decode(cursor))
+                            .flatMapMany(lastId -> findPage(lastId, pageable, fields));
+                    return employees.collectList().map(page -> toPageResponse(page, pageSize));
+                });
+    }
+
+    public Mono<EmployeePageResponse> searchEmployees(SearchEmployeesRequest request, String cursor, Integer size,
+                                                      EmployeeFields fields) {
+        return Mono.fromCallable(() -> employeeService.searchEmployees(request, cursor, size, fields))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Mono<EmployeePageResponse> getUpcomingBirthdays(int withinDays, LocalDate from, String cursor, Integer size,
+                                                           EmployeeFields fields) {
+        return Mono.fromCallable(() -> employeeService.getUpcomingBirthdays(withinDays, from, cursor, size, fields))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public Flux<Employee> exportEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    public Mono<Employee> getEmployeeById(UUID employeeId) {
+        return Mono.defer(() -> {
+            Employee cached = cache.get(employeeId, Employee.class);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return employeeRepository.findById(employeeId)
+                    .doOnNext(employee -> cache.put(employeeId, employee))
+                    .switchIfEmpty(Mono.error(ReactiveEmployeeService::employeeNotFound));
+        });
+    }
+
+    /**
+     * Reads only the selected fields, bypassing the cache unless every field is selected.
+     */
+    public Mono<Employee> getEmployeeById(UUID employeeId, EmployeeFields fields) {
+        if (fields.isAll()) {
+            return getEmployeeById(employeeId);
+        }
+        return mongoTemplate.findOne(fields.applyTo(Query.query(Criteria.where("id").is(employeeId))), Employee.class)
+                .switchIfEmpty(Mono.error(ReactiveEmployeeService::employeeNotFound));
+    }
+
+    public Mono<Employee> updateEmployee(UUID employeeId, UpdateEmployeeRequest request, Long expectedVersion) {
+        return write(modify(employeeId, EmployeeMapper.mapToUpdate(request), expectedVersion));
+    }
+
+    public Mono<Employee> patchEmployee(UUID employeeId, PatchEmployeeRequest request, Long expectedVersion) {
+        if (request.getHobbies() != null && request.getAddHobbies() != null) {
+            return Mono.error(new BadRequestException("hobbies and addHobbies cannot be combined", 400));
+        }
+        EmployeeUpdate update = EmployeeMapper.mapToUpdate(request);
+        if (update.getUpdateObject().isEmpty()) {
+            return Mono.error(new BadRequestException("No fields to update", 400));
+        }
+
+        return write(modify(employeeId, update, expectedVersion));
+    }
+
+    public Mono<Void> deleteEmployee(UUID employeeId, Long expectedVersion) {
+        Mono<Employee> delete = mongoTemplate.findAndRemove(
+                EmployeeRepositoryCustomImpl.byIdAndVersion(employeeId, expectedVersion), Employee.class);
+        if (expectedVersion != null) {
+            delete = delete.switchIfEmpty(Mono.error(ReactiveEmployeeService::versionMismatch));
+        }
+        return transactionalOperator.transactional(delete
+                        .map(previous -> new EmployeeChangedEvent(employeeId, previous, null))
+                        .defaultIfEmpty(new EmployeeChangedEvent(employeeId, null, null))
+                        .flatMap(change -> mongoTemplate.insert(outboxService.toDeletionEvent(employeeId, change.previous())).thenReturn(change)))
+                .retryWhen(retryTransientTransactionErrors())
+                .doOnNext(this::committed)
+                .then();
+    }
+
+    /**
+     * Updates the employee and returns the version it replaced in the same round trip; the new state follows from
+     * applying the update to it. Only if nothing was updated is the employee looked up, to tell a missing employee
+     * from a version mismatch.
+     */
+    private Mono<EmployeeChangedEvent> modify(UUID employeeId, EmployeeUpdate update, Long expectedVersion) {
+        return mongoTemplate.findAndModify(
+                        EmployeeRepositoryCustomImpl.byIdAndVersion(employeeId, expectedVersion),
+                        update,
+                        FindAndModifyOptions.options().returnNew(false),
+                        Employee.class)
+                .map(previous -> new EmployeeChangedEvent(employeeId, previous, update.applyTo(previous)))
+                .switchIfEmpty(Mono.defer(() -> expectedVersion == null
+                        ? Mono.error(employeeNotFound())
+                        : employeeRepository.existsById(employeeId).flatMap(exists ->
+                                Mono.error(exists ? versionMismatch() : employeeNotFound()))));
+    }
+
+    /**
+     * Runs the change and records its outbox event in one transaction.
+     */
+    private Mono<Employee> write(Mono<EmployeeChangedEvent> change) {
+        return transactionalOperator.transactional(change.flatMap(event ->
+                        mongoTemplate.insert(outboxService.toEvent(event.previous(), event.employee())).thenReturn(event)))
+                .retryWhen(retryTransientTransactionErrors())
+                .onErrorMap(DuplicateKeyException.class, e -> emailAlreadyExists())
+                .doOnNext(this::committed)
+                .map(EmployeeChangedEvent::employee);
+    }
+
+    /**
+     * Runs the transaction again, in a new one, when MongoDB aborted it with a transient error such as a write
+     * conflict with a concurrent write, the way {@link TransientTransactionRetryInterceptor} does on the servlet stack.
+     */
+    private Retry retryTransientTransactionErrors() {
+        return Retry.backoff(maxTransactionAttempts - 1, Duration.ofMillis(TransientTransactionRetryInterceptor.BACKOFF_MILLIS))
+                .filter(TransientTransactionRetryInterceptor::isTransient)
+                .onRetryExhaustedThrow((spec, signal) -> new ConcurrencyFailureException(
+                        "Transaction failed " + (signal.totalRetries() + 1) + " times", signal.failure()));
+    }
+
+    /**
+     * Runs the operation on the bounded elastic scheduler. A slow client only gets the latest progress, and one that
+     * cancels gets none while the operation carries on.
+     */
+    private static Flux<BulkOperationProgress> run(BulkOperation operation) {
+        return Flux.<BulkOperationProgress>create(sink -> {
+                    operation.run(sink::next);
+                    sink.complete();
+                }, FluxSink.OverflowStrategy.LATEST)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Flux<Employee> findPage(UUID after, Pageable pageable, EmployeeFields fields) {
+        if (fields.isAll()) {
+            return after == null
+                    ? employeeRepository.findAllBy(pageable)
+                    : employeeRepository.findByIdGreaterThan(after, pageable);
+        }
+        Query query = after == null ? new Query() : Query.query(Criteria.where("id").gt(after));
+        return mongoTemplate.find(fields.applyTo(query.with(pageable)), Employee.class);
+    }
+
+    private void committed(EmployeeChangedEvent change) {
+        cache.evict(change.employeeId());
+        eventPublisher.publishEvent(change);
+    }
+
+    private static EmployeePageResponse toPageResponse(List<Employee> employees, int pageSize) {
+        boolean hasNext = employees.size() > pageSize;
+        List<Employee> items = hasNext ? employees.subList(0, pageSize) : employees;
+        return EmployeePageResponse.builder()
+                .items(items)
+                .nextCursor(hasNext ? CursorCodec.encode(items.get(items.size() - 1).getId()) : null)
+                .build();
+    }
+
+    private static NotFoundException employeeNotFound() {
+        return new NotFoundException("Employee not found", 404);
+    }
+
+    private static PreconditionFailedException versionMismatch() {
+        return new PreconditionFailedException("Employee has been modified since the given version", 412);
+    }
+
+    private static AlreadyExistException emailAlreadyExists() {
+        return new AlreadyExistException("Employee with the same email already exists", 400);
+    }
+
+    private int resolvePageSize(Integer size) throws BadRequestException {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive", 400);
+        }
+        return Math.min(size, maxPageSize);
+    }
+}
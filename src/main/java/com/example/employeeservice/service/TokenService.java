@@ -0,0 +1,47 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.dto.response.TokenResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "employee.security.token.enabled", havingValue = "true")
+public class TokenService {
+
+    static final String ISSUER = "employee-service";
+
+    private final JwtEncoder jwtEncoder;
+
+    @Value("${employee.security.token.ttl:15m}")
+    private Duration ttl;
+
+    public TokenResponse issueToken(Authentication authentication) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
+                .subject(authentication.getName())
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .build();
+        String token = jwtEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+                .getTokenValue();
+
+        return TokenResponse.builder()
+                .accessToken(token)
+                .tokenType("Bearer")
+                .expiresIn(ttl.toSeconds())
+                .build();
+    }
+}
@@ -0,0 +1,332 @@
+package com.example.employeeservice.stats;
+
+import com.example.employeeservice.dto.response.EmployeeStatsResponse;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeChangedEvent;
+import com.example.employeeservice.model.EmployeeStatsCounter;
+import com.example.employeeservice.repository.EmployeeStatsRepository;
+import com.example.employeeservice.repository.inmemory.InMemoryEmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Employee statistics kept as materialized counters in the {@code employee_stats} collection, so that reading them
+ * costs the same however many employees there are. Every committed change adds its delta to pending counts in
+ * memory; these are flushed with one bulk {@code $inc} every {@code employee.stats.flush-interval}, which keeps the
+ * hot counters out of the employee transactions and merges the deltas of many changes into one write. A flush that
+ * fails is repeated under the same flush id before any newer deltas are written, so a flush that did commit before
+ * its acknowledgement was lost is not counted twice.
+ * <p>
+ * Reads are served from the counters as of the last flush plus the pending deltas of this instance, so an instance
+ * sees its own changes at once and those of other instances after their next flush. Deltas pending when an instance
+ * dies are lost until {@link EmployeeStatsRebuild} runs. While it runs here, new deltas are held behind a {@link Fence}
+ * rather than flushed, and only those it did not count are flushed after it.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "employee.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeStats {
+
+    static final String TOTAL = "total";
+    static final String HOBBY = "hobby:";
+    static final String BIRTH_MONTH = "birthMonth:";
+
+    private static final Comparator<Map.Entry<String, Long>> BY_POPULARITY = Map.Entry.<String, Long>comparingByValue()
+            .reversed()
+            .thenComparing(Map.Entry.comparingByKey());
+
+    private final EmployeeStatsRepository employeeStatsRepository;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, AtomicLong> pending = new ConcurrentHashMap<>();
+    private long flushSequence;
+    private volatile Map<String, Long> flushing = Map.of();
+    private volatile Map<String, Long> counters = Map.of();
+    private volatile Fence fence;
+    // keeps a change from going to pending while a fence is raised, after pending was flushed for it
+    private final ReadWriteLock fenceLock = new ReentrantReadWriteLock();
+
+    public EmployeeStatsResponse getStats(int hobbyLimit) {
+        Map<String, Long> counts = new HashMap<>(counters);
+        flushing.forEach((id, delta) -> counts.merge(id, delta, Long::sum));
+        pending.forEach((id, delta) -> counts.merge(id, delta.get(), Long::sum));
+        Fence raised = fence;
+        if (raised != null) {
+            raised.deltas().forEach((id, delta) -> counts.merge(id, delta, Long::sum));
+        }
+
+        Map<Month, Long> birthMonths = new EnumMap<>(Month.class);
+        for (Month month : Month.values()) {
+            birthMonths.put(month, Math.max(0, counts.getOrDefault(BIRTH_MONTH + month.getValue(), 0L)));
+        }
+        Map<String, Long> hobbies = counts.entrySet().stream()
+                .filter(counter -> counter.getKey().startsWith(HOBBY) && counter.getValue() > 0)
+                .sorted(BY_POPULARITY)
+                .limit(hobbyLimit)
+                .collect(Collectors.toMap(
+                        counter -> counter.getKey().substring(HOBBY.length()),
+                        Map.Entry::getValue,
+                        (first, second) -> first,
+                        LinkedHashMap::new));
+
+        return EmployeeStatsResponse.builder()
+                .total(Math.max(0, counts.getOrDefault(TOTAL, 0L)))
+                .hobbies(hobbies)
+                .birthMonths(birthMonths)
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        Map<String, Long> delta = delta(event.previous(), event.employee());
+        if (delta.isEmpty()) {
+            return;
+        }
+        fenceLock.readLock().lock();
+        try {
+            if (fence != null) {
+                fence.hold(event);
+            } else {
+                addPending(delta);
+            }
+        } finally {
+            fenceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the pending deltas and reloads the counters, which also picks up the deltas of other instances. Deltas
+     * that could not be written are written again, and alone, by the next flush.
+     */
+    @Scheduled(fixedDelayString = "${employee.stats.flush-interval:PT1S}")
+    public synchronized void flush() {
+        if (write()) {
+            reload();
+        }
+    }
+
+    /**
+     * Raises a fence for a rebuild about to read the employees. Every change whose delta is pending committed before
+     * that, so the rebuild counts it; the pending deltas are written first so that it overwrites them rather than
+     * having them added on top.
+     *
+     * @param recentReads how many of the last employees read to remember, see {@link Fence}
+     * @throws IllegalStateException if the pending deltas could not be written
+     */
+    synchronized Fence fence(int recentReads) {
+        Fence raised = new Fence(recentReads);
+        fenceLock.writeLock().lock();
+        try {
+            fence = raised;
+        } finally {
+            fenceLock.writeLock().unlock();
+        }
+        // the first write may only have repeated a failed flush
+        if (!write() || !write()) {
+            lower(raised, false);
+            throw new IllegalStateException("could not flush the pending employee stats before rebuilding them");
+        }
+        return raised;
+    }
+
+    /**
+     * Lowers the fence after a rebuild, keeping for the next flush the deltas it held that the rebuilt counters do not
+     * include, or all of them if the counters were not replaced, and reloads the counters.
+     */
+    synchronized void lower(Fence raised, boolean replaced) {
+        fenceLock.writeLock().lock();
+        try {
+            fence = null;
+        } finally {
+            fenceLock.writeLock().unlock();
+        }
+        addPending(replaced ? raised.excluded() : raised.deltas());
+        reload();
+    }
+
+    /**
+     * Loads the counters at startup when they need no rebuild.
+     */
+    synchronized void load() {
+        reload();
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Writes the deltas of the last flush again if it failed, or else the pending deltas under a new flush id.
+     */
+    private boolean write() {
+        if (flushing.isEmpty()) {
+            Map<String, Long> deltas = new HashMap<>();
+            pending.forEach((id, delta) -> {
+                long value = delta.getAndSet(0);
+                if (value != 0) {
+                    deltas.put(id, value);
+                }
+            });
+            flushing = deltas;
+            flushSequence++;
+        }
+        try {
+            employeeStatsRepository.increment(instanceId + ":" + flushSequence, flushing);
+        } catch (RuntimeException e) {
+            log.warn("could not flush {} employee stats counters, retrying on the next flush", flushing.size(), e);
+            return false;
+        }
+        Map<String, Long> flushed = new HashMap<>(counters);
+        flushing.forEach((id, delta) -> flushed.merge(id, delta, Long::sum));
+        counters = flushed;
+        flushing = Map.of();
+        return true;
+    }
+
+    private void addPending(Map<String, Long> deltas) {
+        deltas.forEach((id, delta) -> pending.computeIfAbsent(id, key -> new AtomicLong()).addAndGet(delta));
+    }
+
+    private void reload() {
+        try {
+            counters = employeeStatsRepository.findAll().stream()
+                    .collect(Collectors.toMap(EmployeeStatsCounter::getId, EmployeeStatsCounter::getCount));
+        } catch (RuntimeException e) {
+            log.warn("could not reload the employee stats counters", e);
+        }
+    }
+
+    /**
+     * Counters to move when an employee changes from {@code previous} to {@code employee}, either of which is
+     * {@code null} if it does not exist. Counters the change does not move are left out.
+     */
+    static Map<String, Long> delta(Employee previous, Employee employee) {
+        Map<String, Long> delta = new HashMap<>();
+        counters(employee).forEach(id -> delta.merge(id, 1L, Long::sum));
+        counters(previous).forEach(id -> delta.merge(id, -1L, Long::sum));
+        delta.values().removeIf(value -> value == 0);
+        return delta;
+    }
+
+    /**
+     * Counters that include the employee: the total, each distinct hobby and the birth month.
+     */
+    static List<String> counters(Employee employee) {
+        if (employee == null) {
+            return List.of();
+        }
+        List<String> counters = new ArrayList<>();
+        counters.add(TOTAL);
+        if (employee.getHobbies() != null) {
+            employee.getHobbies().stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .forEach(hobby -> counters.add(HOBBY + hobby));
+        }
+        if (employee.getBirthday() != null) {
+            counters.add(BIRTH_MONTH + employee.getBirthday().getMonthValue());
+        }
+        return counters;
+    }
+
+    /**
+     * Holds the deltas of this instance while a rebuild reads the employees in id order, and sorts them by whether the
+     * rebuilt counters include their change. A change is included if the rebuild read the employee after it
+     * committed: the version read is then at least that of the change, or the employee was not found if the change
+     * deleted it. The change of an employee not read yet waits for the read; the change of an employee already read
+     * is compared with the version read if that was among the last {@code recentReads}, and is not included otherwise.
+     * A deletion committed just before the rebuild went past the employee, whose event arrives only after that, is
+     * therefore counted twice until the next rebuild.
+     */
+    static final class Fence {
+
+        private final Map<UUID, Long> recentReads;
+        private final Map<UUID, List<EmployeeChangedEvent>> unread = new HashMap<>();
+        private final Map<String, Long> included = new HashMap<>();
+        private final Map<String, Long> excluded = new HashMap<>();
+        private UUID position;
+        private boolean finished;
+
+        Fence(int recentReads) {
+            this.recentReads = new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+                    return size() > recentReads;
+                }
+            };
+        }
+
+        synchronized void read(Employee employee) {
+            long version = version(employee);
+            position = employee.getId();
+            recentReads.put(position, version);
+            List<EmployeeChangedEvent> changes = unread.remove(position);
+            if (changes != null) {
+                changes.forEach(change -> settle(change, !change.isDeletion() && version(change.employee()) <= version));
+            }
+        }
+
+        /**
+         * Called once all employees were read; the changes still waiting were made to employees the rebuild did not
+         * find, which only includes deletions.
+         */
+        synchronized void finish() {
+            finished = true;
+            unread.values().forEach(changes -> changes.forEach(change -> settle(change, change.isDeletion())));
+            unread.clear();
+        }
+
+        synchronized void hold(EmployeeChangedEvent change) {
+            UUID id = change.employeeId();
+            if (!finished && (position == null || InMemoryEmployeeRepository.MONGO_UUID_ORDER.compare(position, id) < 0)) {
+                unread.computeIfAbsent(id, key -> new ArrayList<>()).add(change);
+                return;
+            }
+            Long version = recentReads.get(id);
+            settle(change, version != null && !change.isDeletion() && version(change.employee()) <= version);
+        }
+
+        synchronized Map<String, Long> deltas() {
+            Map<String, Long> deltas = new HashMap<>(included);
+            excluded.forEach((id, delta) -> deltas.merge(id, delta, Long::sum));
+            unread.values().forEach(changes -> changes.forEach(change ->
+                    delta(change.previous(), change.employee()).forEach((id, delta) -> deltas.merge(id, delta, Long::sum))));
+            return deltas;
+        }
+
+        synchronized Map<String, Long> excluded() {
+            return new HashMap<>(excluded);
+        }
+
+        private void settle(EmployeeChangedEvent change, boolean isIncluded) {
+            delta(change.previous(), change.employee())
+                    .forEach((id, delta) -> (isIncluded ? included : excluded).merge(id, delta, Long::sum));
+        }
+
+        private static long version(Employee employee) {
+            return employee.getVersion() == null ? 0 : employee.getVersion();
+        }
+    }
+}
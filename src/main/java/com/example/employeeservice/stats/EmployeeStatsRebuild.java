@@ -0,0 +1,113 @@
+package com.example.employeeservice.stats;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.repository.EmployeeRepository;
+import com.example.employeeservice.repository.EmployeeStatsRepository;
+import com.example.employeeservice.service.MongoLease;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Recomputes the stats counters from a cursor over all employees, on {@code employee.stats.rebuild.cron} and at
+ * startup if there are no counters yet. It repairs the deltas lost when an instance died before flushing them. Only
+ * the replica holding the rebuild lease runs it, and that replica fences its own deltas meanwhile so that those the
+ * new counters include are not added on top. Changes that other replicas flush while it runs may still be counted
+ * twice or not at all until the next rebuild, so schedule it when writes are quiet.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(value = "employee.stats.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeStatsRebuild {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeStatsRepository employeeStatsRepository;
+    private final EmployeeStats employeeStats;
+    private final MongoLease lease;
+
+    @Value("${employee.stats.rebuild.batch-size:1000}")
+    private int batchSize;
+    @Value("${employee.stats.rebuild.lease-duration:60s}")
+    private Duration leaseDuration;
+
+    @Autowired
+    public EmployeeStatsRebuild(EmployeeRepository employeeRepository,
+                                EmployeeStatsRepository employeeStatsRepository,
+                                EmployeeStats employeeStats,
+                                ObjectProvider<MongoTemplate> mongoTemplate) {
+        this(employeeRepository, employeeStatsRepository, employeeStats, mongoTemplate.getIfAvailable());
+    }
+
+    /**
+     * @param mongoTemplate null in the in-memory profile, which runs a single instance that needs no lease
+     */
+    public EmployeeStatsRebuild(EmployeeRepository employeeRepository,
+                                EmployeeStatsRepository employeeStatsRepository,
+                                EmployeeStats employeeStats,
+                                MongoTemplate mongoTemplate) {
+        this.employeeRepository = employeeRepository;
+        this.employeeStatsRepository = employeeStatsRepository;
+        this.employeeStats = employeeStats;
+        this.lease = new MongoLease(mongoTemplate, "stats-rebuild");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        if (employeeStatsRepository.count() == 0) {
+            rebuild();
+        } else {
+            employeeStats.load();
+        }
+    }
+
+    /**
+     * The lease is renewed after every batch read, so it must outlast reading a batch, and the write of the counters
+     * after the last one.
+     */
+    @Scheduled(cron = "${employee.stats.rebuild.cron:0 30 3 * * *}")
+    public void rebuild() {
+        if (!lease.acquire(leaseDuration)) {
+            log.info("Skipping the employee stats rebuild, another replica holds its lease");
+            return;
+        }
+        long start = System.nanoTime();
+        EmployeeStats.Fence fence = employeeStats.fence(batchSize);
+        boolean replaced = false;
+        try {
+            Map<String, Long> counts = new HashMap<>();
+            counts.put(EmployeeStats.TOTAL, 0L);
+            long read = 0;
+            try (Stream<Employee> employees = employeeRepository.streamAll(batchSize)) {
+                for (Iterator<Employee> iterator = employees.iterator(); iterator.hasNext(); ) {
+                    Employee employee = iterator.next();
+                    fence.read(employee);
+                    EmployeeStats.counters(employee).forEach(id -> counts.merge(id, 1L, Long::sum));
+                    if (++read % batchSize == 0 && !lease.acquire(leaseDuration)) {
+                        log.warn("Lost the employee stats rebuild lease after {} employees, leaving the counters as they were", read);
+                        return;
+                    }
+                }
+            }
+            fence.finish();
+            employeeStatsRepository.replaceAll(counts);
+            replaced = true;
+            log.info("Rebuilt {} employee stats counters over {} employees in {} ms",
+                    counts.size(), counts.get(EmployeeStats.TOTAL), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            employeeStats.lower(fence, replaced);
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package com.example.employeeservice.suggest;
+
+import com.example.employeeservice.dto.response.EmployeeSuggestion;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over employee names and emails for typeahead. Every name word, every word of the email's
+ * local part and the whole email is a term in a sorted map, so the terms starting with a query word are one
+ * contiguous range. Domain words are left out: nearly every employee shares them, so they would only make postings
+ * huge. Each term points to a posting that grows in place, so adding an employee does not copy the ones before it.
+ * <p>
+ * One- and two-letter words match too many employees to rank on every keystroke, so at least the best
+ * {@code employee.suggest.max-limit} employees for each such prefix are kept ranked as the index changes. Other
+ * queries rank the employees with a term starting with their longest word, examining at most
+ * {@code employee.suggest.max-scan} of them.
+ * <p>
+ * Reads take no lock. Writes are serialized; they fill posting slots past the size readers know and replace the
+ * arrays they remove from. An employee is only replaced by a newer version, so this instance's own changes and the
+ * events of all instances on the topic may arrive in any order, and one deleted here stays deleted for older versions
+ * until its tombstone comes by. While the index is being loaded from Mongo, live changes win over the snapshot being
+ * loaded.
+ */
+@Component
+@ConditionalOnProperty(value = "employee.suggest.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeSuggestIndex {
+
+    private static final int SHORT_PREFIX_LENGTH = 2;
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final Ranked NONE_RANKED = new Ranked(NO_ENTRIES, true);
+    private static final Comparator<Entry> BY_NAME = Comparator
+            .comparingInt((Entry entry) -> entry.normalizedName().length())
+            .thenComparing(Entry::normalizedName)
+            .thenComparing(Entry::id);
+
+    // rough JVM object sizes with compressed oops, used for the memory estimate
+    private static final long ENTRY_BYTES = 32 + 32 + 48;
+    private static final long TERM_BYTES = 48 + 40 + 16;
+    private static final long ID_REFERENCE_BYTES = 4;
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Posting> postings = new ConcurrentSkipListMap<>();
+    private final Map<String, Ranked> bestByShortPrefix = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> deletedVersions = new HashMap<>();
+    private final Set<UUID> removedWhileLoading = new HashSet<>();
+    private boolean loading;
+    private volatile long estimatedBytes;
+
+    @Value("${employee.suggest.max-limit:50}")
+    private int maxLimit;
+    @Value("${employee.suggest.max-scan:10000}")
+    private int maxScan;
+
+    public EmployeeSuggestIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("employee.suggest.employees", entries, Map::size)
+                .description("Employees in the suggest index")
+                .register(meterRegistry);
+        Gauge.builder("employee.suggest.terms", postings, Map::size)
+                .description("Distinct terms in the suggest index")
+                .register(meterRegistry);
+        Gauge.builder("employee.suggest.memory", this, index -> index.estimatedBytes)
+                .description("Estimated heap used by the suggest index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns up to {@code limit} employees that have, for every word of the query, a name word, a word of the
+     * email's local part or the whole email starting with it. Employees whose full name or email starts with the
+     * whole query rank first, then shorter names.
+     */
+    public List<EmployeeSuggestion> suggest(String query, int limit) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            return List.of();
+        }
+        String[] words = normalizedQuery.split("\\s+");
+        if (words.length == 1 && normalizedQuery.length() <= SHORT_PREFIX_LENGTH && limit <= maxLimit) {
+            return Arrays.stream(bestByShortPrefix.getOrDefault(normalizedQuery, NONE_RANKED).entries())
+                    .limit(limit)
+                    .map(Entry::toSuggestion)
+                    .toList();
+        }
+        String driver = Arrays.stream(words).max(Comparator.comparingInt(String::length)).orElseThrow();
+        return Arrays.stream(best(driver, entry -> entry.matchesAll(words), ranking(normalizedQuery), limit, maxScan))
+                .map(Entry::toSuggestion)
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!event.isDeletion()) {
+            put(event.employee());
+        } else if (event.previous() != null) {
+            remove(event.employeeId(), version(event.previous()));
+        }
+    }
+
+    /**
+     * Indexes the employee unless the same or a newer version is indexed or was deleted here.
+     */
+    public synchronized void put(Employee employee) {
+        Entry entry = Entry.of(employee);
+        Entry previous = entries.get(entry.id());
+        Long deletedVersion = deletedVersions.get(entry.id());
+        if (previous != null && entry.version() <= previous.version()
+                || deletedVersion != null && entry.version() <= deletedVersion) {
+            return;
+        }
+        removedWhileLoading.remove(entry.id());
+        if (previous != null && previous.hasSameText(entry)) {
+            // most changes touch neither name nor email, and the terms and rankings stay as they are
+            entries.put(entry.id(), entry);
+            return;
+        }
+        if (previous != null) {
+            unindex(previous);
+        }
+        index(entry);
+    }
+
+    /**
+     * Applies a tombstone from the topic, which comes after every other event of the employee.
+     */
+    public synchronized void remove(UUID employeeId) {
+        deletedVersions.remove(employeeId);
+        unindex(employeeId);
+    }
+
+    private synchronized void remove(UUID employeeId, long deletedVersion) {
+        deletedVersions.put(employeeId, deletedVersion);
+        unindex(employeeId);
+    }
+
+    private void unindex(UUID employeeId) {
+        if (loading) {
+            removedWhileLoading.add(employeeId);
+        }
+        Entry previous = entries.get(employeeId);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    /**
+     * Adds a snapshot of all employees. Employees changed or removed through {@link #put} or {@link #remove} while
+     * the snapshot is read keep their newer state.
+     */
+    public void load(Stream<Employee> employees) {
+        synchronized (this) {
+            loading = true;
+        }
+        try {
+            employees.forEach(employee -> {
+                synchronized (this) {
+                    if (!entries.containsKey(employee.getId()) && !removedWhileLoading.contains(employee.getId())) {
+                        index(Entry.of(employee));
+                    }
+                }
+            });
+        } finally {
+            synchronized (this) {
+                loading = false;
+                removedWhileLoading.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the indexed id, name, email and version of the employee, the base a {@code DELTA} event is applied to.
+     */
+    public Optional<Employee> find(UUID employeeId) {
+        return Optional.ofNullable(entries.get(employeeId)).map(Entry::toEmployee);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void index(Entry entry) {
+        entries.put(entry.id(), entry);
+        Set<String> terms = entry.terms();
+        long bytes = ENTRY_BYTES + 2L * (entry.fullName().length() + entry.email().length());
+        for (String term : terms) {
+            Posting posting = postings.get(term);
+            if (posting == null) {
+                posting = new Posting();
+                postings.put(term, posting);
+                bytes += TERM_BYTES + term.length();
+            }
+            posting.add(entry);
+            bytes += ID_REFERENCE_BYTES;
+        }
+        for (String prefix : shortPrefixes(terms)) {
+            Ranked best = bestByShortPrefix.getOrDefault(prefix, NONE_RANKED);
+            Ranked updated = best.with(entry, ranking(prefix), 2 * maxLimit);
+            if (updated != best) {
+                bestByShortPrefix.put(prefix, updated);
+            }
+        }
+        estimatedBytes += bytes;
+    }
+
+    private void unindex(Entry entry) {
+        entries.remove(entry.id());
+        Set<String> terms = entry.terms();
+        long bytes = ENTRY_BYTES + 2L * (entry.fullName().length() + entry.email().length());
+        for (String term : terms) {
+            Posting posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(entry.id());
+            if (posting.size() == 0) {
+                postings.remove(term);
+                bytes += TERM_BYTES + term.length();
+            }
+            bytes += ID_REFERENCE_BYTES;
+        }
+        for (String prefix : shortPrefixes(terms)) {
+            Ranked best = bestByShortPrefix.get(prefix);
+            if (best == null) {
+                continue;
+            }
+            Ranked updated = best.without(entry.id());
+            if (!updated.complete() && updated.entries().length < maxLimit) {
+                // the employees that move up have to be found among all with the prefix, once per maxLimit removals
+                int capacity = 2 * maxLimit;
+                Entry[] ranked = best(prefix, candidate -> true, ranking(prefix), capacity + 1, Integer.MAX_VALUE);
+                updated = ranked.length <= capacity
+                        ? new Ranked(ranked, true)
+                        : new Ranked(Arrays.copyOf(ranked, capacity), false);
+            }
+            if (updated.entries().length == 0) {
+                bestByShortPrefix.remove(prefix);
+            } else if (updated != best) {
+                bestByShortPrefix.put(prefix, updated);
+            }
+        }
+        estimatedBytes -= bytes;
+    }
+
+    /**
+     * Ranks the employees with a term starting with {@code prefix} that pass the filter, examining at most
+     * {@code maxExamined} of them and keeping only the best {@code limit} in a heap while collecting.
+     */
+    private Entry[] best(String prefix, Predicate<Entry> filter, Comparator<Entry> ranking, int limit,
+                         int maxExamined) {
+        PriorityQueue<Entry> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+        int examined = 0;
+        collect:
+        for (Posting posting : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            int size = posting.size();
+            Entry[] ranked = posting.entries();
+            for (int i = 0; i < size; i++) {
+                if (examined++ >= maxExamined) {
+                    break collect;
+                }
+                Entry entry = ranked[i];
+                // an employee with several terms in the range comes by once per term
+                if (entry != null && (best.size() < limit || ranking.compare(entry, best.peek()) < 0)
+                        && filter.test(entry)
+                        && best.stream().noneMatch(collected -> collected.id().equals(entry.id()))) {
+                    best.offer(entry);
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+        Entry[] sorted = best.toArray(NO_ENTRIES);
+        Arrays.sort(sorted, ranking);
+        return sorted;
+    }
+
+    private static Set<String> shortPrefixes(Set<String> terms) {
+        Set<String> prefixes = new HashSet<>();
+        for (String term : terms) {
+            for (int length = 1; length <= Math.min(SHORT_PREFIX_LENGTH, term.length()); length++) {
+                prefixes.add(term.substring(0, length));
+            }
+        }
+        return prefixes;
+    }
+
+    private static Comparator<Entry> ranking(String normalizedQuery) {
+        return Comparator.comparingInt((Entry entry) -> rank(entry, normalizedQuery)).thenComparing(BY_NAME);
+    }
+
+    private static long version(Employee employee) {
+        return employee.getVersion() == null ? 0 : employee.getVersion();
+    }
+
+    private static int rank(Entry entry, String normalizedQuery) {
+        if (entry.normalizedName().startsWith(normalizedQuery)) {
+            return 0;
+        }
+        if (entry.normalizedEmail().startsWith(normalizedQuery)) {
+            return 1;
+        }
+        return 2;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(UUID id, String fullName, String email, String normalizedName, String normalizedEmail,
+                         long version) {
+
+        static Entry of(Employee employee) {
+            String fullName = Objects.requireNonNullElse(employee.getFullName(), "");
+            String email = Objects.requireNonNullElse(employee.getEmail(), "");
+            return new Entry(employee.getId(), fullName, email, normalize(fullName), normalize(email),
+                    EmployeeSuggestIndex.version(employee));
+        }
+
+        Set<String> terms() {
+            Set<String> terms = new LinkedHashSet<>();
+            addWords(terms, normalizedName);
+            addWords(terms, localPart());
+            if (!normalizedEmail.isEmpty()) {
+                terms.add(normalizedEmail);
+            }
+            return terms;
+        }
+
+        /**
+         * Whether every word starts one of the {@link #terms()}.
+         */
+        boolean matchesAll(String[] words) {
+            for (String word : words) {
+                if (!normalizedEmail.startsWith(word)
+                        && !hasWordStartingWith(normalizedName, word)
+                        && !hasWordStartingWith(localPart(), word)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean hasSameText(Entry other) {
+            return fullName.equals(other.fullName) && email.equals(other.email);
+        }
+
+        private String localPart() {
+            int at = normalizedEmail.lastIndexOf('@');
+            return at < 0 ? normalizedEmail : normalizedEmail.substring(0, at);
+        }
+
+        Employee toEmployee() {
+            return Employee.builder()
+                    .id(id)
+                    .fullName(fullName)
+                    .email(email)
+                    .version(version)
+                    .build();
+        }
+
+        EmployeeSuggestion toSuggestion() {
+            return EmployeeSuggestion.builder()
+                    .id(id)
+                    .fullName(fullName)
+                    .email(email)
+                    .build();
+        }
+
+        private static boolean hasWordStartingWith(String value, String prefix) {
+            for (int i = value.indexOf(prefix); i >= 0; i = value.indexOf(prefix, i + 1)) {
+                if (i == 0 || !Character.isLetterOrDigit(value.charAt(i - 1))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static void addWords(Set<String> terms, String value) {
+            for (String word : value.split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    terms.add(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * The best employees for a short prefix in ranking order. Unless it is complete, every employee with the prefix
+     * that is not in it ranks after the last one, so it can serve {@code limit}s up to its length.
+     */
+    private record Ranked(Entry[] entries, boolean complete) {
+
+        Ranked with(Entry entry, Comparator<Entry> ranking, int capacity) {
+            if (capacity == 0) {
+                return this;
+            }
+            if (!complete && ranking.compare(entry, entries[entries.length - 1]) > 0) {
+                return this;
+            }
+            if (entries.length == capacity && ranking.compare(entry, entries[capacity - 1]) > 0) {
+                return new Ranked(entries, false);
+            }
+            int position = -Arrays.binarySearch(entries, entry, ranking) - 1;
+            Entry[] updated = new Entry[Math.min(entries.length + 1, capacity)];
+            System.arraycopy(entries, 0, updated, 0, position);
+            updated[position] = entry;
+            System.arraycopy(entries, position, updated, position + 1, updated.length - position - 1);
+            return new Ranked(updated, complete && entries.length < capacity);
+        }
+
+        Ranked without(UUID id) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i].id().equals(id)) {
+                    Entry[] updated = new Entry[entries.length - 1];
+                    System.arraycopy(entries, 0, updated, 0, i);
+                    System.arraycopy(entries, i + 1, updated, i, updated.length - i);
+                    return new Ranked(updated, complete);
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * The employees with a term, in an array that grows by half when it is full so that adding one is not a copy. A
+     * writer stores the array before the size, so a reader that reads the size first finds at least that many slots.
+     * A slot a concurrent removal has just emptied reads as null. Holding the entries rather than their ids spares
+     * a scan one map lookup per candidate.
+     */
+    private static final class Posting {
+
+        private volatile Entry[] entries = new Entry[1];
+        private volatile int size;
+
+        Entry[] entries() {
+            return entries;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(Entry entry) {
+            Entry[] current = entries;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length + (current.length >> 1) + 1);
+                entries = current;
+            }
+            current[size] = entry;
+            size = size + 1;
+        }
+
+        void remove(UUID id) {
+            Entry[] current = entries;
+            for (int i = 0; i < size; i++) {
+                if (current[i].id().equals(id)) {
+                    Entry[] remaining = new Entry[current.length];
+                    System.arraycopy(current, 0, remaining, 0, i);
+                    System.arraycopy(current, i + 1, remaining, i, size - i - 1);
+                    entries = remaining;
+                    size = size - 1;
+                    return;
+                }
+            }
+        }
+    }
+}
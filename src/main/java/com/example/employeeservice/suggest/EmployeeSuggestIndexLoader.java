@@ -0,0 +1,40 @@
+package com.example.employeeservice.suggest;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Fills the suggest index from a Mongo cursor once the application is up. Changes made meanwhile reach the index
+ * through {@link EmployeeSuggestIndex#onEmployeeChanged} and the employee topic and take precedence.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "employee.suggest.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeSuggestIndexLoader {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeSuggestIndex employeeSuggestIndex;
+
+    @Value("${employee.suggest.load-batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        try (Stream<Employee> employees = employeeRepository.streamAll(batchSize)) {
+            employeeSuggestIndex.load(employees);
+        }
+        log.info("Loaded {} employees into the suggest index in {} ms",
+                employeeSuggestIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
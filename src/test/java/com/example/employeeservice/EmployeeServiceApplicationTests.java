@@ -3,7 +3,13 @@ package com.example.employeeservice;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "spring.data.mongodb.auto-index-creation=false",
+        "employee.outbox.relay.enabled=false",
+        "employee.search.backfill.enabled=false",
+        "employee.suggest.enabled=false",
+        "employee.stats.enabled=false"
+})
 class EmployeeServiceApplicationTests {
 
     @Test
@@ -0,0 +1,32 @@
+package com.example.employeeservice;
+
+import com.example.employeeservice.controller.EmployeeController;
+import com.example.employeeservice.controller.ReactiveEmployeeController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(properties = {
+        "spring.data.mongodb.auto-index-creation=false",
+        "employee.outbox.relay.enabled=false",
+        "employee.search.backfill.enabled=false",
+        "employee.suggest.enabled=false",
+        "employee.stats.enabled=false"
+})
+@ActiveProfiles("reactive")
+class ReactiveStackApplicationTests {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void contextLoadsWithReactiveControllersOnly() {
+        assertNotNull(applicationContext.getBean(ReactiveEmployeeController.class));
+        assertEquals(0, applicationContext.getBeanNamesForType(EmployeeController.class).length);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.configuration.TokenConfiguration;
+import com.example.employeeservice.security.CachingPasswordEncoder;
+import com.example.employeeservice.service.TokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request credential check cost: a bcrypt verification (what HTTP Basic pays by default), a verification served
+ * from {@link CachingPasswordEncoder}, and local validation of a signed bearer token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private static final String PASSWORD = "test123";
+
+    private PasswordEncoder bcrypt;
+    private PasswordEncoder cached;
+    private String encodedPassword;
+    private JwtDecoder jwtDecoder;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        bcrypt = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        encodedPassword = bcrypt.encode(PASSWORD);
+        cached = new CachingPasswordEncoder(bcrypt, 1000, Duration.ofHours(1));
+        cached.matches(PASSWORD, encodedPassword);
+
+        TokenConfiguration tokenConfiguration = new TokenConfiguration();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        SecretKey key = tokenConfiguration.tokenSigningKey(Base64.getEncoder().encodeToString(secret));
+        jwtDecoder = tokenConfiguration.jwtDecoder(key);
+        TokenService tokenService = new TokenService(tokenConfiguration.jwtEncoder(key));
+        ReflectionTestUtils.setField(tokenService, "ttl", Duration.ofHours(1));
+        token = tokenService.issueToken(UsernamePasswordAuthenticationToken.authenticated("testUser", null, List.of()))
+                .getAccessToken();
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return bcrypt.matches(PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean cachedMatches() {
+        return cached.matches(PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public Jwt decodeToken() {
+        return jwtDecoder.decode(token);
+    }
+}
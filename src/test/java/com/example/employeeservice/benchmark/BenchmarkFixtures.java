@@ -0,0 +1,49 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.configuration.JacksonConfiguration;
+import com.example.employeeservice.dto.request.CreateEmployeeRequest;
+import com.example.employeeservice.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Same defaults as the mapper Spring Boot configures for MVC and the outbox.
+     */
+    static ObjectMapper objectMapper() {
+        return objectMapperBuilder().build();
+    }
+
+    static Jackson2ObjectMapperBuilder objectMapperBuilder() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfiguration().employeeFieldsCustomizer().customize(builder);
+        return builder;
+    }
+
+    static CreateEmployeeRequest createRequest() {
+        return CreateEmployeeRequest.builder()
+                .email("john.doe@example.com")
+                .fullName("John Doe")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .hobbies(List.of("Reading", "Sports", "Chess"))
+                .build();
+    }
+
+    static Employee employee() {
+        return Employee.builder()
+                .id(UUID.fromString("6f1c2f4e-3b7a-4f0e-9d55-2f1b8a3c9e10"))
+                .email("john.doe@example.com")
+                .fullName("John Doe")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .hobbies(List.of("Reading", "Sports", "Chess"))
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.EmployeeServiceApplication;
+import com.example.employeeservice.configuration.InMemoryConfiguration;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mixed load over HTTP against the application started in-process on the in-memory profile, so it needs neither
+ * Mongo, Kafka nor containers. Reads, updates, creates and deletes run concurrently on 6, 2, 1 and 1 threads; JMH
+ * reports the throughput of each and, in sample mode, its latency percentiles. The requests go through Tomcat,
+ * security, validation, the cache and the outbox like real traffic, so this measures the service's own overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class EmployeeApiLoadBenchmark {
+
+    private static final int SEED_EMPLOYEES = 10_000;
+    private static final int SEED_BATCH_SIZE = 1_000;
+    private static final String AUTHORIZATION = "Basic " + Base64.getEncoder()
+            .encodeToString("testUser:test123".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Queue<String> deletable = new ConcurrentLinkedQueue<>();
+    private final String run = UUID.randomUUID().toString().substring(0, 8);
+
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+    private String[] seededIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(EmployeeServiceApplication.class)
+                .profiles(InMemoryConfiguration.PROFILE)
+                .properties("server.port=0", "logging.level.root=WARN", "spring.main.banner-mode=off")
+                .run();
+        baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort() + "/employees";
+
+        List<String> ids = new ArrayList<>(SEED_EMPLOYEES);
+        for (int batch = 0; batch < SEED_EMPLOYEES / SEED_BATCH_SIZE; batch++) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = 0; i < SEED_BATCH_SIZE; i++) {
+                body.append(i == 0 ? "" : ",").append(newEmployee());
+            }
+            JsonNode response = objectMapper.readTree(send(post("/batch", body.append(']').toString()), 200));
+            response.get("results").forEach(result -> ids.add(result.get("employee").get("id").asText()));
+        }
+        seededIds = ids.toArray(String[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public String read() throws IOException, InterruptedException {
+        return send(request("/" + seededId()).GET().build(), 200);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public String update() throws IOException, InterruptedException {
+        String body = "{\"fullName\":\"Updated " + sequence.incrementAndGet() + "\"}";
+        return send(request("/" + seededId())
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+                .build(), 200);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public String create() throws IOException, InterruptedException {
+        String response = send(post("", newEmployee()), 201);
+        deletable.add(objectMapper.readTree(response).get("id").asText());
+        return response;
+    }
+
+    /**
+     * Deletes employees created by {@link #create()}; while none is left it deletes an unknown id, which costs the
+     * same round trip.
+     */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public String delete() throws IOException, InterruptedException {
+        String id = deletable.poll();
+        return send(request("/" + (id == null ? UUID.randomUUID() : id)).DELETE().build(), 204);
+    }
+
+    private String newEmployee() {
+        long n = sequence.incrementAndGet();
+        return "{\"email\":\"load-" + run + "-" + n + "@example.com\",\"fullName\":\"Load Test " + n
+                + "\",\"birthday\":\"1990-01-01\",\"hobbies\":[\"Chess\",\"Reading\"]}";
+    }
+
+    private String seededId() {
+        return seededIds[ThreadLocalRandom.current().nextInt(seededIds.length)];
+    }
+
+    private HttpRequest post(String path, String body) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", AUTHORIZATION);
+    }
+
+    private String send(HttpRequest request, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " answered "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
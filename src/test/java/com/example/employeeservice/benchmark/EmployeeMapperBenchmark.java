@@ -0,0 +1,63 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.dto.request.CreateEmployeeRequest;
+import com.example.employeeservice.dto.request.PatchEmployeeRequest;
+import com.example.employeeservice.dto.request.UpdateEmployeeRequest;
+import com.example.employeeservice.dto.response.CreateEmployeeResponse;
+import com.example.employeeservice.mapper.EmployeeMapper;
+import com.example.employeeservice.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeMapperBenchmark {
+
+    private CreateEmployeeRequest createRequest;
+    private UpdateEmployeeRequest updateRequest;
+    private PatchEmployeeRequest patchRequest;
+    private Employee employee;
+
+    @Setup
+    public void setUp() {
+        createRequest = BenchmarkFixtures.createRequest();
+        employee = BenchmarkFixtures.employee();
+        updateRequest = UpdateEmployeeRequest.builder()
+                .email(employee.getEmail())
+                .fullName("Jane Doe")
+                .birthday(employee.getBirthday())
+                .hobbies(employee.getHobbies())
+                .build();
+        patchRequest = PatchEmployeeRequest.builder()
+                .fullName("Jane Doe")
+                .addHobbies(List.of("Swimming"))
+                .build();
+    }
+
+    @Benchmark
+    public Employee createRequestToEmployee() {
+        return EmployeeMapper.updateEmployee(createRequest);
+    }
+
+    @Benchmark
+    public Update updateRequestToUpdate() {
+        return EmployeeMapper.mapToUpdate(updateRequest);
+    }
+
+    @Benchmark
+    public CreateEmployeeResponse employeeToCreateResponse() {
+        return EmployeeMapper.mapToCreateEmployeeResponse(employee);
+    }
+
+    @Benchmark
+    public Update patchRequestToUpdate() {
+        return EmployeeMapper.mapToUpdate(patchRequest);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.exception.AlreadyExistException;
+import com.example.employeeservice.exception.NotFoundException;
+import com.example.employeeservice.exception.handler.ErrorInfo;
+import com.example.employeeservice.exception.handler.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of an expected client error end to end: creating the exception as the service does and turning it into a
+ * response. Logging goes to target/benchmark.log (see logback-benchmark.xml) so its cost is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry(), 10);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorInfo> notFound() {
+        return handler.handle(new NotFoundException("Employee not found", 404));
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorInfo> alreadyExists() {
+        return handler.handle(new AlreadyExistException("Employee with the same email already exists", 400));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.dto.response.CreateEmployeeResponse;
+import com.example.employeeservice.mapper.EmployeeMapper;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.projection.EmployeeFields;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of REST responses. The partial response is what {@code ?fields=fullName} writes for an employee read
+ * with the matching projection. Employee events, as the relay encodes them and listeners decode them, are measured
+ * by {@link WireFormatBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Employee employee;
+    private CreateEmployeeResponse createResponse;
+    private ObjectWriter idAndNameWriter;
+    private Employee idAndName;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        employee = BenchmarkFixtures.employee();
+        createResponse = EmployeeMapper.mapToCreateEmployeeResponse(employee);
+        idAndNameWriter = objectMapper.writer(EmployeeFields.parse("fullName").getFilters());
+        idAndName = Employee.builder().id(employee.getId()).fullName(employee.getFullName()).build();
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public byte[] serializePartialEmployeeResponse() throws JsonProcessingException {
+        return idAndNameWriter.writeValueAsBytes(idAndName);
+    }
+
+    @Benchmark
+    public byte[] serializeCreateEmployeeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(createResponse);
+    }
+}
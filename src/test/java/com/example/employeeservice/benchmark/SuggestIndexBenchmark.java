@@ -0,0 +1,70 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.dto.response.EmployeeSuggestion;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.suggest.EmployeeSuggestIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Typeahead latency over 100k synthetic employees, for a broad one-letter query, a typical prefix and a two-word
+ * query. The memory estimate of the loaded index is printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestIndexBenchmark {
+
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Mary", "Michael", "Anna", "Peter", "Olga", "Ivan",
+            "Maria", "David", "Sarah", "Thomas", "Laura", "Daniel", "Emma", "Lucas"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Brown", "Miller", "Davis", "Garcia", "Wilson",
+            "Anderson", "Taylor", "Moore", "Martin", "Lee", "Walker", "Young", "King", "Wright"};
+
+    private EmployeeSuggestIndex index;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        index = new EmployeeSuggestIndex(meterRegistry);
+        ReflectionTestUtils.setField(index, "maxLimit", 50);
+        ReflectionTestUtils.setField(index, "maxScan", 10000);
+        Random random = new Random(42);
+        index.load(IntStream.range(0, 100_000).mapToObj(i -> {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)] + (i % 997);
+            return Employee.builder()
+                    .id(UUID.randomUUID())
+                    .fullName(first + " " + last)
+                    .email(first.toLowerCase() + "." + last.toLowerCase() + i + "@example.com")
+                    .build();
+        }));
+        System.out.printf("%nsuggest index: %d terms, ~%.1f MB%n",
+                (long) meterRegistry.get("employee.suggest.terms").gauge().value(),
+                meterRegistry.get("employee.suggest.memory").gauge().value() / 1024 / 1024);
+    }
+
+    @Benchmark
+    public List<EmployeeSuggestion> singleLetter() {
+        return index.suggest("j", 10);
+    }
+
+    @Benchmark
+    public List<EmployeeSuggestion> prefix() {
+        return index.suggest("smith12", 10);
+    }
+
+    @Benchmark
+    public List<EmployeeSuggestion> twoWords() {
+        return index.suggest("mar gar", 10);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.employeeservice.benchmark;
+
+import com.example.employeeservice.dto.response.EmployeePageResponse;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.serialization.EmployeeEventCodec;
+import com.example.employeeservice.serialization.WireFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON against the binary formats for a page of 50 employees as the REST API writes and reads it, and for an
+ * employee event as the relay transcodes it from the outbox and a listener decodes it. The encoded sizes are printed
+ * once per format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private WireFormat format;
+
+    private ObjectMapper mapper;
+    private EmployeePageResponse page;
+    private byte[] encodedPage;
+    private EmployeeEventCodec codec;
+    private String payload;
+    private ConsumerRecord<String, byte[]> record;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = format.mapper(BenchmarkFixtures.objectMapperBuilder());
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Employee employee = BenchmarkFixtures.employee();
+            employee.setId(UUID.randomUUID());
+            employee.setEmail("employee" + i + "@example.com");
+            employee.setVersion((long) i);
+            employees.add(employee);
+        }
+        page = EmployeePageResponse.builder().items(employees).nextCursor("AAAAAAAAAAAAAAAAAAAAAA").build();
+        encodedPage = mapper.writeValueAsBytes(page);
+
+        codec = new EmployeeEventCodec(BenchmarkFixtures::objectMapperBuilder, format);
+        payload = BenchmarkFixtures.objectMapper().writeValueAsString(BenchmarkFixtures.employee());
+        record = new ConsumerRecord<>("employee-log", 0, 0, "key", codec.encode(payload));
+        record.headers().add(codec.getContentTypeHeader());
+
+        System.out.printf("%s: page of 50 employees %d bytes, event %d bytes%n",
+                format, encodedPage.length, record.value().length);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public EmployeePageResponse decodePage() throws IOException {
+        return mapper.readValue(encodedPage, EmployeePageResponse.class);
+    }
+
+    @Benchmark
+    public byte[] encodeEvent() throws IOException {
+        return codec.encode(payload);
+    }
+
+    @Benchmark
+    public Employee decodeEvent() throws IOException {
+        return codec.decode(record);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.employeeservice.configuration;
+
+import com.example.employeeservice.repository.OutboxEventRepository;
+import com.example.employeeservice.service.EmployeeService;
+import com.example.employeeservice.service.OutboxRelay;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "employee.outbox.relay.poll-interval=PT1H")
+@ActiveProfiles(InMemoryConfiguration.PROFILE)
+@AutoConfigureMockMvc
+class InMemoryConfigurationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    void itShouldServeTheApiAndRelayEventsWithoutMongoOrKafka() throws Exception {
+        // Given
+        String created = mockMvc.perform(post("/employees").with(httpBasic("testUser", "test123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"test@example.com\",\"fullName\":\"John Doe\",\"birthday\":\"1990-01-01\",\"hobbies\":[\"Chess\"]}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(created).get("id").asText();
+
+        // When Then
+        mockMvc.perform(post("/employees").with(httpBasic("testUser", "test123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"test@example.com\",\"fullName\":\"Jane Doe\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/employees/{id}", id).with(httpBasic("testUser", "test123"))
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"addHobbies\":[\"Go\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.hobbies[1]").value("Go"));
+        mockMvc.perform(get("/employees/search").with(httpBasic("testUser", "test123")).param("name", "joh"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(id));
+        mockMvc.perform(get("/employees/suggest").with(httpBasic("testUser", "test123")).param("q", "john"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(id));
+        mockMvc.perform(get("/employees/stats").with(httpBasic("testUser", "test123")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.hobbies.Go").value(1))
+                .andExpect(jsonPath("$.birthMonths.JANUARY").value(1));
+
+        assertEquals(2, outboxEventRepository.count());
+        outboxRelay.relay();
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void itShouldRetryTransactionalWritesOutsideOfTheirTransaction() {
+        // When
+        var advisors = Arrays.asList(((Advised) employeeService).getAdvisors());
+
+        // Then
+        assertTrue(advisors.get(0).getAdvice() instanceof TransientTransactionRetryInterceptor);
+        assertTrue(advisors.stream().skip(1).anyMatch(advisor -> advisor.getAdvice() instanceof TransactionInterceptor));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.employeeservice.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordEncoderConfigurationTest {
+
+    private final PasswordEncoder passwordEncoder =
+            new PasswordEncoderConfiguration().passwordEncoder(false, 0, Duration.ZERO);
+
+    @Test
+    void itShouldTreatUnprefixedAndGeneratedPasswordsAsPlainText() {
+        // Given
+        SecurityProperties.User generated = new SecurityProperties.User();
+        SecurityProperties.User plain = new SecurityProperties.User();
+        plain.setPassword("test123");
+        SecurityProperties.User encoded = new SecurityProperties.User();
+        encoded.setPassword(passwordEncoder.encode("test123"));
+
+        // When Then
+        assertTrue(passwordEncoder.matches(generated.getPassword(), PasswordEncoderConfiguration.userPassword(generated)));
+        assertTrue(passwordEncoder.matches("test123", PasswordEncoderConfiguration.userPassword(plain)));
+        assertEquals(encoded.getPassword(), PasswordEncoderConfiguration.userPassword(encoded));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.employeeservice.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.data.mongodb.auto-index-creation=false",
+        "employee.outbox.relay.enabled=false",
+        "employee.search.backfill.enabled=false",
+        "employee.suggest.enabled=false",
+        "employee.stats.enabled=false",
+        "employee.security.token.enabled=true"
+})
+@AutoConfigureMockMvc
+class TokenAuthenticationTest {
+
+    @DynamicPropertySource
+    static void tokenSecret(DynamicPropertyRegistry registry) {
+        byte[] secret = new byte[TokenConfiguration.MIN_KEY_BITS / 8];
+        new SecureRandom().nextBytes(secret);
+        registry.add("employee.security.token.secret", () -> Base64.getEncoder().encodeToString(secret));
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void itShouldIssueTokensForBasicCredentialsAndAcceptThemAsBearer() throws Exception {
+        // Given
+        String body = mockMvc.perform(post("/auth/token").with(httpBasic("testUser", "test123")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = objectMapper.readTree(body).get("accessToken").asText();
+
+        // When Then
+        mockMvc.perform(post("/auth/token").header("Authorization", "Bearer " + token))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/auth/token").with(httpBasic("testUser", "wrong")))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/auth/token").header("Authorization", "Bearer " + token + "x"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void itShouldRefuseToStartWithoutAStrongSecret() {
+        TokenConfiguration tokenConfiguration = new TokenConfiguration();
+
+        assertThrows(IllegalStateException.class, () -> tokenConfiguration.tokenSigningKey(""));
+        assertThrows(IllegalStateException.class, () -> tokenConfiguration.tokenSigningKey("not base64!"));
+        assertThrows(IllegalStateException.class,
+                () -> tokenConfiguration.tokenSigningKey(Base64.getEncoder().encodeToString(new byte[31])));
+        assertEquals(32, tokenConfiguration.tokenSigningKey(Base64.getEncoder().encodeToString(new byte[32]))
+                .getEncoded().length);
+    }
+}
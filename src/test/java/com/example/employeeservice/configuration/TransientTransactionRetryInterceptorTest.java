@@ -0,0 +1,77 @@
+package com.example.employeeservice.configuration;
+
+import com.mongodb.MongoException;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransientTransactionRetryInterceptorTest {
+
+    @Test
+    void itShouldRetryTransientTransactionErrors() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> write = proxy(3, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new UncategorizedMongoDbException("Write conflict", writeConflict());
+            }
+            return "written";
+        });
+
+        // When
+        String result = write.get();
+
+        // Then
+        assertEquals("written", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void itShouldGiveUpWithAConcurrencyFailure() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> write = proxy(2, () -> {
+            attempts.incrementAndGet();
+            throw new UncategorizedMongoDbException("Write conflict", writeConflict());
+        });
+
+        // When Then
+        ConcurrencyFailureException failure = assertThrows(ConcurrencyFailureException.class, write::get);
+        assertTrue(TransientTransactionRetryInterceptor.isTransient(failure));
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void itShouldNotRetryOtherErrors() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<String> write = proxy(3, () -> {
+            attempts.incrementAndGet();
+            throw new UncategorizedMongoDbException("Unauthorized", new MongoException(13, "Unauthorized"));
+        });
+
+        // When Then
+        assertThrows(UncategorizedMongoDbException.class, write::get);
+        assertEquals(1, attempts.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<String> proxy(int maxAttempts, Supplier<String> target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(Supplier.class);
+        proxyFactory.addAdvice(new TransientTransactionRetryInterceptor(maxAttempts));
+        return (Supplier<String>) proxyFactory.getProxy();
+    }
+
+    private static MongoException writeConflict() {
+        MongoException writeConflict = new MongoException(112, "WriteConflict");
+        writeConflict.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+        return writeConflict;
+    }
+}
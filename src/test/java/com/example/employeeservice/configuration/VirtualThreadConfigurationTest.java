@@ -0,0 +1,28 @@
+package com.example.employeeservice.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME;
+
+class VirtualThreadConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadConfiguration.class);
+
+    @Test
+    void itShouldStayOnPlatformThreadsByDefault() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(APPLICATION_TASK_EXECUTOR_BEAN_NAME));
+    }
+
+    @Test
+    void itShouldRunAsyncWorkOnVirtualThreadsWhenEnabled() {
+        contextRunner.withPropertyValues("employee.threads.virtual.enabled=true")
+                .run(context -> {
+                    AsyncTaskExecutor executor = context.getBean(APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncTaskExecutor.class);
+                    assertThat(executor.submit(() -> Thread.currentThread().isVirtual()).get()).isTrue();
+                });
+    }
+}
@@ -1,34 +1,67 @@
 package com.example.employeeservice.controller;
 
+import com.example.employeeservice.dto.request.BulkUpdateEmployeesRequest;
 import com.example.employeeservice.dto.request.CreateEmployeeRequest;
+import com.example.employeeservice.dto.request.PatchEmployeeRequest;
+import com.example.employeeservice.dto.request.SearchEmployeesRequest;
 import com.example.employeeservice.dto.request.UpdateEmployeeRequest;
+import com.example.employeeservice.dto.response.BatchCreateEmployeeItemResult;
+import com.example.employeeservice.dto.response.BatchCreateEmployeeResponse;
+import com.example.employeeservice.dto.response.BatchItemStatus;
 import com.example.employeeservice.dto.response.CreateEmployeeResponse;
+import com.example.employeeservice.dto.response.EmployeePageResponse;
+import com.example.employeeservice.exception.BadRequestException;
+import com.example.employeeservice.exception.NotFoundException;
+import com.example.employeeservice.exception.PreconditionFailedException;
+import com.example.employeeservice.configuration.JacksonConfiguration;
 import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.pagination.CursorCodec;
+import com.example.employeeservice.projection.EmployeeFields;
+import com.example.employeeservice.serialization.WireFormat;
+import com.example.employeeservice.service.BulkOperation;
+import com.example.employeeservice.service.EmployeeBatchService;
+import com.example.employeeservice.service.EmployeeBulkService;
+import com.example.employeeservice.service.EmployeeExportService;
 import com.example.employeeservice.service.EmployeeService;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(EmployeeController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import({SimpleMeterRegistry.class, JacksonConfiguration.class})
 class EmployeeControllerTest {
 
     @Autowired
@@ -37,9 +70,21 @@ class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeExportService employeeExportService;
+
+    @MockBean
+    private EmployeeBatchService employeeBatchService;
+
+    @MockBean
+    private EmployeeBulkService employeeBulkService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     public void testCreateEmployee() throws Exception {
         // given
@@ -73,33 +118,188 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.hobbies", hasSize(request.getHobbies().size())));
     }
 
+    @Test
+    public void testCreateEmployees() throws Exception {
+        // given
+        List<CreateEmployeeRequest> requests = List.of(
+                CreateEmployeeRequest.builder()
+                        .email("test@example.com")
+                        .fullName("John Doe")
+                        .birthday(LocalDate.of(1990, 1, 1))
+                        .hobbies(List.of("Reading"))
+                        .build(),
+                CreateEmployeeRequest.builder()
+                        .email("invalidEmail")
+                        .build()
+        );
+
+        BatchCreateEmployeeResponse response = BatchCreateEmployeeResponse.builder()
+                .created(1)
+                .invalid(1)
+                .results(List.of(
+                        BatchCreateEmployeeItemResult.builder()
+                                .index(0)
+                                .status(BatchItemStatus.CREATED)
+                                .employee(CreateEmployeeResponse.builder().id(UUID.randomUUID()).email("test@example.com").build())
+                                .build(),
+                        BatchCreateEmployeeItemResult.builder()
+                                .index(1)
+                                .status(BatchItemStatus.INVALID)
+                                .errors(List.of("email: must be a well-formed email address"))
+                                .build()))
+                .build();
+
+        when(employeeBatchService.createEmployees(anyList())).thenReturn(response);
+
+        // when then
+        mockMvc.perform(post("/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.invalid").value(1))
+                .andExpect(jsonPath("$.results", hasSize(2)))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].employee.email").value("test@example.com"))
+                .andExpect(jsonPath("$.results[1].status").value("INVALID"));
+    }
+
     @Test
     public void testGetAllEmployees() throws Exception {
         // given
         List<Employee> employees = Arrays.asList(
-                new Employee(UUID.randomUUID(), "test1@example.com", "John Doe", LocalDate.of(1990, 1, 1), Arrays.asList("Reading", "Sports")),
-                new Employee(UUID.randomUUID(), "test2@example.com", "Jane Smith", LocalDate.of(1995, 2, 2), Arrays.asList("Music", "Movies"))
+                new Employee(UUID.randomUUID(), "test1@example.com", "John Doe", LocalDate.of(1990, 1, 1), Arrays.asList("Reading", "Sports"), null, null, 0L),
+                new Employee(UUID.randomUUID(), "test2@example.com", "Jane Smith", LocalDate.of(1995, 2, 2), Arrays.asList("Music", "Movies"), null, null, 0L)
         );
 
-        when(employeeService.getAllEmployees()).thenReturn(employees);
+        when(employeeService.getEmployees(null, null, EmployeeFields.ALL)).thenReturn(EmployeePageResponse.builder()
+                .items(employees)
+                .nextCursor("next")
+                .build());
 
         // when then
         mockMvc.perform(get("/employees"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$", hasSize(employees.size())))
-                .andExpect(jsonPath("$[0].id").isNotEmpty())
-                .andExpect(jsonPath("$[0].email").value(employees.get(0).getEmail()))
-                .andExpect(jsonPath("$[0].fullName").value(employees.get(0).getFullName()))
-                .andExpect(jsonPath("$[0].birthday").value(employees.get(0).getBirthday().toString()))
-                .andExpect(jsonPath("$[0].hobbies").isArray())
-                .andExpect(jsonPath("$[0].hobbies", hasSize(employees.get(0).getHobbies().size())))
-                .andExpect(jsonPath("$[1].id").isNotEmpty())
-                .andExpect(jsonPath("$[1].email").value(employees.get(1).getEmail()))
-                .andExpect(jsonPath("$[1].fullName").value(employees.get(1).getFullName()))
-                .andExpect(jsonPath("$[1].birthday").value(employees.get(1).getBirthday().toString()))
-                .andExpect(jsonPath("$[1].hobbies").isArray())
-                .andExpect(jsonPath("$[1].hobbies", hasSize(employees.get(1).getHobbies().size())));
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items", hasSize(employees.size())))
+                .andExpect(jsonPath("$.items[0].id").isNotEmpty())
+                .andExpect(jsonPath("$.items[0].email").value(employees.get(0).getEmail()))
+                .andExpect(jsonPath("$.items[0].fullName").value(employees.get(0).getFullName()))
+                .andExpect(jsonPath("$.items[0].birthday").value(employees.get(0).getBirthday().toString()))
+                .andExpect(jsonPath("$.items[0].hobbies").isArray())
+                .andExpect(jsonPath("$.items[0].hobbies", hasSize(employees.get(0).getHobbies().size())))
+                .andExpect(jsonPath("$.items[1].id").isNotEmpty())
+                .andExpect(jsonPath("$.items[1].email").value(employees.get(1).getEmail()))
+                .andExpect(jsonPath("$.items[1].fullName").value(employees.get(1).getFullName()))
+                .andExpect(jsonPath("$.items[1].birthday").value(employees.get(1).getBirthday().toString()))
+                .andExpect(jsonPath("$.items[1].hobbies").isArray())
+                .andExpect(jsonPath("$.items[1].hobbies", hasSize(employees.get(1).getHobbies().size())));
+    }
+
+    @Test
+    public void testSearchEmployees() throws Exception {
+        // given
+        Employee employee = Employee.builder().id(UUID.randomUUID()).fullName("John Doe").build();
+        SearchEmployeesRequest expectedRequest = SearchEmployeesRequest.builder()
+                .hobby(List.of("Reading", "Sports"))
+                .birthdayFrom(LocalDate.of(1990, 1, 1))
+                .name("jo")
+                .build();
+
+        when(employeeService.searchEmployees(eq(expectedRequest), eq(null), eq(20), eq(EmployeeFields.ALL)))
+                .thenReturn(EmployeePageResponse.builder().items(List.of(employee)).build());
+
+        // when then
+        mockMvc.perform(get("/employees/search")
+                        .param("hobby", "Reading", "Sports")
+                        .param("birthdayFrom", "1990-01-01")
+                        .param("name", "jo")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].fullName").value("John Doe"))
+                .andExpect(jsonPath("$.items[0].normalizedName").doesNotExist());
+    }
+
+    @Test
+    public void testGetUpcomingBirthdays() throws Exception {
+        // given
+        Employee employee = Employee.builder().id(UUID.randomUUID()).fullName("John Doe")
+                .birthday(LocalDate.of(1990, 1, 5)).birthdayMonthDay(105).build();
+
+        when(employeeService.getUpcomingBirthdays(eq(30), eq(LocalDate.of(2026, 12, 20)), eq(null), eq(null), eq(EmployeeFields.parse("fullName"))))
+                .thenReturn(EmployeePageResponse.builder().items(List.of(employee)).build());
+
+        // when then
+        mockMvc.perform(get("/employees/birthdays")
+                        .param("withinDays", "30")
+                        .param("from", "2026-12-20")
+                        .param("fields", "fullName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].fullName").value("John Doe"))
+                .andExpect(jsonPath("$.items[0].birthday").doesNotExist())
+                .andExpect(jsonPath("$.items[0].birthdayMonthDay").doesNotExist());
+    }
+
+    @Test
+    public void testExportEmployees() throws Exception {
+        // given
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("{\"email\":\"test@example.com\"}\n".getBytes());
+            return null;
+        }).when(employeeExportService).exportEmployees(any());
+
+        // when then
+        MvcResult result = mockMvc.perform(get("/employees/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"email\":\"test@example.com\"}\n"));
+    }
+
+    @Test
+    public void testBulkUpdateEmployeesStreamsProgress() throws Exception {
+        // given
+        BulkUpdateEmployeesRequest request = BulkUpdateEmployeesRequest.builder()
+                .ids(List.of(UUID.randomUUID()))
+                .changes(PatchEmployeeRequest.builder().addHobbies(List.of("Chess")).build())
+                .build();
+        BulkOperation operation = onProgress -> null;
+        when(employeeBulkService.prepareUpdate(request)).thenReturn(operation);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("{\"chunks\":1,\"processed\":1,\"done\":true}\n".getBytes());
+            return null;
+        }).when(employeeBulkService).stream(eq(operation), any());
+
+        // when then
+        MvcResult result = mockMvc.perform(post("/employees/bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"chunks\":1,\"processed\":1,\"done\":true}\n"));
+    }
+
+    @Test
+    public void testBulkDeleteEmployeesRejectsInvalidSelectionBeforeStreaming() throws Exception {
+        // given
+        when(employeeBulkService.prepareDelete(any()))
+                .thenThrow(new BadRequestException("Exactly one of ids and filter must be given", 400));
+
+        // when then
+        mockMvc.perform(post("/employees/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorMessage").value("Exactly one of ids and filter must be given"));
     }
 
     @Test
@@ -107,7 +307,7 @@ class EmployeeControllerTest {
         // given
         UUID employeeId = UUID.randomUUID();
 
-        Employee employee = new Employee(employeeId, "test@example.com", "John Doe", LocalDate.of(1990, 1, 1), Arrays.asList("Reading", "Sports"));
+        Employee employee = new Employee(employeeId, "test@example.com", "John Doe", LocalDate.of(1990, 1, 1), Arrays.asList("Reading", "Sports"), null, null, 3L);
 
 
         when(employeeService.getEmployeeById(eq(employeeId))).thenReturn(employee);
@@ -123,6 +323,247 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.hobbies", hasSize(employee.getHobbies().size())));
     }
 
+    @Test
+    public void testGetEmployeeByIdAsCborWithSelectedFields() throws Exception {
+        // given
+        UUID employeeId = UUID.randomUUID();
+        Employee employee = Employee.builder().id(employeeId).fullName("John Doe").version(3L).build();
+        when(employeeService.getEmployeeById(employeeId, EmployeeFields.parse("fullName"))).thenReturn(employee);
+
+        // when
+        byte[] body = mockMvc.perform(get("/employees/{employeeId}", employeeId)
+                        .param("fields", "fullName")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // then
+        Map<String, Object> fields = new ObjectMapper(new CBORFactory()).readValue(body, new TypeReference<>() {
+        });
+        assertThat(fields).containsOnlyKeys("id", "fullName");
+        Employee read = WireFormat.CBOR.mapper(Jackson2ObjectMapperBuilder.json()).readValue(body, Employee.class);
+        assertThat(read.getId()).isEqualTo(employeeId);
+        assertThat(read.getFullName()).isEqualTo("John Doe");
+    }
+
+    @Test
+    public void testCreateEmployeeFromSmile() throws Exception {
+        // given
+        ObjectMapper smileMapper = WireFormat.SMILE.mapper(Jackson2ObjectMapperBuilder.json());
+        CreateEmployeeRequest request = CreateEmployeeRequest.builder()
+                .email("test@example.com")
+                .fullName("John Doe")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .hobbies(List.of("Reading"))
+                .build();
+        CreateEmployeeResponse response = CreateEmployeeResponse.builder()
+                .id(UUID.randomUUID())
+                .email(request.getEmail())
+                .fullName(request.getFullName())
+                .birthday(request.getBirthday())
+                .hobbies(request.getHobbies())
+                .build();
+        when(employeeService.createEmployee(request)).thenReturn(response);
+
+        // when
+        byte[] body = mockMvc.perform(post("/employees")
+                        .contentType(WireFormat.SMILE.getMediaType())
+                        .accept(WireFormat.SMILE.getMediaType())
+                        .content(smileMapper.writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(WireFormat.SMILE.getMediaType()))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // then
+        assertThat(smileMapper.readValue(body, CreateEmployeeResponse.class)).isEqualTo(response);
+    }
+
+    @Test
+    public void testGetEmployeeByIdNotModified() throws Exception {
+        // given
+        UUID employeeId = UUID.randomUUID();
+        when(employeeService.getEmployeeById(employeeId)).thenReturn(Employee.builder().id(employeeId).version(3L).build());
+
+        // when then
+        mockMvc.perform(get("/employees/{employeeId}", employeeId).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/employees/{employeeId}", employeeId).header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    public void testGetEmployeeByIdETagDependsOnTheRepresentation() throws Exception {
+        // given
+        UUID employeeId = UUID.randomUUID();
+        Employee employee = Employee.builder().id(employeeId).email("test@example.com").version(3L).build();
+        when(employeeService.getEmployeeById(employeeId)).thenReturn(employee);
+        when(employeeService.getEmployeeById(eq(employeeId), any(EmployeeFields.class))).thenReturn(employee);
+
+        // when
+        String projected = mockMvc.perform(get("/employees/{employeeId}", employeeId).param("fields", "email"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String cbor = mockMvc.perform(get("/employees/{employeeId}", employeeId).accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // then
+        assertThat(projected).startsWith("\"3-").isNotEqualTo(cbor);
+        assertThat(cbor).startsWith("\"3-");
+        mockMvc.perform(get("/employees/{employeeId}", employeeId).header(HttpHeaders.IF_NONE_MATCH, projected))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        mockMvc.perform(get("/employees/{employeeId}", employeeId).param("fields", "email")
+                        .header(HttpHeaders.IF_NONE_MATCH, projected))
+                .andExpect(status().isNotModified());
+        when(employeeService.updateEmployee(eq(employeeId), any(UpdateEmployeeRequest.class), eq(3L))).thenReturn(employee);
+        mockMvc.perform(put("/employees/{employeeId}", employeeId)
+                        .header(HttpHeaders.IF_MATCH, projected)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    public void testGetEmployeesNotModified() throws Exception {
+        // given
+        List<Employee> employees = List.of(Employee.builder().id(UUID.randomUUID()).version(1L).build());
+        when(employeeService.getEmployees(null, null, EmployeeFields.ALL))
+                .thenReturn(EmployeePageResponse.builder().items(employees).build());
+        String etag = mockMvc.perform(get("/employees"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when then
+        mockMvc.perform(get("/employees").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testGetEmployeesETagDependsOnTheRepresentation() throws Exception {
+        // given
+        List<Employee> employees = List.of(
+                Employee.builder().id(UUID.randomUUID()).email("test@example.com").version(1L).build());
+        when(employeeService.getEmployees(isNull(), isNull(), any(EmployeeFields.class)))
+                .thenReturn(EmployeePageResponse.builder().items(employees).build());
+
+        // when
+        String full = mockMvc.perform(get("/employees"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String projected = mockMvc.perform(get("/employees").param("fields", "email"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String cbor = mockMvc.perform(get("/employees").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // then
+        assertThat(List.of(full, projected, cbor)).doesNotHaveDuplicates();
+        mockMvc.perform(get("/employees").header(HttpHeaders.IF_NONE_MATCH, projected))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/employees").accept("application/cbor").header(HttpHeaders.IF_NONE_MATCH, cbor))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testGetEmployeesModifiedOnceAFullLastPageHasANext() throws Exception {
+        // given a full last page
+        List<Employee> employees = List.of(Employee.builder().id(UUID.randomUUID()).version(1L).build());
+        when(employeeService.getEmployees(null, 1, EmployeeFields.ALL))
+                .thenReturn(EmployeePageResponse.builder().items(employees).build())
+                .thenReturn(EmployeePageResponse.builder().items(employees)
+                        .nextCursor(CursorCodec.encode(employees.get(0).getId())).build());
+        String etag = mockMvc.perform(get("/employees").param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when an employee is added after it, then
+        mockMvc.perform(get("/employees").param("size", "1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value(CursorCodec.encode(employees.get(0).getId())));
+    }
+
+    @Test
+    public void testUpdateEmployeeWithStaleETag() throws Exception {
+        // given
+        UUID employeeId = UUID.randomUUID();
+        when(employeeService.updateEmployee(eq(employeeId), any(UpdateEmployeeRequest.class), eq(1L)))
+                .thenThrow(new PreconditionFailedException("Employee has been modified since the given version", 412));
+
+        // when then
+        mockMvc.perform(put("/employees/{employeeId}", employeeId)
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errorCode").value("412"));
+        mockMvc.perform(delete("/employees/{employeeId}", employeeId).header(HttpHeaders.IF_MATCH, "W/\"1\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void testUpdateEmployeeConflictingWithConcurrentWrites() throws Exception {
+        // given
+        UUID employeeId = UUID.randomUUID();
+        when(employeeService.updateEmployee(eq(employeeId), any(UpdateEmployeeRequest.class), isNull()))
+                .thenThrow(new ConcurrencyFailureException("Transaction of updateEmployee failed 5 times"));
+
+        // when then
+        mockMvc.perform(put("/employees/{employeeId}", employeeId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("409"));
+    }
+
+    @Test
+    public void testGetEmployeeByIdWithFields() throws Exception {
+        // given
+        UUID employeeId = UUID.randomUUID();
+        Employee employee = Employee.builder().id(employeeId).fullName("John Doe").build();
+
+        when(employeeService.getEmployeeById(employeeId, EmployeeFields.parse("fullName"))).thenReturn(employee);
+
+        // when then
+        mockMvc.perform(get("/employees/{employeeId}", employeeId).param("fields", "fullName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(employeeId.toString()))
+                .andExpect(jsonPath("$.fullName").value("John Doe"))
+                .andExpect(jsonPath("$.email").doesNotExist())
+                .andExpect(jsonPath("$.hobbies").doesNotExist());
+    }
+
+    @Test
+    public void testGetEmployeesWithUnknownField() throws Exception {
+        mockMvc.perform(get("/employees").param("fields", "id,salary"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetEmployeeByIdNotFoundCountsError() throws Exception {
+        // given
+        UUID employeeId = UUID.randomUUID();
+        when(employeeService.getEmployeeById(eq(employeeId)))
+                .thenThrow(new NotFoundException("Employee with id {0} not found", 404, employeeId.toString()));
+        double before = meterRegistry.counter("employee.errors", "exception", "NotFoundException", "code", "404").count();
+
+        // when then
+        mockMvc.perform(get("/employees/{employeeId}", employeeId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorMessage").value("Employee with id " + employeeId + " not found"));
+
+        assertThat(meterRegistry.counter("employee.errors", "exception", "NotFoundException", "code", "404").count())
+                .isEqualTo(before + 1);
+    }
+
     @Test
     public void testUpdateEmployee() throws Exception {
         // given
@@ -147,15 +588,18 @@ class EmployeeControllerTest {
                 .fullName(existingEmployee.getFullName())
                 .birthday(existingEmployee.getBirthday())
                 .hobbies(existingEmployee.getHobbies())
+                .version(3L)
                 .build();
 
-        when(employeeService.updateEmployee(eq(employeeId), any(UpdateEmployeeRequest.class))).thenReturn(updatedEmployee);
+        when(employeeService.updateEmployee(eq(employeeId), any(UpdateEmployeeRequest.class), eq(2L))).thenReturn(updatedEmployee);
 
         // when
         mockMvc.perform(put("/employees/{employeeId}", employeeId)
+                        .header(HttpHeaders.IF_MATCH, "\"2\"")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
                 .andExpect(jsonPath("$.id").value(updatedEmployee.getId().toString()))
                 .andExpect(jsonPath("$.email").value(updatedEmployee.getEmail()))
                 .andExpect(jsonPath("$.fullName").value(updatedEmployee.getFullName()))
@@ -164,6 +608,41 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.hobbies", hasSize(updatedEmployee.getHobbies().size())));
     }
 
+    @Test
+    public void testPatchEmployee() throws Exception {
+        // given
+        UUID employeeId = UUID.randomUUID();
+        PatchEmployeeRequest request = PatchEmployeeRequest.builder()
+                .addHobbies(List.of("Swimming"))
+                .build();
+
+        Employee patchedEmployee = Employee.builder()
+                .id(employeeId)
+                .email("test@example.com")
+                .fullName("John Doe")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .hobbies(Arrays.asList("Reading", "Swimming"))
+                .build();
+
+        when(employeeService.patchEmployee(eq(employeeId), any(PatchEmployeeRequest.class), eq(null))).thenReturn(patchedEmployee);
+
+        // when then
+        mockMvc.perform(patch("/employees/{employeeId}", employeeId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(employeeId.toString()))
+                .andExpect(jsonPath("$.hobbies", hasSize(2)));
+    }
+
+    @Test
+    public void testPatchEmployeeWithInvalidEmail() throws Exception {
+        mockMvc.perform(patch("/employees/{employeeId}", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(PatchEmployeeRequest.builder().email("invalidEmail").build())))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testDeleteEmployee() throws Exception {
         // given
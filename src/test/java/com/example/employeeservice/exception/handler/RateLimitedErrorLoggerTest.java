@@ -0,0 +1,63 @@
+package com.example.employeeservice.exception.handler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitedErrorLoggerTest {
+
+    @Mock
+    private Logger log;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private RateLimitedErrorLogger errorLogger;
+
+    @BeforeEach
+    void setUp() {
+        when(log.isWarnEnabled()).thenReturn(true);
+        errorLogger = new RateLimitedErrorLogger(log, 2, nanos::get);
+    }
+
+    @Test
+    void itShouldDropMessagesOverTheLimitAndReportThemInTheNextSecond() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            errorLogger.warn("NotFoundException/404", "Employee not found");
+        }
+
+        // When
+        nanos.addAndGet(1_000_000_000L);
+        errorLogger.warn("NotFoundException/404", "Employee not found");
+
+        // Then
+        verify(log, times(3)).warn("{} [{}]", "Employee not found", "NotFoundException/404");
+        verify(log).warn("{} similar errors suppressed [{}]", 3L, "NotFoundException/404");
+    }
+
+    @Test
+    void itShouldLimitEachKeySeparately() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            errorLogger.warn("NotFoundException/404", "Employee not found");
+        }
+
+        // When
+        errorLogger.warn("AlreadyExistException/400", "Employee with the same email already exists");
+
+        // Then
+        verify(log).warn(eq("{} [{}]"), anyString(), eq("AlreadyExistException/400"));
+    }
+}
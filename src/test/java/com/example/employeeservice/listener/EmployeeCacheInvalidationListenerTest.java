@@ -0,0 +1,41 @@
+package com.example.employeeservice.listener;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.UUID;
+
+import static com.example.employeeservice.configuration.CacheConfiguration.EMPLOYEES_CACHE;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EmployeeCacheInvalidationListenerTest {
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(EMPLOYEES_CACHE);
+    private final EmployeeCacheInvalidationListener listener = new EmployeeCacheInvalidationListener(cacheManager);
+
+    @Test
+    void itShouldEvictTheChangedEmployee() {
+        // Given
+        Cache cache = cacheManager.getCache(EMPLOYEES_CACHE);
+        UUID changedId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        cache.put(changedId, "changed");
+        cache.put(otherId, "other");
+
+        // When
+        listener.onEmployeeEvent(new ConsumerRecord<>("employee-log", 0, 0, changedId.toString(), null));
+
+        // Then
+        assertNull(cache.get(changedId));
+        assertNotNull(cache.get(otherId));
+    }
+
+    @Test
+    void itShouldIgnoreEventsWithoutEmployeeKey() {
+        listener.onEmployeeEvent(new ConsumerRecord<>("employee-log", 0, 0, "not-a-uuid", null));
+        listener.onEmployeeEvent(new ConsumerRecord<>("employee-log", 0, 1, null, null));
+    }
+}
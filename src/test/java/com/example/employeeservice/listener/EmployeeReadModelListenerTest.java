@@ -0,0 +1,127 @@
+package com.example.employeeservice.listener;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeEventType;
+import com.example.employeeservice.readmodel.EmployeeReadModel;
+import com.example.employeeservice.repository.EmployeeRepository;
+import com.example.employeeservice.serialization.EmployeeEventCodec;
+import com.example.employeeservice.serialization.WireFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeReadModelListenerTest {
+
+    private static final TopicPartition FIRST = new TopicPartition("employee-log", 0);
+    private static final TopicPartition SECOND = new TopicPartition("employee-log", 1);
+
+    private final EmployeeEventCodec codec = new EmployeeEventCodec(Jackson2ObjectMapperBuilder::json, WireFormat.CBOR);
+    private final EmployeeReadModel readModel = new EmployeeReadModel(new SimpleMeterRegistry(), 1000);
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private Consumer<?, ?> consumer;
+
+    private EmployeeReadModelListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new EmployeeReadModelListener(readModel, codec, employeeRepository);
+    }
+
+    @Test
+    void itShouldApplySnapshotsDeltasAndTombstones() throws Exception {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+
+        // When
+        listener.onEmployeeEvent(record(employeeId, EmployeeEventType.SNAPSHOT,
+                "{\"id\":\"" + employeeId + "\",\"version\":0,\"fullName\":\"John Doe\",\"email\":\"john@example.com\"}"), consumer);
+        listener.onEmployeeEvent(record(employeeId, EmployeeEventType.DELTA,
+                "{\"id\":\"" + employeeId + "\",\"version\":1,\"fullName\":\"Jane Doe\"}"), consumer);
+
+        // Then
+        Employee employee = readModel.findById(employeeId).orElseThrow();
+        assertEquals("Jane Doe", employee.getFullName());
+        assertEquals("john@example.com", employee.getEmail());
+        assertEquals(1L, employee.getVersion());
+
+        // When
+        listener.onEmployeeEvent(record(employeeId, null, null), consumer);
+
+        // Then
+        assertTrue(readModel.findById(employeeId).isEmpty());
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void itShouldReadEmployeesFromMongoForDeltasItCannotApply() throws Exception {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+        Employee stored = Employee.builder().id(employeeId).fullName("Jane Doe").email("jane@example.com").version(7L).build();
+        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(stored));
+
+        // When
+        listener.onEmployeeEvent(record(employeeId, EmployeeEventType.DELTA,
+                "{\"id\":\"" + employeeId + "\",\"version\":7,\"fullName\":\"Jane Doe\"}"), consumer);
+        listener.onEmployeeEvent(record(employeeId, EmployeeEventType.DELTA,
+                "{\"id\":\"" + employeeId + "\",\"version\":6,\"fullName\":\"John Doe\"}"), consumer);
+
+        // Then
+        Employee employee = readModel.findById(employeeId).orElseThrow();
+        assertEquals("jane@example.com", employee.getEmail());
+        assertEquals(7L, employee.getVersion());
+        verify(employeeRepository).findById(employeeId);
+    }
+
+    @Test
+    void itShouldCatchUpOnceEveryAssignedPartitionHasNoLag() throws Exception {
+        // Given
+        doReturn(Set.of(FIRST, SECOND)).when(consumer).assignment();
+        when(consumer.currentLag(FIRST)).thenReturn(OptionalLong.of(0), OptionalLong.of(0));
+        when(consumer.currentLag(SECOND)).thenReturn(OptionalLong.empty(), OptionalLong.of(0));
+
+        // When
+        listener.onEmployeeEvent(record(UUID.randomUUID(), null, null), consumer);
+
+        // Then
+        assertFalse(readModel.isCaughtUp());
+        assertEquals(-1, readModel.getLag());
+
+        // When
+        listener.onEmployeeEvent(record(UUID.randomUUID(), null, null), consumer);
+
+        // Then
+        assertTrue(readModel.isCaughtUp());
+        assertEquals(0, readModel.getLag());
+    }
+
+    private ConsumerRecord<String, byte[]> record(UUID employeeId, EmployeeEventType type, String payload)
+            throws Exception {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("employee-log", 0, 0, employeeId.toString(),
+                codec.encode(payload));
+        if (type != null) {
+            record.headers().add(codec.getContentTypeHeader());
+            record.headers().add(EmployeeEventCodec.typeHeader(type));
+        }
+        return record;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.employeeservice.listener;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeEventType;
+import com.example.employeeservice.serialization.EmployeeEventCodec;
+import com.example.employeeservice.serialization.WireFormat;
+import com.example.employeeservice.suggest.EmployeeSuggestIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeSuggestIndexListenerTest {
+
+    private final EmployeeEventCodec codec = new EmployeeEventCodec(Jackson2ObjectMapperBuilder::json, WireFormat.SMILE);
+    private EmployeeSuggestIndex index;
+    private EmployeeSuggestIndexListener listener;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeSuggestIndex(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "maxLimit", 50);
+        ReflectionTestUtils.setField(index, "maxScan", 10000);
+        listener = new EmployeeSuggestIndexListener(index, codec);
+    }
+
+    @Test
+    void itShouldApplyDeltasToIndexedEmployeesOnly() throws Exception {
+        // Given
+        UUID indexedId = UUID.randomUUID();
+        UUID unknownId = UUID.randomUUID();
+        index.load(Stream.of(Employee.builder().id(indexedId).fullName("John Doe").email("john@example.com").build()));
+
+        // When
+        listener.onEmployeeEvent(delta(indexedId, "{\"id\":\"" + indexedId + "\",\"version\":3,\"fullName\":\"Jane Doe\"}"));
+        listener.onEmployeeEvent(delta(unknownId, "{\"id\":\"" + unknownId + "\",\"version\":3,\"hobbies\":[]}"));
+
+        // Then
+        Employee indexed = index.find(indexedId).orElseThrow();
+        assertEquals("Jane Doe", indexed.getFullName());
+        assertEquals("john@example.com", indexed.getEmail());
+        assertTrue(index.find(unknownId).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    private ConsumerRecord<String, byte[]> delta(UUID employeeId, String payload) throws Exception {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("employee-log", 0, 0, employeeId.toString(), codec.encode(payload));
+        record.headers().add(codec.getContentTypeHeader());
+        record.headers().add(EmployeeEventCodec.typeHeader(EmployeeEventType.DELTA));
+        return record;
+    }
+}
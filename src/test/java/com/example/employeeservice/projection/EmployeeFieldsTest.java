@@ -0,0 +1,67 @@
+package com.example.employeeservice.projection;
+
+import com.example.employeeservice.exception.BadRequestException;
+import com.example.employeeservice.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeFieldsTest {
+
+    @Test
+    void itShouldSelectEveryFieldWithoutParameter() throws BadRequestException {
+        assertSame(EmployeeFields.ALL, EmployeeFields.parse(null));
+        assertTrue(EmployeeFields.parse("id, email,fullName , birthday,hobbies").isAll());
+        assertTrue(EmployeeFields.ALL.applyTo(new Query()).getFieldsObject().isEmpty());
+    }
+
+    @Test
+    void itShouldShareOneSelectionPerFieldSet() throws BadRequestException {
+        assertSame(EmployeeFields.parse("fullName"), EmployeeFields.parse("id,fullName"));
+        assertSame(EmployeeFields.parse("email,fullName"), EmployeeFields.parse("fullName, email"));
+    }
+
+    @Test
+    void itShouldAlwaysProjectIdAndVersion() throws BadRequestException {
+        Document projection = EmployeeFields.parse("fullName").applyTo(new Query()).getFieldsObject();
+
+        assertEquals(new Document("id", 1).append("fullName", 1).append("version", 1), projection);
+    }
+
+    @Test
+    void itShouldRejectUnknownField() {
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> EmployeeFields.parse("id,normalizedName"));
+
+        assertTrue(exception.getMessage().contains("normalizedName"));
+        assertThrows(BadRequestException.class, () -> EmployeeFields.parse(""));
+    }
+
+    @Test
+    void itShouldWriteOnlySelectedFields() throws Exception {
+        // Given
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .mixIn(Employee.class, EmployeeFields.FilterMixin.class)
+                .filters(EmployeeFields.ALL.getFilters())
+                .build();
+        Employee employee = new Employee(UUID.fromString("6f1c2f4e-3b7a-4f0e-9d55-2f1b8a3c9e10"), "jd@example.com",
+                "John Doe", LocalDate.of(1990, 1, 1), List.of("Chess"), "john doe", 101, 3L);
+
+        // When
+        String partial = objectMapper.writer(EmployeeFields.parse("fullName").getFilters()).writeValueAsString(employee);
+        String full = objectMapper.writeValueAsString(employee);
+
+        // Then
+        assertEquals("{\"id\":\"6f1c2f4e-3b7a-4f0e-9d55-2f1b8a3c9e10\",\"fullName\":\"John Doe\"}", partial);
+        assertTrue(full.contains("\"email\":\"jd@example.com\"") && full.contains("\"hobbies\":[\"Chess\"]"));
+        assertTrue(full.contains("\"version\":3"));
+        assertFalse(full.contains("normalizedName") || full.contains("birthdayMonthDay"));
+    }
+}
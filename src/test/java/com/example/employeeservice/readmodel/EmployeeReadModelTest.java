@@ -0,0 +1,128 @@
+package com.example.employeeservice.readmodel;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeReadModelTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EmployeeReadModel readModel = new EmployeeReadModel(meterRegistry, 10);
+
+    @Test
+    void itShouldKeepTheNewestVersion() {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+
+        // When
+        readModel.put(employee(employeeId, "John Doe", 2L));
+        readModel.put(employee(employeeId, "Johnny Doe", 1L));
+        readModel.put(employee(employeeId, "Jonathan Doe", 2L));
+
+        // Then
+        Employee employee = readModel.findById(employeeId).orElseThrow();
+        assertEquals("John Doe", employee.getFullName());
+        assertEquals("john doe", employee.getNormalizedName());
+        assertEquals(101, employee.getBirthdayMonthDay());
+        assertEquals(1.0, meterRegistry.get("employee.read-model.employees").gauge().value());
+    }
+
+    @Test
+    void itShouldNotRestoreEmployeesDeletedHereFromOlderEventsOnTheTopic() {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+        Employee deleted = employee(employeeId, "John Doe", 3L);
+        readModel.put(deleted);
+
+        // When
+        readModel.onEmployeeChanged(new EmployeeChangedEvent(employeeId, deleted, null));
+        readModel.put(employee(employeeId, "John Doe", 2L));
+        readModel.put(employee(employeeId, "John Doe", 3L));
+
+        // Then
+        assertTrue(readModel.findById(employeeId).isEmpty());
+
+        // When the tombstone follows
+        readModel.remove(employeeId);
+
+        // Then
+        assertTrue(readModel.findById(employeeId).isEmpty());
+        assertEquals(0, readModel.size());
+    }
+
+    @Test
+    void itShouldPageInIdOrder() {
+        // Given
+        UUID first = new UUID(1, 0);
+        UUID second = new UUID(2, 0);
+        UUID third = new UUID(-1, 0);
+        readModel.put(employee(third, "John Smith", 0L));
+        readModel.put(employee(first, "John Doe", 0L));
+        readModel.put(employee(second, "Jane Doe", 0L));
+
+        // When
+        Slice<Employee> page = readModel.findAll(null, 2);
+        Slice<Employee> next = readModel.findAll(page.getContent().get(1).getId(), 2);
+
+        // Then
+        assertEquals(List.of(first, second), page.getContent().stream().map(Employee::getId).toList());
+        assertTrue(page.hasNext());
+        assertEquals(List.of(third), next.getContent().stream().map(Employee::getId).toList());
+        assertFalse(next.hasNext());
+    }
+
+    @Test
+    void itShouldServeReadsWhileTheLagStaysWithinTheMaximum() {
+        // Given
+        assertEquals(-1, readModel.getLag());
+
+        // When
+        readModel.updateLag(5);
+
+        // Then
+        assertFalse(readModel.isCaughtUp());
+        assertFalse(readModel.isReplayed());
+
+        // When
+        readModel.updateLag(0);
+        readModel.updateLag(3);
+
+        // Then
+        assertTrue(readModel.isCaughtUp());
+        assertEquals(3.0, meterRegistry.get("employee.read-model.lag").gauge().value());
+
+        // When the lag grows beyond the maximum
+        readModel.updateLag(11);
+
+        // Then
+        assertFalse(readModel.isCaughtUp());
+        assertTrue(readModel.isReplayed());
+
+        // When
+        readModel.updateLag(4);
+
+        // Then it waits until it has caught up again
+        assertFalse(readModel.isCaughtUp());
+        readModel.updateLag(0);
+        assertTrue(readModel.isCaughtUp());
+    }
+
+    private static Employee employee(UUID id, String fullName, Long version) {
+        return Employee.builder()
+                .id(id)
+                .email(id + "@example.com")
+                .fullName(fullName)
+                .birthday(LocalDate.of(1990, 1, 1))
+                .hobbies(List.of("Chess"))
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.employeeservice.repository;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.pagination.BirthdayCursor;
+import com.example.employeeservice.projection.EmployeeFields;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Explains every supported search shape against a real Mongo and checks that the winning plan scans an index rather
+ * than the collection, and that the shapes the index returns in order are not sorted again.
+ */
+@Testcontainers
+@SpringBootTest(properties = "employee.outbox.relay.enabled=false")
+public class EmployeeSearchIndexIntegrationTest {
+
+    @Container
+    private static final MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:latest");
+
+    @DynamicPropertySource
+    static void mongoDBProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        employeeRepository.deleteAll();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(Employee.builder()
+                    .id(UUID.randomUUID())
+                    .email("employee" + i + "@example.com")
+                    .fullName("Employee " + i)
+                    .birthday(LocalDate.of(1960, 1, 1).plusDays(i * 97L))
+                    .hobbies(List.of("Hobby" + i % 10, "Hobby" + i % 7))
+                    .build());
+        }
+        employeeRepository.insert(employees);
+    }
+
+    @Test
+    public void testSearchFindsByEveryFilterCombined() {
+        // Given
+        EmployeeSearchCriteria criteria = EmployeeSearchCriteria.builder()
+                .hobbies(List.of("Hobby3"))
+                .birthdayFrom(LocalDate.of(1960, 1, 1))
+                .namePrefix("employee 1")
+                .build();
+
+        // When
+        List<Employee> employees = employeeRepository.search(criteria, null, 500, EmployeeFields.ALL).getContent();
+
+        // Then
+        assertFalse(employees.isEmpty());
+        employees.forEach(employee -> {
+            assertTrue(employee.getHobbies().contains("Hobby3"));
+            assertTrue(employee.getNormalizedName().startsWith("employee 1"));
+        });
+    }
+
+    @Test
+    public void testHobbySearchUsesIndex() {
+        assertUsesIndex(EmployeeSearchCriteria.builder().hobbies(List.of("Hobby3")).build());
+    }
+
+    @Test
+    public void testSingleHobbySearchReadsInIdOrderWithoutSorting() {
+        assertSortFree(EmployeeRepositoryCustomImpl.searchQuery(
+                EmployeeSearchCriteria.builder().hobbies(List.of("Hobby3")).build(), null, 50));
+        assertSortFree(EmployeeRepositoryCustomImpl.searchQuery(
+                EmployeeSearchCriteria.builder().hobbies(List.of("Hobby3")).build(), UUID.randomUUID(), 50));
+    }
+
+    @Test
+    public void testBirthdayRangeSearchUsesIndex() {
+        assertUsesIndex(EmployeeSearchCriteria.builder()
+                .birthdayFrom(LocalDate.of(1970, 1, 1))
+                .birthdayTo(LocalDate.of(1980, 1, 1))
+                .build());
+    }
+
+    @Test
+    public void testNamePrefixSearchUsesIndex() {
+        assertUsesIndex(EmployeeSearchCriteria.builder().namePrefix("employee 1").build());
+    }
+
+    @Test
+    public void testCombinedSearchFromCursorUsesIndex() {
+        assertUsesIndex(EmployeeSearchCriteria.builder()
+                .hobbies(List.of("Hobby3"))
+                .birthdayFrom(LocalDate.of(1970, 1, 1))
+                .namePrefix("employee")
+                .build(), UUID.randomUUID());
+    }
+
+    @Test
+    public void testBirthdaysFindMonthDaysInOrderFromCursor() throws Exception {
+        // Given
+        List<Employee> all = employeeRepository.findByBirthdayMonthDay(101, 1231, null, 500, EmployeeFields.ALL)
+                .getContent();
+        Employee tenth = all.get(9);
+
+        // When
+        List<Employee> page = employeeRepository.findByBirthdayMonthDay(101, 1231,
+                new BirthdayCursor(tenth.getBirthdayMonthDay(), tenth.getId()), 5, EmployeeFields.parse("fullName"))
+                .getContent();
+
+        // Then
+        assertEquals(200, all.size());
+        assertEquals(all.subList(10, 15).stream().map(Employee::getId).toList(), page.stream().map(Employee::getId).toList());
+        page.forEach(employee -> assertNotNull(employee.getBirthdayMonthDay()));
+    }
+
+    @Test
+    public void testBirthdaysFromCursorUseIndex() {
+        assertUsesIndex(EmployeeRepositoryCustomImpl.birthdayQuery(1201, 1231,
+                new BirthdayCursor(1215, UUID.randomUUID()), 50));
+    }
+
+    @Test
+    public void testBirthdaysReadInIndexOrderWithoutSorting() {
+        assertSortFree(EmployeeRepositoryCustomImpl.birthdayQuery(101, 1231, null, 50));
+        assertSortFree(EmployeeRepositoryCustomImpl.birthdayQuery(1201, 1231,
+                new BirthdayCursor(1215, UUID.randomUUID()), 50));
+    }
+
+    private void assertUsesIndex(EmployeeSearchCriteria criteria) {
+        assertUsesIndex(criteria, null);
+    }
+
+    private void assertUsesIndex(EmployeeSearchCriteria criteria, UUID after) {
+        assertUsesIndex(EmployeeRepositoryCustomImpl.searchQuery(criteria, after, 50));
+    }
+
+    private void assertUsesIndex(Query query) {
+        List<String> stages = winningPlanStages(query);
+        assertTrue(stages.contains("IXSCAN"), () -> "expected an index scan but got " + stages);
+        assertFalse(stages.contains("COLLSCAN"), () -> "expected no collection scan but got " + stages);
+    }
+
+    private void assertSortFree(Query query) {
+        assertUsesIndex(query);
+        List<String> stages = winningPlanStages(query);
+        assertFalse(stages.contains("SORT"), () -> "expected the index order to be used but got " + stages);
+    }
+
+    private List<String> winningPlanStages(Query query) {
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Employee.class))
+                .find(query.getQueryObject())
+                .sort(query.getSortObject())
+                .limit(50)
+                .explain();
+
+        Document winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+        List<String> stages = new ArrayList<>();
+        collectStages(winningPlan, stages);
+        return stages;
+    }
+
+    private static void collectStages(Object plan, List<String> stages) {
+        if (plan instanceof Document document) {
+            if (document.containsKey("stage")) {
+                stages.add(document.getString("stage"));
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (plan instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.employeeservice.repository.inmemory;
+
+import com.example.employeeservice.mapper.EmployeeUpdate;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.pagination.BirthdayCursor;
+import com.example.employeeservice.projection.EmployeeFields;
+import com.example.employeeservice.repository.EmployeeSearchCriteria;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryEmployeeRepositoryTest {
+
+    private final InMemoryEmployeeRepository employeeRepository = new InMemoryEmployeeRepository();
+
+    @Test
+    void itShouldKeepEmailsUniqueAcrossInsertsAndUpdates() {
+        // Given
+        Employee john = employeeRepository.insert(employee("john@example.com", "John Doe"));
+        Employee jane = employeeRepository.insert(employee("jane@example.com", "Jane Doe"));
+
+        // When Then
+        assertThrows(DuplicateKeyException.class, () -> employeeRepository.insert(employee("john@example.com", "Johnny")));
+        assertThrows(DuplicateKeyException.class,
+                () -> employeeRepository.patch(jane.getId(), new EmployeeUpdate().email("john@example.com"), null));
+
+        employeeRepository.patch(john.getId(), new EmployeeUpdate().email("johnny@example.com"), null);
+        assertTrue(employeeRepository.findByEmail("john@example.com").isEmpty());
+        assertEquals(john.getId(), employeeRepository.findByEmail("johnny@example.com").orElseThrow().getId());
+        assertEquals("jane@example.com", employeeRepository.findById(jane.getId()).orElseThrow().getEmail());
+
+        employeeRepository.deleteById(john.getId());
+        assertDoesNotThrow(() -> employeeRepository.insert(employee("johnny@example.com", "Johnny")));
+    }
+
+    @Test
+    void itShouldAllowOnlyOneConcurrentInsertPerEmail() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> inserts = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < 64; i++) {
+                inserts.add(executor.submit(() -> {
+                    try {
+                        employeeRepository.insert(employee("same@example.com", "Same"));
+                        return true;
+                    } catch (DuplicateKeyException e) {
+                        return false;
+                    }
+                }));
+            }
+            int succeeded = 0;
+            for (Future<Boolean> insert : inserts) {
+                succeeded += insert.get() ? 1 : 0;
+            }
+
+            // Then
+            assertEquals(1, succeeded);
+            assertEquals(1, employeeRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void itShouldCheckAndIncrementVersionsOnUpdate() {
+        // Given
+        Employee employee = employeeRepository.insert(employee("john@example.com", "John Doe"));
+        EmployeeUpdate update = new EmployeeUpdate().fullName("John Smith").addHobbies(List.of("Chess", "Go"));
+
+        // When
+        Employee previous = employeeRepository.patch(employee.getId(), update, 0L).orElseThrow();
+
+        // Then
+        assertEquals(employee, previous);
+        Employee patched = employeeRepository.findById(employee.getId()).orElseThrow();
+        assertEquals(1L, patched.getVersion());
+        assertEquals("John Smith", patched.getFullName());
+        assertEquals(List.of("Reading", "Chess", "Go"), patched.getHobbies());
+        assertTrue(employeeRepository.patch(employee.getId(), update, 0L).isEmpty());
+        assertTrue(employeeRepository.remove(employee.getId(), 0L).isEmpty());
+        assertEquals(patched, employeeRepository.remove(employee.getId(), 1L).orElseThrow());
+        assertTrue(employeeRepository.remove(employee.getId(), null).isEmpty());
+    }
+
+    @Test
+    void itShouldPageAndSearchInMongoIdOrder() {
+        // Given
+        UUID low = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID high = UUID.fromString("ffffffff-0000-0000-0000-000000000001");
+        employeeRepository.insert(employee(high, "high@example.com", "John High"));
+        employeeRepository.insert(employee(low, "low@example.com", "John Low"));
+        employeeRepository.insert(employee("jane@example.com", "Jane Doe"));
+
+        // When
+        Slice<Employee> first = employeeRepository.findAllBy(PageRequest.of(0, 1));
+        Slice<Employee> johns = employeeRepository.search(
+                EmployeeSearchCriteria.builder().namePrefix("john").hobbies(List.of("Reading")).build(),
+                low, 10, EmployeeFields.ALL);
+
+        // Then
+        assertEquals(low, first.getContent().get(0).getId());
+        assertTrue(first.hasNext());
+        assertEquals(List.of(high), johns.map(Employee::getId).toList());
+        assertFalse(johns.hasNext());
+    }
+
+    @Test
+    void itShouldFindBirthdaysByMonthDayAfterTheCursor() {
+        // Given
+        UUID low = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID high = UUID.fromString("ffffffff-0000-0000-0000-000000000001");
+        employeeRepository.insert(employee(high, "high@example.com", "John High", LocalDate.of(1990, 12, 30)));
+        employeeRepository.insert(employee(low, "low@example.com", "John Low", LocalDate.of(1985, 12, 30)));
+        Employee first = employeeRepository.insert(employee(UUID.randomUUID(), "jane@example.com", "Jane Doe", LocalDate.of(1992, 12, 24)));
+        employeeRepository.insert(employee(UUID.randomUUID(), "jim@example.com", "Jim Doe", LocalDate.of(1992, 1, 2)));
+        employeeRepository.insert(employee("nobody@example.com", "No Birthday"));
+
+        // When
+        Slice<Employee> page = employeeRepository.findByBirthdayMonthDay(1201, 1231, null, 2, EmployeeFields.ALL);
+        Slice<Employee> next = employeeRepository.findByBirthdayMonthDay(1201, 1231,
+                new BirthdayCursor(1230, low), 2, EmployeeFields.ALL);
+
+        // Then
+        assertEquals(List.of(first.getId(), low), page.map(Employee::getId).toList());
+        assertEquals(1224, first.getBirthdayMonthDay());
+        assertTrue(page.hasNext());
+        assertEquals(List.of(high), next.map(Employee::getId).toList());
+        assertFalse(next.hasNext());
+    }
+
+    @Test
+    void itShouldInsertNothingFromABatchWithDuplicates() {
+        // Given
+        employeeRepository.insert(employee("john@example.com", "John Doe"));
+
+        // When
+        Set<Integer> duplicates = employeeRepository.insertAllUnordered(List.of(
+                employee("jane@example.com", "Jane Doe"),
+                employee("john@example.com", "John Again")));
+
+        // Then
+        assertEquals(Set.of(1), duplicates);
+        assertEquals(1, employeeRepository.count());
+        assertTrue(employeeRepository.findByEmail("jane@example.com").isEmpty());
+    }
+
+    @Test
+    void itShouldNotShareStateWithCallers() {
+        // Given
+        Employee employee = employeeRepository.insert(employee("john@example.com", "John Doe"));
+
+        // When
+        employee.getHobbies().add("Chess");
+        employeeRepository.findById(employee.getId()).orElseThrow().setFullName("Changed");
+
+        // Then
+        Employee stored = employeeRepository.findById(employee.getId()).orElseThrow();
+        assertEquals(List.of("Reading"), stored.getHobbies());
+        assertEquals("John Doe", stored.getFullName());
+        assertEquals("john doe", stored.getNormalizedName());
+    }
+
+    private static Employee employee(String email, String fullName) {
+        return employee(UUID.randomUUID(), email, fullName);
+    }
+
+    private static Employee employee(UUID id, String email, String fullName) {
+        return employee(id, email, fullName, null);
+    }
+
+    private static Employee employee(UUID id, String email, String fullName, LocalDate birthday) {
+        return Employee.builder()
+                .id(id)
+                .email(email)
+                .fullName(fullName)
+                .birthday(birthday)
+                .hobbies(new ArrayList<>(List.of("Reading")))
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.employeeservice.security;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingPasswordEncoderTest {
+
+    private static final String HASH = "{bcrypt}hash";
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private CachingPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        Ticker ticker = nanos::get;
+        passwordEncoder = new CachingPasswordEncoder(delegate, 100, Duration.ofSeconds(60), ticker);
+    }
+
+    @Test
+    void itShouldOnlyHashOnceWhileTheVerificationIsCached() {
+        // Given
+        when(delegate.matches("test123", HASH)).thenReturn(true);
+
+        // When
+        boolean first = passwordEncoder.matches("test123", HASH);
+        boolean second = passwordEncoder.matches("test123", HASH);
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        verify(delegate, times(1)).matches("test123", HASH);
+    }
+
+    @Test
+    void itShouldHashAgainOnceTheEntryExpires() {
+        // Given
+        when(delegate.matches("test123", HASH)).thenReturn(true);
+        passwordEncoder.matches("test123", HASH);
+
+        // When
+        nanos.addAndGet(Duration.ofSeconds(61).toNanos());
+        passwordEncoder.matches("test123", HASH);
+
+        // Then
+        verify(delegate, times(2)).matches("test123", HASH);
+    }
+
+    @Test
+    void itShouldNeverCacheFailedChecks() {
+        // Given
+        when(delegate.matches("wrong", HASH)).thenReturn(false);
+
+        // When
+        boolean first = passwordEncoder.matches("wrong", HASH);
+        boolean second = passwordEncoder.matches("wrong", HASH);
+
+        // Then
+        assertFalse(first);
+        assertFalse(second);
+        verify(delegate, times(2)).matches("wrong", HASH);
+    }
+
+    @Test
+    void itShouldMissTheCacheWhenTheStoredHashChanges() {
+        // Given
+        when(delegate.matches("test123", HASH)).thenReturn(true);
+        when(delegate.matches("test123", "{bcrypt}rotated")).thenReturn(false);
+        passwordEncoder.matches("test123", HASH);
+
+        // When
+        boolean matches = passwordEncoder.matches("test123", "{bcrypt}rotated");
+
+        // Then
+        assertFalse(matches);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.employeeservice.serialization;
+
+import com.example.employeeservice.configuration.JacksonConfiguration;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeEventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeEventCodecTest {
+
+    private static final Employee EMPLOYEE = Employee.builder()
+            .id(UUID.fromString("6f1c2f4e-3b7a-4f0e-9d55-2f1b8a3c9e10"))
+            .email("john.doe@example.com")
+            .fullName("John Doe")
+            .birthday(LocalDate.of(1990, 1, 1))
+            .hobbies(List.of("Reading", "Sports", "Chess"))
+            .version(3L)
+            .build();
+
+    @Test
+    void itShouldReadBackEveryFormatFromItsHeader() throws Exception {
+        // Given
+        String payload = objectMapper().writeValueAsString(EMPLOYEE);
+        EmployeeEventCodec reader = codec(WireFormat.JSON);
+
+        for (WireFormat format : WireFormat.values()) {
+            EmployeeEventCodec writer = codec(format);
+
+            // When
+            byte[] value = writer.encode(payload);
+            ConsumerRecord<String, byte[]> record = record(value);
+            record.headers().add(writer.getContentTypeHeader());
+
+            // Then
+            assertEquals(EMPLOYEE, reader.decode(record), format::name);
+            if (format != WireFormat.JSON) {
+                assertTrue(value.length < payload.length(), format::name);
+            }
+        }
+    }
+
+    @Test
+    void itShouldReadRecordsWithoutHeaderAsJson() throws Exception {
+        // Given
+        byte[] value = objectMapper().writeValueAsBytes(EMPLOYEE);
+
+        // When
+        Employee decoded = codec(WireFormat.SMILE).decode(record(value));
+
+        // Then
+        assertEquals(EMPLOYEE, decoded);
+    }
+
+    @Test
+    void itShouldApplyADeltaToTheBase() throws Exception {
+        // Given
+        EmployeeEventCodec codec = codec(WireFormat.CBOR);
+        ConsumerRecord<String, byte[]> record = record(codec.encode("{\"id\":\"" + EMPLOYEE.getId() + "\",\"version\":4,\"fullName\":\"Jane Doe\",\"birthday\":null}"));
+        record.headers().add(codec.getContentTypeHeader());
+        record.headers().add(EmployeeEventCodec.typeHeader(EmployeeEventType.DELTA));
+        Employee base = Employee.builder().id(EMPLOYEE.getId()).email(EMPLOYEE.getEmail()).fullName("John Doe")
+                .birthday(EMPLOYEE.getBirthday()).build();
+
+        // When
+        Employee employee = codec.decode(record, base);
+
+        // Then
+        assertEquals(EmployeeEventType.DELTA, EmployeeEventCodec.typeOf(record));
+        assertEquals("Jane Doe", employee.getFullName());
+        assertEquals(EMPLOYEE.getEmail(), employee.getEmail());
+        assertNull(employee.getBirthday());
+        assertEquals(4L, employee.getVersion());
+        assertEquals(EmployeeEventType.SNAPSHOT, EmployeeEventCodec.typeOf(record(null)));
+    }
+
+    @Test
+    void itShouldKeepTombstonesAndRejectUnknownFormats() throws Exception {
+        EmployeeEventCodec codec = codec(WireFormat.CBOR);
+        ConsumerRecord<String, byte[]> unknown = record(new byte[]{1});
+        unknown.headers().add(new RecordHeader(EmployeeEventCodec.CONTENT_TYPE_HEADER, "application/avro".getBytes(StandardCharsets.UTF_8)));
+
+        assertNull(codec.encode(null));
+        assertNull(codec.decode(record(null)));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(unknown));
+    }
+
+    private static EmployeeEventCodec codec(WireFormat valueFormat) {
+        return new EmployeeEventCodec(EmployeeEventCodecTest::builder, valueFormat);
+    }
+
+    private static ObjectMapper objectMapper() {
+        return builder().build();
+    }
+
+    private static Jackson2ObjectMapperBuilder builder() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfiguration().employeeFieldsCustomizer().customize(builder);
+        return builder;
+    }
+
+    private static ConsumerRecord<String, byte[]> record(byte[] value) {
+        return new ConsumerRecord<>("employee-log", 0, 0, EMPLOYEE.getId().toString(), value);
+    }
+}
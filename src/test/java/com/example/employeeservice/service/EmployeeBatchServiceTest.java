@@ -0,0 +1,132 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.dto.request.CreateEmployeeRequest;
+import com.example.employeeservice.dto.response.BatchCreateEmployeeResponse;
+import com.example.employeeservice.dto.response.BatchItemStatus;
+import com.example.employeeservice.exception.BadRequestException;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.repository.EmployeeRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeBatchServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<Employee>> recorded;
+
+    private EmployeeBatchService employeeBatchService;
+
+    @BeforeEach
+    void setUp() {
+        employeeBatchService = new EmployeeBatchService(employeeRepository, outboxService,
+                new TransactionTemplate(transactionManager), Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(employeeBatchService, "maxBatchSize", 5);
+    }
+
+    @Test
+    void itShouldReportCreatedDuplicateAndInvalidItems() throws BadRequestException {
+        // Given
+        List<CreateEmployeeRequest> requests = List.of(
+                request("new@example.com"),
+                request("existing@example.com"),
+                request("invalidEmail"),
+                request("new@example.com"),
+                request("raced@example.com")
+        );
+
+        when(employeeRepository.findByEmailIn(Set.of("new@example.com", "existing@example.com", "raced@example.com")))
+                .thenReturn(List.of(Employee.builder().email("existing@example.com").build()));
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(employeeRepository.insertAllUnordered(anyList())).thenReturn(Set.of(1)).thenReturn(Set.of());
+
+        // When
+        BatchCreateEmployeeResponse response = employeeBatchService.createEmployees(requests);
+
+        // Then
+        assertEquals(1, response.getCreated());
+        assertEquals(3, response.getDuplicates());
+        assertEquals(1, response.getInvalid());
+        assertEquals(BatchItemStatus.CREATED, response.getResults().get(0).getStatus());
+        assertEquals("new@example.com", response.getResults().get(0).getEmployee().getEmail());
+        assertEquals(BatchItemStatus.DUPLICATE, response.getResults().get(1).getStatus());
+        assertEquals(BatchItemStatus.INVALID, response.getResults().get(2).getStatus());
+        assertEquals(List.of("email: must be a well-formed email address"), response.getResults().get(2).getErrors());
+        assertEquals(BatchItemStatus.DUPLICATE, response.getResults().get(3).getStatus());
+        assertEquals(BatchItemStatus.DUPLICATE, response.getResults().get(4).getStatus());
+
+        verify(employeeRepository, times(2)).insertAllUnordered(anyList());
+        verify(transactionManager, times(2)).getTransaction(any());
+
+        verify(outboxService).recordAll(recorded.capture());
+        assertEquals(List.of("new@example.com"), recorded.getValue().stream().map(Employee::getEmail).toList());
+    }
+
+    @Test
+    void itShouldReportNullItemsAsInvalid() throws BadRequestException {
+        // Given
+        List<CreateEmployeeRequest> requests = Arrays.asList(null, request("new@example.com"));
+
+        when(employeeRepository.findByEmailIn(Set.of("new@example.com"))).thenReturn(List.of());
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(employeeRepository.insertAllUnordered(anyList())).thenReturn(Set.of());
+
+        // When
+        BatchCreateEmployeeResponse response = employeeBatchService.createEmployees(requests);
+
+        // Then
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getInvalid());
+        assertEquals(0, response.getResults().get(0).getIndex());
+        assertEquals(BatchItemStatus.INVALID, response.getResults().get(0).getStatus());
+        assertEquals(List.of("must not be null"), response.getResults().get(0).getErrors());
+        assertEquals(BatchItemStatus.CREATED, response.getResults().get(1).getStatus());
+    }
+
+    @Test
+    void itShouldRejectOversizedBatch() {
+        List<CreateEmployeeRequest> requests = Collections.nCopies(6, request("test@example.com"));
+
+        assertThrows(BadRequestException.class, () -> employeeBatchService.createEmployees(requests));
+        verifyNoInteractions(employeeRepository, outboxService);
+    }
+
+    private static CreateEmployeeRequest request(String email) {
+        return CreateEmployeeRequest.builder()
+                .email(email)
+                .fullName("John Doe")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .hobbies(List.of("Reading"))
+                .build();
+    }
+}
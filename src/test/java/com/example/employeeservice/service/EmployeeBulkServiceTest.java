@@ -0,0 +1,222 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.dto.request.BulkDeleteEmployeesRequest;
+import com.example.employeeservice.dto.request.BulkUpdateEmployeesRequest;
+import com.example.employeeservice.dto.request.PatchEmployeeRequest;
+import com.example.employeeservice.dto.request.SearchEmployeesRequest;
+import com.example.employeeservice.dto.response.BulkOperationProgress;
+import com.example.employeeservice.exception.BadRequestException;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.projection.EmployeeFields;
+import com.example.employeeservice.repository.EmployeeRepository;
+import com.example.employeeservice.repository.EmployeeSearchCriteria;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.employeeservice.configuration.CacheConfiguration.EMPLOYEES_CACHE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeBulkServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(EMPLOYEES_CACHE);
+
+    private EmployeeBulkService employeeBulkService;
+
+    @BeforeEach
+    void setUp() {
+        employeeBulkService = new EmployeeBulkService(employeeRepository, outboxService,
+                new TransactionTemplate(transactionManager), objectMapper, cacheManager);
+        ReflectionTestUtils.setField(employeeBulkService, "chunkSize", 2);
+        ReflectionTestUtils.setField(employeeBulkService, "maxIds", 5);
+    }
+
+    @Test
+    void itShouldUpdateMatchingEmployeesChunkByChunk() throws BadRequestException {
+        // Given
+        Employee first = employee();
+        Employee second = employee();
+        Employee third = employee();
+        Cache cache = cacheManager.getCache(EMPLOYEES_CACHE);
+        cache.put(first.getId(), first);
+        EmployeeSearchCriteria criteria = EmployeeSearchCriteria.builder().hobbies(List.of("Chess")).build();
+
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(employeeRepository.search(criteria, null, 2, EmployeeFields.ALL))
+                .thenReturn(new SliceImpl<>(List.of(first, second), PageRequest.of(0, 2), true));
+        when(employeeRepository.search(criteria, second.getId(), 2, EmployeeFields.ALL))
+                .thenReturn(new SliceImpl<>(List.of(third), PageRequest.of(0, 2), false));
+        when(employeeRepository.updateAll(anyCollection(), any())).thenAnswer(invocation -> List.of(first));
+
+        BulkUpdateEmployeesRequest request = BulkUpdateEmployeesRequest.builder()
+                .filter(SearchEmployeesRequest.builder().hobby(List.of("Chess")).build())
+                .changes(PatchEmployeeRequest.builder().addHobbies(List.of("Go")).build())
+                .build();
+
+        // When
+        List<BulkOperationProgress> progress = new ArrayList<>();
+        BulkOperationProgress result = employeeBulkService.prepareUpdate(request).run(progress::add);
+
+        // Then
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(employeeRepository).updateAll(eq(List.of(first.getId(), second.getId())), update.capture());
+        verify(employeeRepository).updateAll(eq(List.of(third.getId())), any());
+        verify(outboxService).recordAll(List.of(first, second), List.of(first));
+        verify(outboxService).recordAll(List.of(third), List.of(first));
+        assertTrue(update.getValue().modifies("hobbies"));
+
+        assertEquals(List.of(
+                progress(1, 2, false),
+                progress(2, 3, false),
+                progress(2, 3, true)), progress);
+        assertEquals(progress(2, 3, true), result);
+        assertNull(cache.get(first.getId()));
+    }
+
+    @Test
+    void itShouldDeleteListedEmployeesInChunksOfDistinctIds() throws BadRequestException {
+        // Given
+        Employee first = employee();
+        Employee second = employee();
+        UUID missing = UUID.randomUUID();
+
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(employeeRepository.search(any(), isNull(), eq(2), eq(EmployeeFields.ALL))).thenAnswer(invocation -> {
+            List<UUID> ids = invocation.getArgument(0, EmployeeSearchCriteria.class).getIds();
+            List<Employee> existing = ids.contains(first.getId()) ? List.of(first) : List.of(second);
+            return new SliceImpl<>(existing, PageRequest.of(0, 2), false);
+        });
+
+        BulkDeleteEmployeesRequest request = BulkDeleteEmployeesRequest.builder()
+                .ids(List.of(first.getId(), missing, first.getId(), second.getId()))
+                .build();
+
+        // When
+        BulkOperationProgress result = employeeBulkService.prepareDelete(request).run(progress -> {
+        });
+
+        // Then
+        ArgumentCaptor<EmployeeSearchCriteria> criteria = ArgumentCaptor.forClass(EmployeeSearchCriteria.class);
+        verify(employeeRepository, times(2)).search(criteria.capture(), isNull(), eq(2), eq(EmployeeFields.ALL));
+        assertEquals(List.of(first.getId(), missing), criteria.getAllValues().get(0).getIds());
+        assertEquals(List.of(second.getId()), criteria.getAllValues().get(1).getIds());
+        verify(employeeRepository).deleteAllById(List.of(first.getId()));
+        verify(outboxService).recordDeletions(List.of(first));
+        verify(outboxService).recordDeletions(List.of(second));
+        assertEquals(progress(2, 2, true), result);
+    }
+
+    @Test
+    void itShouldKeepCommittedChunksAndReportTheFailure() throws BadRequestException {
+        // Given
+        Employee first = employee();
+        Employee second = employee();
+
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(employeeRepository.search(any(), any(), eq(2), eq(EmployeeFields.ALL)))
+                .thenReturn(new SliceImpl<>(List.of(first, second), PageRequest.of(0, 2), true))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        BulkDeleteEmployeesRequest request = BulkDeleteEmployeesRequest.builder()
+                .filter(SearchEmployeesRequest.builder().name("jo").build())
+                .build();
+
+        // When
+        BulkOperationProgress result = employeeBulkService.prepareDelete(request).run(progress -> {
+        });
+
+        // Then
+        verify(outboxService).recordDeletions(List.of(first, second));
+        assertTrue(result.isDone());
+        assertEquals(1, result.getChunks());
+        assertEquals(2, result.getProcessed());
+        assertEquals("Bulk delete failed, 2 employees were processed", result.getError());
+    }
+
+    @Test
+    void itShouldStreamProgressAsNewlineDelimitedJson() throws Exception {
+        // Given
+        BulkOperation operation = onProgress -> {
+            onProgress.accept(progress(1, 2, false));
+            onProgress.accept(progress(1, 2, true));
+            return progress(1, 2, true);
+        };
+
+        // When
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        employeeBulkService.stream(operation, outputStream);
+
+        // Then
+        assertEquals("""
+                {"chunks":1,"processed":2,"done":false}
+                {"chunks":1,"processed":2,"done":true}
+                """, outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void itShouldRejectInvalidRequestsBeforeChangingAnything() {
+        SearchEmployeesRequest filter = SearchEmployeesRequest.builder().name("jo").build();
+        PatchEmployeeRequest changes = PatchEmployeeRequest.builder().fullName("John Doe").build();
+        List<UUID> ids = List.of(UUID.randomUUID());
+
+        assertThrows(BadRequestException.class, () -> employeeBulkService.prepareUpdate(BulkUpdateEmployeesRequest.builder()
+                .ids(ids).changes(PatchEmployeeRequest.builder().email("test@example.com").build()).build()));
+        assertThrows(BadRequestException.class, () -> employeeBulkService.prepareUpdate(BulkUpdateEmployeesRequest.builder()
+                .ids(ids).changes(new PatchEmployeeRequest()).build()));
+        assertThrows(BadRequestException.class, () -> employeeBulkService.prepareUpdate(BulkUpdateEmployeesRequest.builder()
+                .ids(ids).filter(filter).changes(changes).build()));
+        assertThrows(BadRequestException.class, () -> employeeBulkService.prepareDelete(BulkDeleteEmployeesRequest.builder()
+                .filter(new SearchEmployeesRequest()).build()));
+        assertThrows(BadRequestException.class, () -> employeeBulkService.prepareDelete(BulkDeleteEmployeesRequest.builder()
+                .ids(List.of()).build()));
+        assertThrows(BadRequestException.class, () -> employeeBulkService.prepareDelete(BulkDeleteEmployeesRequest.builder()
+                .ids(List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                        UUID.randomUUID(), UUID.randomUUID())).build()));
+        verifyNoInteractions(employeeRepository, outboxService, transactionManager);
+    }
+
+    private static Employee employee() {
+        return Employee.builder().id(UUID.randomUUID()).build();
+    }
+
+    private static BulkOperationProgress progress(int chunks, long processed, boolean done) {
+        return BulkOperationProgress.builder().chunks(chunks).processed(processed).done(done).build();
+    }
+}
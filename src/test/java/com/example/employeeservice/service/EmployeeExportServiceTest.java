@@ -0,0 +1,75 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeExportServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private EmployeeExportService employeeExportService;
+
+    @BeforeEach
+    void setUp() {
+        employeeExportService = new EmployeeExportService(employeeRepository, objectMapper);
+        ReflectionTestUtils.setField(employeeExportService, "batchSize", 1);
+    }
+
+    @Test
+    void itShouldWriteOneJsonDocumentPerLineAndCloseTheCursor() throws Exception {
+        // Given
+        Employee first = Employee.builder()
+                .id(UUID.randomUUID())
+                .email("test1@example.com")
+                .fullName("John Doe")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .hobbies(List.of("Reading"))
+                .build();
+        Employee second = Employee.builder()
+                .id(UUID.randomUUID())
+                .email("test2@example.com")
+                .fullName("Jane Smith")
+                .birthday(LocalDate.of(1995, 2, 2))
+                .hobbies(List.of("Swimming"))
+                .build();
+        AtomicBoolean closed = new AtomicBoolean();
+
+        when(employeeRepository.streamAll(1)).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+
+        // When
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        employeeExportService.exportEmployees(outputStream);
+
+        // Then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("{"));
+        assertEquals(first, objectMapper.readValue(lines[0], Employee.class));
+        assertEquals(second, objectMapper.readValue(lines[1], Employee.class));
+        assertTrue(outputStream.toString(StandardCharsets.UTF_8).endsWith("\n"));
+        assertTrue(closed.get());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.configuration.CacheConfiguration;
+import com.example.employeeservice.dto.request.UpdateEmployeeRequest;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.example.employeeservice.configuration.CacheConfiguration.EMPLOYEES_CACHE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig
+class EmployeeServiceCacheTest {
+
+    @Configuration
+    @Import({CacheConfiguration.class, EmployeeService.class})
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(EMPLOYEES_CACHE);
+        }
+    }
+
+    @MockBean
+    private EmployeeRepository employeeRepository;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    void itShouldServeRepeatedReadsFromCacheUntilUpdated() throws Exception {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+        Employee employee = Employee.builder().id(employeeId).email("test@example.com").build();
+
+        Employee updated = Employee.builder().id(employeeId).email("new@example.com").version(1L).build();
+
+        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(employee)).thenReturn(Optional.of(updated));
+        when(employeeRepository.patch(eq(employeeId), any(Update.class), isNull())).thenReturn(Optional.of(employee));
+
+        // When
+        employeeService.getEmployeeById(employeeId);
+        employeeService.getEmployeeById(employeeId);
+        employeeService.updateEmployee(employeeId, UpdateEmployeeRequest.builder().email("new@example.com").build(), null);
+        Employee result = employeeService.getEmployeeById(employeeId);
+
+        // Then
+        assertEquals("new@example.com", result.getEmail());
+        // the read in between comes from the cache, the one after the update from the repository again
+        verify(employeeRepository, times(2)).findById(employeeId);
+    }
+}
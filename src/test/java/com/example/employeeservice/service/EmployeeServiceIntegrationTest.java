@@ -1,12 +1,25 @@
 package com.example.employeeservice.service;
 
+import com.example.employeeservice.dto.request.BulkDeleteEmployeesRequest;
+import com.example.employeeservice.dto.request.BulkUpdateEmployeesRequest;
 import com.example.employeeservice.dto.request.CreateEmployeeRequest;
+import com.example.employeeservice.dto.request.PatchEmployeeRequest;
+import com.example.employeeservice.dto.request.SearchEmployeesRequest;
 import com.example.employeeservice.dto.request.UpdateEmployeeRequest;
+import com.example.employeeservice.dto.response.BulkOperationProgress;
 import com.example.employeeservice.dto.response.CreateEmployeeResponse;
+import com.example.employeeservice.dto.response.EmployeePageResponse;
 import com.example.employeeservice.exception.AlreadyExistException;
+import com.example.employeeservice.exception.BadRequestException;
 import com.example.employeeservice.exception.NotFoundException;
+import com.example.employeeservice.exception.PreconditionFailedException;
+import com.example.employeeservice.mapper.EmployeeMapper;
+import com.example.employeeservice.mapper.EmployeeUpdate;
 import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.OutboxEvent;
+import com.example.employeeservice.projection.EmployeeFields;
 import com.example.employeeservice.repository.EmployeeRepository;
+import com.example.employeeservice.repository.OutboxEventRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,14 +31,20 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @Testcontainers
-@SpringBootTest
+@SpringBootTest(properties = "employee.outbox.relay.enabled=false")
 public class EmployeeServiceIntegrationTest {
 
     @Container
@@ -39,12 +58,19 @@ public class EmployeeServiceIntegrationTest {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeeBulkService employeeBulkService;
+
     @BeforeEach
     public void setUp() {
         employeeRepository.deleteAll();
+        outboxEventRepository.deleteAll();
     }
 
     @Test
@@ -66,10 +92,31 @@ public class EmployeeServiceIntegrationTest {
         assertEquals(request.getFullName(), response.getFullName());
         assertEquals(request.getBirthday(), response.getBirthday());
         assertEquals(request.getHobbies(), response.getHobbies());
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(1, events.size());
+        assertEquals(response.getId().toString(), events.get(0).getKey());
+    }
+
+    @Test
+    public void testCreateEmployeeWithDuplicateEmail() throws AlreadyExistException {
+        // Given
+        CreateEmployeeRequest request = CreateEmployeeRequest.builder()
+                .email("test@example.com")
+                .fullName("John Doe")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .hobbies(Collections.singletonList("Reading"))
+                .build();
+        employeeService.createEmployee(request);
+
+        // When Then
+        assertThrows(AlreadyExistException.class, () -> employeeService.createEmployee(request));
+        assertEquals(1, employeeRepository.count());
+        assertEquals(1, outboxEventRepository.count());
     }
 
     @Test
-    public void testGetAllEmployees() {
+    public void testGetEmployees() throws BadRequestException {
         // Given
         employeeRepository.save(Employee.builder()
                 .id(UUID.randomUUID())
@@ -87,10 +134,36 @@ public class EmployeeServiceIntegrationTest {
                 .build());
 
         // When
-        List<Employee> employees = employeeService.getAllEmployees();
+        EmployeePageResponse firstPage = employeeService.getEmployees(null, 1, EmployeeFields.ALL);
+        EmployeePageResponse secondPage = employeeService.getEmployees(firstPage.getNextCursor(), 1, EmployeeFields.ALL);
+
+        // Then
+        assertEquals(1, firstPage.getItems().size());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(1, secondPage.getItems().size());
+        assertNull(secondPage.getNextCursor());
+        assertNotEquals(firstPage.getItems().get(0).getId(), secondPage.getItems().get(0).getId());
+    }
+
+    @Test
+    public void testGetEmployeesWithFields() throws BadRequestException {
+        // Given
+        employeeRepository.save(Employee.builder()
+                .id(UUID.randomUUID())
+                .email("test1@example.com")
+                .fullName("John Doe")
+                .hobbies(Collections.singletonList("Reading"))
+                .build());
+
+        // When
+        EmployeePageResponse page = employeeService.getEmployees(null, 10, EmployeeFields.parse("fullName"));
 
         // Then
-        assertEquals(2, employees.size());
+        Employee employee = page.getItems().get(0);
+        assertNotNull(employee.getId());
+        assertEquals("John Doe", employee.getFullName());
+        assertNull(employee.getEmail());
+        assertNull(employee.getHobbies());
     }
 
     @Test
@@ -118,7 +191,7 @@ public class EmployeeServiceIntegrationTest {
     }
 
     @Test
-    public void testUpdateEmployee() throws NotFoundException {
+    public void testUpdateEmployee() throws NotFoundException, AlreadyExistException, PreconditionFailedException {
         // Given
         UUID employeeId = UUID.randomUUID();
         Employee employee = Employee.builder()
@@ -138,7 +211,7 @@ public class EmployeeServiceIntegrationTest {
                 .build();
 
         // When
-        Employee updatedEmployee = employeeService.updateEmployee(employeeId, request);
+        Employee updatedEmployee = employeeService.updateEmployee(employeeId, request, null);
 
         // Then
         assertEquals(request.getEmail(), updatedEmployee.getEmail());
@@ -148,7 +221,125 @@ public class EmployeeServiceIntegrationTest {
     }
 
     @Test
-    public void testDeleteEmployee() {
+    public void testConditionalUpdateRejectsStaleVersion() throws Exception {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+        employeeRepository.save(Employee.builder()
+                .id(employeeId)
+                .email("test@example.com")
+                .fullName("John Doe")
+                .build());
+        UpdateEmployeeRequest request = UpdateEmployeeRequest.builder()
+                .email("test@example.com")
+                .fullName("Updated Name")
+                .build();
+
+        // When
+        Employee updatedEmployee = employeeService.updateEmployee(employeeId, request, 0L);
+
+        // Then
+        assertEquals(1L, updatedEmployee.getVersion());
+        assertThrows(PreconditionFailedException.class, () -> employeeService.updateEmployee(employeeId, request, 0L));
+        assertThrows(PreconditionFailedException.class, () -> employeeService.deleteEmployee(employeeId, 0L));
+        assertEquals("Updated Name", employeeRepository.findById(employeeId).orElseThrow().getFullName());
+    }
+
+    @Test
+    public void testPatchEmployee() throws Exception {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+        employeeRepository.save(Employee.builder()
+                .id(employeeId)
+                .email("test@example.com")
+                .fullName("John Doe")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .hobbies(Collections.singletonList("Reading"))
+                .build());
+
+        PatchEmployeeRequest request = PatchEmployeeRequest.builder()
+                .fullName("Updated Name")
+                .addHobbies(Collections.singletonList("Swimming"))
+                .build();
+
+        // When
+        Employee patchedEmployee = employeeService.patchEmployee(employeeId, request, null);
+
+        // Then
+        assertEquals("test@example.com", patchedEmployee.getEmail());
+        assertEquals("Updated Name", patchedEmployee.getFullName());
+        assertEquals(LocalDate.of(1990, 1, 1), patchedEmployee.getBirthday());
+        assertEquals(List.of("Reading", "Swimming"), patchedEmployee.getHobbies());
+        assertEquals(patchedEmployee, employeeRepository.findById(employeeId).orElseThrow());
+    }
+
+    @Test
+    public void testUpdatesAreAppliedInMemoryAsMongoAppliesThem() {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+        employeeRepository.insert(Employee.builder()
+                .id(employeeId)
+                .email("test@example.com")
+                .fullName("John Doe")
+                .build());
+        List<EmployeeUpdate> updates = List.of(
+                new EmployeeUpdate().addHobbies(List.of("Reading", "Chess")),
+                new EmployeeUpdate().fullName("Émile Zola").birthday(LocalDate.of(1992, 2, 29)),
+                new EmployeeUpdate().addHobbies(List.of("Chess")),
+                EmployeeMapper.mapToUpdate(UpdateEmployeeRequest.builder()
+                        .email("updated@example.com")
+                        .fullName("Updated Name")
+                        .build()),
+                new EmployeeUpdate().addHobbies(List.of("Go")),
+                new EmployeeUpdate().hobbies(List.of()).birthday(LocalDate.of(1990, 12, 31)));
+
+        for (EmployeeUpdate update : updates) {
+            // When
+            Employee previous = employeeRepository.patch(employeeId, update, null).orElseThrow();
+
+            // Then
+            assertEquals(employeeRepository.findById(employeeId).orElseThrow(), update.applyTo(previous));
+        }
+    }
+
+    @Test
+    public void testConcurrentPatchesOfTheSameEmployeeAllApply() throws Exception {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+        employeeRepository.save(Employee.builder()
+                .id(employeeId)
+                .email("test@example.com")
+                .fullName("John Doe")
+                .build());
+        int writers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<Future<Employee>> patches = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            PatchEmployeeRequest request = PatchEmployeeRequest.builder()
+                    .addHobbies(Collections.singletonList("Hobby " + i))
+                    .build();
+            patches.add(executor.submit(() -> {
+                start.await();
+                return employeeService.patchEmployee(employeeId, request, null);
+            }));
+        }
+        start.countDown();
+        for (Future<Employee> patch : patches) {
+            patch.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        Employee employee = employeeRepository.findById(employeeId).orElseThrow();
+        assertEquals(writers, employee.getHobbies().size());
+        assertEquals((long) writers, employee.getVersion());
+        assertEquals(writers, outboxEventRepository.count());
+    }
+
+    @Test
+    public void testDeleteEmployee() throws Exception {
         // Given
         UUID employeeId = UUID.randomUUID();
         Employee employee = Employee.builder()
@@ -161,9 +352,55 @@ public class EmployeeServiceIntegrationTest {
         employeeRepository.save(employee);
 
         // When
-        employeeService.deleteEmployee(employeeId);
+        employeeService.deleteEmployee(employeeId, null);
 
         // Then
         assertFalse(employeeRepository.existsById(employeeId));
+        assertNull(outboxEventRepository.findAll().get(0).getPayload());
+    }
+
+    @Test
+    public void testBulkUpdateAndDeleteByFilter() throws BadRequestException {
+        // Given
+        Employee chess = employeeRepository.save(Employee.builder()
+                .id(UUID.randomUUID())
+                .email("test1@example.com")
+                .fullName("John Doe")
+                .hobbies(List.of("Chess"))
+                .build());
+        Employee reading = employeeRepository.save(Employee.builder()
+                .id(UUID.randomUUID())
+                .email("test2@example.com")
+                .fullName("Jane Smith")
+                .hobbies(List.of("Reading"))
+                .build());
+        SearchEmployeesRequest filter = SearchEmployeesRequest.builder().hobby(List.of("Chess")).build();
+
+        // When
+        BulkOperationProgress updated = employeeBulkService.prepareUpdate(BulkUpdateEmployeesRequest.builder()
+                .filter(filter)
+                .changes(PatchEmployeeRequest.builder().addHobbies(List.of("Go")).build())
+                .build()).run(progress -> {
+        });
+
+        // Then
+        assertEquals(1, updated.getProcessed());
+        Employee updatedEmployee = employeeRepository.findById(chess.getId()).orElseThrow();
+        assertEquals(List.of("Chess", "Go"), updatedEmployee.getHobbies());
+        assertEquals(chess.getVersion() + 1, updatedEmployee.getVersion());
+        assertEquals(reading.getVersion(), employeeRepository.findById(reading.getId()).orElseThrow().getVersion());
+        assertEquals(1, outboxEventRepository.count());
+
+        // When
+        BulkOperationProgress deleted = employeeBulkService.prepareDelete(BulkDeleteEmployeesRequest.builder()
+                .ids(List.of(chess.getId(), UUID.randomUUID()))
+                .build()).run(progress -> {
+        });
+
+        // Then
+        assertEquals(1, deleted.getProcessed());
+        assertFalse(employeeRepository.existsById(chess.getId()));
+        assertTrue(employeeRepository.existsById(reading.getId()));
+        assertEquals(2, outboxEventRepository.count());
     }
 }
@@ -1,12 +1,24 @@
 package com.example.employeeservice.service;
 
 import com.example.employeeservice.dto.request.CreateEmployeeRequest;
+import com.example.employeeservice.dto.request.PatchEmployeeRequest;
+import com.example.employeeservice.dto.request.SearchEmployeesRequest;
 import com.example.employeeservice.dto.request.UpdateEmployeeRequest;
 import com.example.employeeservice.dto.response.CreateEmployeeResponse;
+import com.example.employeeservice.dto.response.EmployeePageResponse;
 import com.example.employeeservice.exception.AlreadyExistException;
+import com.example.employeeservice.exception.BadRequestException;
 import com.example.employeeservice.exception.NotFoundException;
+import com.example.employeeservice.exception.PreconditionFailedException;
 import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.pagination.BirthdayCursor;
+import com.example.employeeservice.pagination.CursorCodec;
+import com.example.employeeservice.projection.EmployeeFields;
+import com.example.employeeservice.readmodel.EmployeeReadModel;
 import com.example.employeeservice.repository.EmployeeRepository;
+import com.example.employeeservice.repository.EmployeeSearchCriteria;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -14,11 +26,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,11 +49,17 @@ class EmployeeServiceTest {
     private EmployeeRepository employeeRepository;
 
     @Mock
-    private KafkaMessagePublishService kafkaMessagePublishService;
+    private OutboxService outboxService;
 
     @InjectMocks
     private EmployeeService employeeService;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(employeeService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(employeeService, "maxPageSize", 10);
+    }
+
     @Nested
     @DisplayName("Create Employee Tests")
     class CreateEmployee {
@@ -56,8 +80,7 @@ class EmployeeServiceTest {
                     .hobbies(request.getHobbies())
                     .build();
 
-            when(employeeRepository.findByEmail(request.getEmail())).thenReturn(Optional.empty());
-            when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
+            when(employeeRepository.insert(any(Employee.class))).thenReturn(employee);
 
             // Act
             CreateEmployeeResponse response = employeeService.createEmployee(request);
@@ -68,9 +91,8 @@ class EmployeeServiceTest {
             assertEquals(request.getFullName(), response.getFullName());
             assertEquals(request.getBirthday(), response.getBirthday());
             assertEquals(request.getHobbies(), response.getHobbies());
-            verify(employeeRepository).findByEmail(request.getEmail());
-            verify(employeeRepository).save(any(Employee.class));
-            verify(kafkaMessagePublishService).publish(employee);
+            verify(employeeRepository).insert(any(Employee.class));
+            verify(outboxService).record(null, employee);
         }
 
         @Test
@@ -82,45 +104,212 @@ class EmployeeServiceTest {
                     .birthday(LocalDate.of(1990, 1, 1))
                     .hobbies(Arrays.asList("Reading", "Gardening"))
                     .build();
-            Employee existingEmployee = Employee.builder()
-                    .id(UUID.randomUUID())
-                    .email(request.getEmail())
-                    .fullName(request.getFullName())
-                    .birthday(request.getBirthday())
-                    .hobbies(request.getHobbies())
-                    .build();
 
-            when(employeeRepository.findByEmail(request.getEmail())).thenReturn(Optional.of(existingEmployee));
+            when(employeeRepository.insert(any(Employee.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
 
             // When
             assertThrows(AlreadyExistException.class, () -> employeeService.createEmployee(request));
 
             // Then
-            verify(employeeRepository).findByEmail(request.getEmail());
-            verify(employeeRepository, never()).save(any(Employee.class));
-            verify(kafkaMessagePublishService, never()).publish(any(Employee.class));
+            verify(employeeRepository).insert(any(Employee.class));
+            verify(outboxService, never()).record(any(), any());
         }
     }
 
     @Nested
-    @DisplayName("Get All Employees Tests")
-    class GetAllEmployees {
+    @DisplayName("Get Employees Tests")
+    class GetEmployees {
         @Test
-        void getAllEmployees() {
+        void itShouldReturnFirstPageWithNextCursor() throws BadRequestException {
             // Given
             List<Employee> employees = Arrays.asList(
                     Employee.builder().id(UUID.randomUUID()).build(),
                     Employee.builder().id(UUID.randomUUID()).build()
             );
 
-            when(employeeRepository.findAll()).thenReturn(employees);
+            when(employeeRepository.findAllBy(any(Pageable.class))).thenReturn(new SliceImpl<>(employees, Pageable.ofSize(2), true));
+
+            // Act
+            EmployeePageResponse result = employeeService.getEmployees(null, null, EmployeeFields.ALL);
+
+            // Then
+            assertEquals(employees, result.getItems());
+            assertEquals(CursorCodec.encode(employees.get(1).getId()), result.getNextCursor());
+            verify(employeeRepository).findAllBy(argThat(pageable -> pageable.getPageSize() == 2));
+        }
+
+        @Test
+        void itShouldContinueFromCursorAndCapPageSize() throws BadRequestException {
+            // Given
+            UUID lastSeenId = UUID.randomUUID();
+            List<Employee> employees = List.of(Employee.builder().id(UUID.randomUUID()).build());
+
+            when(employeeRepository.findByIdGreaterThan(eq(lastSeenId), any(Pageable.class)))
+                    .thenReturn(new SliceImpl<>(employees, Pageable.ofSize(10), false));
+
+            // Act
+            EmployeePageResponse result = employeeService.getEmployees(CursorCodec.encode(lastSeenId), 1000, EmployeeFields.ALL);
+
+            // Then
+            assertEquals(employees, result.getItems());
+            assertNull(result.getNextCursor());
+            verify(employeeRepository).findByIdGreaterThan(eq(lastSeenId), argThat(pageable -> pageable.getPageSize() == 10));
+        }
+
+        @Test
+        void itShouldRejectInvalidCursor() {
+            assertThrows(BadRequestException.class, () -> employeeService.getEmployees("not-a-cursor", null, EmployeeFields.ALL));
+            verifyNoInteractions(employeeRepository);
+        }
+
+        @Test
+        void itShouldProjectSelectedFields() throws BadRequestException {
+            // Given
+            UUID lastSeenId = UUID.randomUUID();
+            EmployeeFields fields = EmployeeFields.parse("fullName");
+            List<Employee> employees = List.of(Employee.builder().id(UUID.randomUUID()).fullName("John Doe").build());
+
+            when(employeeRepository.search(EmployeeSearchCriteria.builder().build(), lastSeenId, 2, fields))
+                    .thenReturn(new SliceImpl<>(employees, Pageable.ofSize(2), false));
+
+            // Act
+            EmployeePageResponse result = employeeService.getEmployees(CursorCodec.encode(lastSeenId), null, fields);
+
+            // Then
+            assertEquals(employees, result.getItems());
+            verify(employeeRepository, never()).findByIdGreaterThan(any(), any());
+        }
+
+        @Test
+        void itShouldServePagesFromTheReadModelOnceCaughtUp() throws BadRequestException {
+            // Given
+            UUID lastSeenId = UUID.randomUUID();
+            List<Employee> employees = List.of(Employee.builder().id(UUID.randomUUID()).build());
+            EmployeeReadModel readModel = mock(EmployeeReadModel.class);
+            ReflectionTestUtils.setField(employeeService, "employeeReadModel", readModel);
+
+            when(readModel.isCaughtUp()).thenReturn(true);
+            when(readModel.findAll(lastSeenId, 2))
+                    .thenReturn(new SliceImpl<>(employees, Pageable.ofSize(2), false));
+
+            // Act
+            EmployeePageResponse result = employeeService.getEmployees(CursorCodec.encode(lastSeenId), null, EmployeeFields.ALL);
+
+            // Then
+            assertEquals(employees, result.getItems());
+            verifyNoInteractions(employeeRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Search Employees Tests")
+    class SearchEmployees {
+        @Test
+        void itShouldNormalizeNameAndContinueFromCursor() throws BadRequestException {
+            // Given
+            UUID lastSeenId = UUID.randomUUID();
+            List<Employee> employees = List.of(Employee.builder().id(UUID.randomUUID()).build());
+            SearchEmployeesRequest request = SearchEmployeesRequest.builder()
+                    .hobby(List.of("Reading"))
+                    .birthdayFrom(LocalDate.of(1990, 1, 1))
+                    .name("  JoHn ")
+                    .build();
+            EmployeeSearchCriteria expectedCriteria = EmployeeSearchCriteria.builder()
+                    .hobbies(List.of("Reading"))
+                    .birthdayFrom(LocalDate.of(1990, 1, 1))
+                    .namePrefix("john")
+                    .build();
+
+            when(employeeRepository.search(expectedCriteria, lastSeenId, 2, EmployeeFields.ALL))
+                    .thenReturn(new SliceImpl<>(employees, Pageable.ofSize(2), false));
 
             // Act
-            List<Employee> result = employeeService.getAllEmployees();
+            EmployeePageResponse result = employeeService.searchEmployees(request, CursorCodec.encode(lastSeenId), null, EmployeeFields.ALL);
 
             // Then
-            assertEquals(employees, result);
-            verify(employeeRepository).findAll();
+            assertEquals(employees, result.getItems());
+            assertNull(result.getNextCursor());
+        }
+
+        @Test
+        void itShouldSearchWithMongosIndexesEvenWhenTheReadModelHasCaughtUp() throws BadRequestException {
+            // Given
+            EmployeeReadModel readModel = mock(EmployeeReadModel.class);
+            ReflectionTestUtils.setField(employeeService, "employeeReadModel", readModel);
+            EmployeeSearchCriteria criteria = EmployeeSearchCriteria.builder().hobbies(List.of("Reading")).build();
+
+            when(readModel.isCaughtUp()).thenReturn(true);
+            when(employeeRepository.search(criteria, null, 2, EmployeeFields.ALL))
+                    .thenReturn(new SliceImpl<>(List.of(), Pageable.ofSize(2), false));
+
+            // Act
+            employeeService.searchEmployees(SearchEmployeesRequest.builder().hobby(List.of("Reading")).build(),
+                    null, null, EmployeeFields.ALL);
+
+            // Then
+            verify(readModel, never()).findAll(any(), anyInt());
+        }
+
+        @Test
+        void itShouldRejectInvertedBirthdayRange() {
+            SearchEmployeesRequest request = SearchEmployeesRequest.builder()
+                    .birthdayFrom(LocalDate.of(2000, 1, 1))
+                    .birthdayTo(LocalDate.of(1990, 1, 1))
+                    .build();
+
+            assertThrows(BadRequestException.class, () -> employeeService.searchEmployees(request, null, null, EmployeeFields.ALL));
+            verifyNoInteractions(employeeRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Upcoming Birthdays Tests")
+    class UpcomingBirthdays {
+        @Test
+        void itShouldSplitWindowsAcrossTheNewYear() {
+            assertArrayEquals(new int[][]{{1018, 1031}},
+                    EmployeeService.monthDayRanges(LocalDate.of(2026, 10, 18), 13).toArray(int[][]::new));
+            assertArrayEquals(new int[][]{{1220, 1231}, {101, 119}},
+                    EmployeeService.monthDayRanges(LocalDate.of(2026, 12, 20), 30).toArray(int[][]::new));
+            assertArrayEquals(new int[][]{{301, 1231}, {101, 300}},
+                    EmployeeService.monthDayRanges(LocalDate.of(2026, 3, 1), 366).toArray(int[][]::new));
+        }
+
+        @Test
+        void itShouldFillThePageFromBothRangesAndContinueAfterTheYearEnd() throws BadRequestException {
+            // Given
+            Employee newYearsEve = Employee.builder().id(UUID.randomUUID()).birthdayMonthDay(1231).build();
+            Employee january = Employee.builder().id(UUID.randomUUID()).birthdayMonthDay(105).build();
+            Employee february = Employee.builder().id(UUID.randomUUID()).birthdayMonthDay(201).build();
+            BirthdayCursor afterJanuary = new BirthdayCursor(105, january.getId());
+
+            when(employeeRepository.findByBirthdayMonthDay(1220, 1231, null, 2, EmployeeFields.ALL))
+                    .thenReturn(new SliceImpl<>(List.of(newYearsEve), Pageable.ofSize(2), false));
+            when(employeeRepository.findByBirthdayMonthDay(101, 218, null, 1, EmployeeFields.ALL))
+                    .thenReturn(new SliceImpl<>(List.of(january), Pageable.ofSize(1), true));
+            when(employeeRepository.findByBirthdayMonthDay(101, 218, afterJanuary, 2, EmployeeFields.ALL))
+                    .thenReturn(new SliceImpl<>(List.of(february), Pageable.ofSize(2), false));
+
+            // When
+            EmployeePageResponse first = employeeService.getUpcomingBirthdays(60, LocalDate.of(2026, 12, 20), null, null, EmployeeFields.ALL);
+            EmployeePageResponse second = employeeService.getUpcomingBirthdays(60, LocalDate.of(2026, 12, 20), first.getNextCursor(), null, EmployeeFields.ALL);
+
+            // Then
+            assertEquals(List.of(newYearsEve, january), first.getItems());
+            assertEquals(afterJanuary.encode(), first.getNextCursor());
+            assertEquals(List.of(february), second.getItems());
+            assertNull(second.getNextCursor());
+            verify(employeeRepository, never()).findByBirthdayMonthDay(eq(1220), eq(1231), notNull(), anyInt(), any());
+        }
+
+        @Test
+        void itShouldRejectWindowsAndCursorsOutsideTheYear() {
+            String december = new BirthdayCursor(1215, UUID.randomUUID()).encode();
+
+            assertThrows(BadRequestException.class, () -> employeeService.getUpcomingBirthdays(-1, null, null, null, EmployeeFields.ALL));
+            assertThrows(BadRequestException.class, () -> employeeService.getUpcomingBirthdays(367, null, null, null, EmployeeFields.ALL));
+            assertThrows(BadRequestException.class, () -> employeeService.getUpcomingBirthdays(7, LocalDate.of(2026, 3, 1), december, null, EmployeeFields.ALL));
+            verifyNoInteractions(employeeRepository);
         }
     }
 
@@ -162,13 +351,49 @@ class EmployeeServiceTest {
             // Then
             verify(employeeRepository).findById(nonExistingId);
         }
+
+        @Test
+        void itShouldReadOnlySelectedFields() throws NotFoundException, BadRequestException {
+            // Given
+            UUID employeeId = UUID.randomUUID();
+            EmployeeFields fields = EmployeeFields.parse("fullName");
+            Employee employee = Employee.builder().id(employeeId).fullName("John Doe").build();
+
+            when(employeeRepository.findById(employeeId, fields)).thenReturn(Optional.of(employee));
+
+            // Act
+            Employee result = employeeService.getEmployeeById(employeeId, fields);
+
+            // Then
+            assertEquals(employee, result);
+            verify(employeeRepository, never()).findById(employeeId);
+        }
+
+        @Test
+        void itShouldReadFromMongoUntilTheReadModelHasCaughtUp() throws NotFoundException {
+            // Given
+            UUID employeeId = UUID.randomUUID();
+            Employee stored = Employee.builder().id(employeeId).version(1L).build();
+            Employee materialized = Employee.builder().id(employeeId).version(2L).build();
+            EmployeeReadModel readModel = mock(EmployeeReadModel.class);
+            ReflectionTestUtils.setField(employeeService, "employeeReadModel", readModel);
+
+            when(readModel.isCaughtUp()).thenReturn(false, true);
+            when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(stored));
+            when(readModel.findById(employeeId)).thenReturn(Optional.of(materialized));
+
+            // When Then
+            assertEquals(stored, employeeService.getEmployeeById(employeeId));
+            assertEquals(materialized, employeeService.getEmployeeById(employeeId));
+            verify(employeeRepository).findById(employeeId);
+        }
     }
 
     @Nested
     @DisplayName("Update Employee Tests")
     class UpdateEmployee {
         @Test
-        void itShouldUpdateEmployee() throws NotFoundException {
+        void itShouldUpdateEveryFieldInOneUpdate() throws Exception {
             // Given
             UUID employeeId = UUID.randomUUID();
             UpdateEmployeeRequest request = UpdateEmployeeRequest.builder()
@@ -177,28 +402,40 @@ class EmployeeServiceTest {
                     .birthday(LocalDate.of(1992, 2, 2))
                     .hobbies(Arrays.asList("Reading", "Swimming"))
                     .build();
-            Employee existingEmployee = Employee.builder()
-                    .id(employeeId)
-                    .email("oldemail@example.com")
-                    .fullName("Old Name")
-                    .birthday(LocalDate.of(1990, 1, 1))
-                    .hobbies(Arrays.asList("Reading", "Gardening"))
-                    .build();
+            Employee previous = Employee.builder().id(employeeId).email("test@example.com").version(2L).build();
 
-            when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(existingEmployee));
-            when(employeeRepository.save(any(Employee.class))).thenReturn(existingEmployee);
+            when(employeeRepository.patch(eq(employeeId), any(Update.class), eq(2L))).thenReturn(Optional.of(previous));
 
             // Act
-            Employee result = employeeService.updateEmployee(employeeId, request);
+            Employee result = employeeService.updateEmployee(employeeId, request, 2L);
 
             // Then
-            assertEquals(existingEmployee, result);
-            assertEquals(request.getEmail(), result.getEmail());
-            assertEquals(request.getFullName(), result.getFullName());
-            assertEquals(request.getBirthday(), result.getBirthday());
-            assertEquals(request.getHobbies(), result.getHobbies());
-            verify(employeeRepository).findById(employeeId);
-            verify(kafkaMessagePublishService).publish(existingEmployee);
+            assertEquals("newemail@example.com", result.getEmail());
+            assertEquals("Updated Name", result.getFullName());
+            assertEquals("updated name", result.getNormalizedName());
+            assertEquals(LocalDate.of(1992, 2, 2), result.getBirthday());
+            assertEquals(202, result.getBirthdayMonthDay());
+            assertEquals(List.of("Reading", "Swimming"), result.getHobbies());
+            assertEquals(3L, result.getVersion());
+            verify(employeeRepository).patch(eq(employeeId), argThat(update ->
+                    update.getUpdateObject().get("$set", Document.class).keySet()
+                            .equals(Set.of("email", "fullName", "normalizedName", "birthday", "birthdayMonthDay", "hobbies"))), eq(2L));
+            verify(employeeRepository, never()).findById(any());
+            verify(outboxService).record(previous, result);
+        }
+
+        @Test
+        void itShouldFailPreconditionWhenVersionChanged() {
+            // Given
+            UUID employeeId = UUID.randomUUID();
+
+            when(employeeRepository.patch(eq(employeeId), any(Update.class), eq(2L))).thenReturn(Optional.empty());
+            when(employeeRepository.existsById(employeeId)).thenReturn(true);
+
+            // When Then
+            assertThrows(PreconditionFailedException.class, () -> employeeService.updateEmployee(employeeId,
+                    UpdateEmployeeRequest.builder().email("newemail@example.com").build(), 2L));
+            verify(outboxService, never()).record(any(), any());
         }
 
         @Test
@@ -212,28 +449,119 @@ class EmployeeServiceTest {
                     .hobbies(Arrays.asList("Reading", "Swimming"))
                     .build();
 
-            when(employeeRepository.findById(nonExistingId)).thenReturn(Optional.empty());
+            when(employeeRepository.patch(eq(nonExistingId), any(Update.class), isNull())).thenReturn(Optional.empty());
 
             // WHen
-            assertThrows(NotFoundException.class, () -> employeeService.updateEmployee(nonExistingId, request));
+            assertThrows(NotFoundException.class, () -> employeeService.updateEmployee(nonExistingId, request, null));
 
             //Then
-            verify(employeeRepository).findById(nonExistingId);
-            verify(employeeRepository, never()).save(any(Employee.class));
-            verify(kafkaMessagePublishService, never()).publish(any(Employee.class));
+            verify(employeeRepository, never()).existsById(any());
+            verify(outboxService, never()).record(any(), any());
+        }
+
+        @Test
+        void itShouldThrowExceptionWhenEmailIsTakenByAnotherEmployee() {
+            // Given
+            UUID employeeId = UUID.randomUUID();
+            UpdateEmployeeRequest request = UpdateEmployeeRequest.builder()
+                    .email("taken@example.com")
+                    .build();
+
+            when(employeeRepository.patch(eq(employeeId), any(Update.class), isNull()))
+                    .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+            // When
+            assertThrows(AlreadyExistException.class, () -> employeeService.updateEmployee(employeeId, request, null));
+
+            // Then
+            verify(outboxService, never()).record(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Patch Employee Tests")
+    class PatchEmployee {
+        @Test
+        void itShouldApplyOnlySuppliedFieldsInOneUpdate() throws Exception {
+            // Given
+            UUID employeeId = UUID.randomUUID();
+            PatchEmployeeRequest request = PatchEmployeeRequest.builder()
+                    .fullName("Updated Name")
+                    .addHobbies(List.of("Swimming"))
+                    .build();
+            Employee previous = Employee.builder()
+                    .id(employeeId)
+                    .email("test@example.com")
+                    .fullName("Old Name")
+                    .hobbies(List.of("Reading"))
+                    .version(4L)
+                    .build();
+
+            when(employeeRepository.patch(eq(employeeId), any(Update.class), isNull())).thenReturn(Optional.of(previous));
+
+            // When
+            Employee result = employeeService.patchEmployee(employeeId, request, null);
+
+            // Then
+            assertEquals("test@example.com", result.getEmail());
+            assertEquals("Updated Name", result.getFullName());
+            assertEquals(List.of("Reading", "Swimming"), result.getHobbies());
+            assertEquals(5L, result.getVersion());
+            assertEquals(List.of("Reading"), previous.getHobbies());
+            verify(employeeRepository).patch(eq(employeeId), argThat(update ->
+                    update.getUpdateObject().get("$set", Document.class).keySet().equals(Set.of("fullName", "normalizedName"))
+                            && update.getUpdateObject().containsKey("$push")), isNull());
+            verify(outboxService).record(previous, result);
+        }
+
+        @Test
+        void itShouldThrowExceptionWhenEmployeeNotFound() {
+            // Given
+            UUID nonExistingId = UUID.randomUUID();
+
+            when(employeeRepository.patch(eq(nonExistingId), any(Update.class), eq(5L))).thenReturn(Optional.empty());
+            when(employeeRepository.existsById(nonExistingId)).thenReturn(false);
+
+            // When Then
+            assertThrows(NotFoundException.class, () -> employeeService.patchEmployee(nonExistingId,
+                    PatchEmployeeRequest.builder().fullName("Updated Name").build(), 5L));
+            verify(outboxService, never()).record(any(), any());
+        }
+
+        @Test
+        void itShouldRejectEmptyOrConflictingPatch() {
+            UUID employeeId = UUID.randomUUID();
+
+            assertThrows(BadRequestException.class, () -> employeeService.patchEmployee(employeeId,
+                    PatchEmployeeRequest.builder().build(), null));
+            assertThrows(BadRequestException.class, () -> employeeService.patchEmployee(employeeId,
+                    PatchEmployeeRequest.builder().hobbies(List.of("Reading")).addHobbies(List.of("Swimming")).build(), null));
+            verifyNoInteractions(employeeRepository, outboxService);
         }
     }
 
     @Test
-    void deleteEmployee() {
+    void deleteEmployee() throws PreconditionFailedException {
         // Given
         UUID employeeId = UUID.randomUUID();
+        Employee employee = Employee.builder().id(employeeId).build();
+        when(employeeRepository.remove(employeeId, null)).thenReturn(Optional.of(employee));
 
         // When
-        employeeService.deleteEmployee(employeeId);
+        employeeService.deleteEmployee(employeeId, null);
 
         // Then
-        verify(employeeRepository).deleteById(employeeId);
-        verify(kafkaMessagePublishService).publishDeletion(employeeId);
+        verify(outboxService).recordDeletion(employeeId, employee);
+    }
+
+    @Test
+    void deleteEmployeeWithStaleVersion() {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+        when(employeeRepository.remove(employeeId, 1L)).thenReturn(Optional.empty());
+
+        // When Then
+        assertThrows(PreconditionFailedException.class, () -> employeeService.deleteEmployee(employeeId, 1L));
+        verify(outboxService, never()).recordDeletion(any(), any());
     }
 }
@@ -0,0 +1,110 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.model.EmployeeEventType;
+import com.example.employeeservice.model.OutboxEvent;
+import com.example.employeeservice.serialization.EmployeeEventCodec;
+import com.example.employeeservice.serialization.WireFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaProducerException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaMessagePublishServiceTest {
+
+    @Mock
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Captor
+    private ArgumentCaptor<ProducerRecord<String, byte[]>> records;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private KafkaMessagePublishService kafkaMessagePublishService;
+
+    @BeforeEach
+    void setUp() {
+        kafkaMessagePublishService = new KafkaMessagePublishService(kafkaTemplate,
+                new EmployeeEventCodec(Jackson2ObjectMapperBuilder::json, WireFormat.CBOR), meterRegistry);
+        ReflectionTestUtils.setField(kafkaMessagePublishService, "topic", "employee-log");
+    }
+
+    @Test
+    void itShouldCountOutcomesAndRecordSendLatency() {
+        // Given
+        OutboxEvent sent = event();
+        OutboxEvent timedOut = event();
+        OutboxEvent tooLarge = event();
+
+        when(kafkaTemplate.send(keyed(sent)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaTemplate.send(keyed(timedOut)))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaProducerException(null, "send failed", new TimeoutException())));
+        when(kafkaTemplate.send(keyed(tooLarge)))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaProducerException(null, "send failed", new RecordTooLargeException())));
+
+        // When
+        kafkaMessagePublishService.publish(sent);
+        kafkaMessagePublishService.publish(timedOut);
+        kafkaMessagePublishService.publish(tooLarge);
+
+        // Then
+        assertEquals(1, meterRegistry.get("employee.kafka.sent").tag("result", "success").counter().count());
+        assertEquals(1, meterRegistry.get("employee.kafka.sent").tag("result", "retriable-failure").counter().count());
+        assertEquals(1, meterRegistry.get("employee.kafka.sent").tag("result", "failure").counter().count());
+        assertEquals(3, meterRegistry.get("employee.kafka.send").timer().count());
+    }
+
+    @Test
+    void itShouldSendTheValueFormatAndEventTypeWithTheRecord() {
+        // Given
+        OutboxEvent event = event();
+        event.setType(EmployeeEventType.DELTA);
+        OutboxEvent tombstone = OutboxEvent.builder().key(UUID.randomUUID().toString()).build();
+        when(kafkaTemplate.send(records.capture())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        kafkaMessagePublishService.publish(event);
+        kafkaMessagePublishService.publish(tombstone);
+
+        // Then
+        ProducerRecord<String, byte[]> record = records.getAllValues().get(0);
+        assertEquals("employee-log", record.topic());
+        assertEquals(event.getKey(), record.key());
+        assertArrayEquals(new byte[]{(byte) 0xbf, (byte) 0xff}, record.value());
+        assertEquals("application/cbor", new String(record.headers().lastHeader("content-type").value(), StandardCharsets.UTF_8));
+        assertEquals("delta", new String(record.headers().lastHeader("event-type").value(), StandardCharsets.UTF_8));
+        assertNull(records.getAllValues().get(1).value());
+        assertNull(records.getAllValues().get(1).headers().lastHeader("event-type"));
+    }
+
+    private static ProducerRecord<String, byte[]> keyed(OutboxEvent event) {
+        return argThat(record -> record != null && event.getKey().equals(record.key()));
+    }
+
+    private static OutboxEvent event() {
+        return OutboxEvent.builder()
+                .key(UUID.randomUUID().toString())
+                .payload("{}")
+                .build();
+    }
+}
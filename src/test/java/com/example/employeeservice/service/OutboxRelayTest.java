@@ -0,0 +1,190 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.model.OutboxEvent;
+import com.example.employeeservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaMessagePublishService kafkaMessagePublishService;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, kafkaMessagePublishService, mongoTemplate, meterRegistry);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 3);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(outboxRelay, "leaseDuration", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(outboxRelay, "deliveryTimeout", Duration.ofSeconds(1));
+    }
+
+    @Test
+    void itShouldDeleteOnlyEventsAcknowledgedInOrder() {
+        // Given
+        OutboxEvent first = event();
+        OutboxEvent second = event();
+        OutboxEvent third = event();
+
+        when(outboxEventRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(List.of(first, second, third));
+        when(outboxEventRepository.findAllByKeyInOrderByIdAsc(anyCollection())).thenReturn(List.of(first, second, third));
+        when(kafkaMessagePublishService.publish(first)).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaMessagePublishService.publish(second)).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(kafkaMessagePublishService.publish(third)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        int relayed = outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(1, relayed);
+        verify(outboxEventRepository).deleteAll(List.of(first));
+        assertEquals(1, meterRegistry.counter("employee.outbox.failed").count());
+    }
+
+    @Test
+    void itShouldSkipWhenAnotherReplicaHoldsTheLease() {
+        // Given
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq(MongoLease.COLLECTION)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verifyNoInteractions(outboxEventRepository, kafkaMessagePublishService);
+    }
+
+    @Test
+    void itShouldDrainAndReportLagWhenHoldingTheLease() {
+        // Given
+        OutboxEvent event = event();
+        OutboxEvent oldest = event();
+        oldest.setCreatedAt(Instant.now().minusSeconds(10));
+
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), eq(MongoLease.COLLECTION)))
+                .thenReturn(new Document());
+        when(outboxEventRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(List.of(event));
+        when(outboxEventRepository.findAllByKeyInOrderByIdAsc(anyCollection())).thenReturn(List.of(event));
+        when(kafkaMessagePublishService.publish(event)).thenReturn(CompletableFuture.completedFuture(null));
+        when(outboxEventRepository.count()).thenReturn(4L);
+        when(outboxEventRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(oldest));
+
+        // When
+        outboxRelay.relay();
+
+        // Then
+        verify(outboxEventRepository).deleteAll(List.of(event));
+        assertEquals(4, meterRegistry.get("employee.outbox.pending").gauge().value());
+        assertEquals(10_000, meterRegistry.get("employee.outbox.lag").gauge().value(), 1_000);
+    }
+
+    @Test
+    void itShouldRequireTheLeaseToOutlastTheSendTimeout() {
+        // Given
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeout", Duration.ofSeconds(30));
+
+        // When Then
+        assertThrows(IllegalStateException.class, outboxRelay::checkTimeouts);
+        ReflectionTestUtils.setField(outboxRelay, "leaseDuration", Duration.ofSeconds(40));
+        assertDoesNotThrow(outboxRelay::checkTimeouts);
+    }
+
+    @Test
+    void itShouldRequireTheSendTimeoutToCoverTheDeliveryTimeout() {
+        // Given
+        ReflectionTestUtils.setField(outboxRelay, "deliveryTimeout", Duration.ofSeconds(120));
+
+        // When Then
+        assertThrows(IllegalStateException.class, outboxRelay::checkTimeouts);
+        ReflectionTestUtils.setField(outboxRelay, "sendTimeout", Duration.ofSeconds(120));
+        ReflectionTestUtils.setField(outboxRelay, "leaseDuration", Duration.ofSeconds(130));
+        assertDoesNotThrow(outboxRelay::checkTimeouts);
+    }
+
+    @Test
+    void itShouldPublishTheEventsOfAnEmployeeInVersionOrder() {
+        // Given two replicas change the same employee within one second, and the second replica's generated _id
+        // sorts first, so the batch boundary falls between the two changes
+        String employeeId = UUID.randomUUID().toString();
+        OutboxEvent fromSecondWriter = event(new ObjectId("653000001111111111000001"), employeeId, 2L);
+        OutboxEvent other = event(new ObjectId("653000002222222222000001"), UUID.randomUUID().toString(), 0L);
+        OutboxEvent fromFirstWriter = event(new ObjectId("65300000aaaaaaaaaa000001"), employeeId, 1L);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+
+        when(outboxEventRepository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(List.of(fromSecondWriter, other));
+        when(outboxEventRepository.findAllByKeyInOrderByIdAsc(Set.of(employeeId, other.getKey())))
+                .thenReturn(List.of(fromSecondWriter, other, fromFirstWriter));
+        when(kafkaMessagePublishService.publish(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        int relayed = outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(3, relayed);
+        InOrder publishOrder = inOrder(kafkaMessagePublishService);
+        publishOrder.verify(kafkaMessagePublishService).publish(fromFirstWriter);
+        publishOrder.verify(kafkaMessagePublishService).publish(other);
+        publishOrder.verify(kafkaMessagePublishService).publish(fromSecondWriter);
+        verify(outboxEventRepository).deleteAll(List.of(fromFirstWriter, other, fromSecondWriter));
+    }
+
+    private static OutboxEvent event(ObjectId id, String key, Long version) {
+        return OutboxEvent.builder()
+                .id(id)
+                .key(key)
+                .payload("{}")
+                .version(version)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private static OutboxEvent event() {
+        return OutboxEvent.builder()
+                .id(new ObjectId())
+                .key(UUID.randomUUID().toString())
+                .payload("{}")
+                .createdAt(Instant.now())
+                .build();
+    }
+}
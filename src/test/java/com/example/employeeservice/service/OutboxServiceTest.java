@@ -0,0 +1,130 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.configuration.JacksonConfiguration;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeEventType;
+import com.example.employeeservice.model.OutboxEvent;
+import com.example.employeeservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = objectMapper();
+
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(outboxEventRepository, objectMapper, eventPublisher);
+        ReflectionTestUtils.setField(outboxService, "eventMode", EmployeeEventType.DELTA);
+        ReflectionTestUtils.setField(outboxService, "snapshotEvery", 10);
+    }
+
+    @Test
+    void itShouldRecordOnlyChangedFieldsOfAnUpdate() throws Exception {
+        // Given
+        Employee previous = employee(4L);
+        Employee employee = employee(5L);
+        employee.setHobbies(List.of("Reading", "Chess"));
+        employee.setBirthday(null);
+
+        // When
+        OutboxEvent event = outboxService.toEvent(previous, employee);
+
+        // Then
+        assertEquals(EmployeeEventType.DELTA, event.getType());
+        JsonNode delta = objectMapper.readTree(event.getPayload());
+        List<String> fields = new ArrayList<>();
+        delta.fieldNames().forEachRemaining(fields::add);
+        assertEquals(List.of("id", "version", "birthday", "hobbies"), fields);
+        assertEquals(employee.getId().toString(), delta.get("id").asText());
+        assertEquals(5, delta.get("version").asLong());
+        assertTrue(delta.get("birthday").isNull());
+        assertEquals(2, delta.get("hobbies").size());
+    }
+
+    @Test
+    void itShouldRecordSnapshotsOnCreateAndEverySnapshotInterval() throws Exception {
+        // Given
+        Employee employee = employee(10L);
+
+        // When
+        OutboxEvent created = outboxService.toEvent(null, employee(null));
+        OutboxEvent tenth = outboxService.toEvent(employee(9L), employee);
+
+        // Then
+        assertEquals(EmployeeEventType.SNAPSHOT, created.getType());
+        assertEquals(EmployeeEventType.SNAPSHOT, tenth.getType());
+        assertEquals(employee, objectMapper.readValue(tenth.getPayload(), Employee.class));
+    }
+
+    @Test
+    void itShouldRecordSnapshotsInSnapshotMode() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(outboxService, "eventMode", EmployeeEventType.SNAPSHOT);
+        Employee employee = employee(5L);
+
+        // When
+        OutboxEvent event = outboxService.toEvent(employee(4L), employee);
+
+        // Then
+        assertEquals(EmployeeEventType.SNAPSHOT, event.getType());
+        assertEquals(employee, objectMapper.readValue(event.getPayload(), Employee.class));
+    }
+
+    @Test
+    void itShouldVersionEventsSoThatTombstonesComeLast() {
+        // Given
+        Employee employee = employee(5L);
+
+        // When
+        OutboxEvent update = outboxService.toEvent(employee(4L), employee);
+        OutboxEvent deletion = outboxService.toDeletionEvent(employee.getId(), employee);
+        OutboxEvent deletionOfUnknown = outboxService.toDeletionEvent(UUID.randomUUID(), null);
+
+        // Then
+        assertEquals(5L, update.getVersion());
+        assertEquals(6L, deletion.getVersion());
+        assertEquals(Long.MAX_VALUE, deletionOfUnknown.getVersion());
+    }
+
+    private static Employee employee(Long version) {
+        return Employee.builder()
+                .id(UUID.fromString("6f1c2f4e-3b7a-4f0e-9d55-2f1b8a3c9e10"))
+                .email("john.doe@example.com")
+                .fullName("John Doe")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .hobbies(List.of("Reading"))
+                .version(version)
+                .build();
+    }
+
+    private static ObjectMapper objectMapper() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfiguration().employeeFieldsCustomizer().customize(builder);
+        return builder.build();
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.dto.request.CreateEmployeeRequest;
+import com.example.employeeservice.dto.request.PatchEmployeeRequest;
+import com.example.employeeservice.dto.request.UpdateEmployeeRequest;
+import com.example.employeeservice.exception.AlreadyExistException;
+import com.example.employeeservice.exception.BadRequestException;
+import com.example.employeeservice.exception.NotFoundException;
+import com.example.employeeservice.exception.PreconditionFailedException;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeChangedEvent;
+import com.example.employeeservice.model.OutboxEvent;
+import com.example.employeeservice.pagination.CursorCodec;
+import com.example.employeeservice.projection.EmployeeFields;
+import com.example.employeeservice.repository.ReactiveEmployeeRepository;
+import com.mongodb.MongoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.employeeservice.configuration.CacheConfiguration.EMPLOYEES_CACHE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveEmployeeServiceTest {
+
+    @Mock
+    private ReactiveEmployeeRepository employeeRepository;
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private EmployeeBatchService employeeBatchService;
+
+    @Mock
+    private EmployeeBulkService employeeBulkService;
+
+    private ReactiveEmployeeService reactiveEmployeeService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveEmployeeService = new ReactiveEmployeeService(employeeRepository, mongoTemplate, transactionalOperator,
+                outboxService, eventPublisher, employeeService, employeeBatchService,
+                employeeBulkService, new ConcurrentMapCacheManager(EMPLOYEES_CACHE));
+        ReflectionTestUtils.setField(reactiveEmployeeService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(reactiveEmployeeService, "maxPageSize", 10);
+        ReflectionTestUtils.setField(reactiveEmployeeService, "maxTransactionAttempts", 3);
+    }
+
+    @Test
+    void itShouldServeRepeatedReadsFromCache() {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+        Employee employee = Employee.builder().id(employeeId).build();
+        when(employeeRepository.findById(employeeId)).thenReturn(Mono.just(employee));
+
+        // When Then
+        StepVerifier.create(reactiveEmployeeService.getEmployeeById(employeeId)).expectNext(employee).verifyComplete();
+        StepVerifier.create(reactiveEmployeeService.getEmployeeById(employeeId)).expectNext(employee).verifyComplete();
+        verify(employeeRepository, times(1)).findById(employeeId);
+    }
+
+    @Test
+    void itShouldFailWithNotFoundForUnknownEmployee() {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+        when(employeeRepository.findById(employeeId)).thenReturn(Mono.empty());
+
+        // When Then
+        StepVerifier.create(reactiveEmployeeService.getEmployeeById(employeeId))
+                .expectError(NotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void itShouldRecordOutboxEventInTransactionAndPublishAfterwards() {
+        // Given
+        CreateEmployeeRequest request = CreateEmployeeRequest.builder()
+                .email("test@example.com")
+                .fullName("John Doe")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .build();
+        OutboxEvent event = OutboxEvent.builder().key("key").build();
+        inTransaction();
+        when(employeeRepository.insert(any(Employee.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(outboxService.toEvent(isNull(), any(Employee.class))).thenReturn(event);
+        when(mongoTemplate.insert(event)).thenReturn(Mono.just(event));
+
+        // When Then
+        StepVerifier.create(reactiveEmployeeService.createEmployee(request))
+                .assertNext(response -> assertEquals("test@example.com", response.getEmail()))
+                .verifyComplete();
+        verify(transactionalOperator).transactional(Mockito.<Mono<Object>>any());
+        verify(eventPublisher).publishEvent(argThat((EmployeeChangedEvent changed) ->
+                changed.previous() == null && !changed.isDeletion()));
+    }
+
+    @Test
+    void itShouldTranslateDuplicateEmail() {
+        // Given
+        inTransaction();
+        when(employeeRepository.insert(any(Employee.class))).thenReturn(Mono.error(new DuplicateKeyException("duplicate")));
+
+        // When Then
+        StepVerifier.create(reactiveEmployeeService.createEmployee(CreateEmployeeRequest.builder().email("test@example.com").build()))
+                .expectError(AlreadyExistException.class)
+                .verify();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void itShouldRetryTransactionsAbortedByAConcurrentWrite() {
+        // Given
+        MongoException writeConflict = new MongoException(112, "WriteConflict");
+        writeConflict.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+        OutboxEvent event = OutboxEvent.builder().key("key").build();
+        inTransaction();
+        when(employeeRepository.insert(any(Employee.class)))
+                .thenReturn(Mono.error(new UncategorizedMongoDbException("Write conflict", writeConflict)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(outboxService.toEvent(isNull(), any(Employee.class))).thenReturn(event);
+        when(mongoTemplate.insert(event)).thenReturn(Mono.just(event));
+
+        // When Then
+        StepVerifier.create(reactiveEmployeeService.createEmployee(CreateEmployeeRequest.builder().email("test@example.com").build()))
+                .assertNext(response -> assertEquals("test@example.com", response.getEmail()))
+                .verifyComplete();
+        verify(employeeRepository, times(2)).insert(any(Employee.class));
+        verify(eventPublisher).publishEvent(any(EmployeeChangedEvent.class));
+    }
+
+    @Test
+    void itShouldRejectPatchWithoutFields() {
+        StepVerifier.create(reactiveEmployeeService.patchEmployee(UUID.randomUUID(), new PatchEmployeeRequest(), null))
+                .expectError(BadRequestException.class)
+                .verify();
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void itShouldFailPatchOfUnknownEmployee() {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+        inTransaction();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Employee.class)))
+                .thenReturn(Mono.empty());
+
+        // When Then
+        StepVerifier.create(reactiveEmployeeService.patchEmployee(employeeId, PatchEmployeeRequest.builder().fullName("New").build(), null))
+                .expectError(NotFoundException.class)
+                .verify();
+        verify(employeeRepository, never()).existsById(any(UUID.class));
+        verify(mongoTemplate, never()).insert(any(OutboxEvent.class));
+    }
+
+    @Test
+    void itShouldPatchAndKnowThePreviousVersionInOneRoundTrip() {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+        Employee previous = Employee.builder().id(employeeId).fullName("Old").version(1L).build();
+        OutboxEvent event = OutboxEvent.builder().key(employeeId.toString()).build();
+        inTransaction();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class),
+                argThat((FindAndModifyOptions options) -> !options.isReturnNew()), eq(Employee.class)))
+                .thenReturn(Mono.just(previous));
+        when(outboxService.toEvent(eq(previous), any(Employee.class))).thenReturn(event);
+        when(mongoTemplate.insert(event)).thenReturn(Mono.just(event));
+
+        // When Then
+        StepVerifier.create(reactiveEmployeeService.patchEmployee(employeeId, PatchEmployeeRequest.builder().fullName("New").build(), null))
+                .assertNext(patched -> {
+                    assertEquals("New", patched.getFullName());
+                    assertEquals("new", patched.getNormalizedName());
+                    assertEquals(2L, patched.getVersion());
+                })
+                .verifyComplete();
+        verify(employeeRepository, never()).findById(any(UUID.class));
+        verify(eventPublisher).publishEvent(argThat((EmployeeChangedEvent changed) ->
+                changed.previous() == previous && "New".equals(changed.employee().getFullName())));
+    }
+
+    @Test
+    void itShouldFailPreconditionWhenVersionChanged() {
+        // Given
+        UUID employeeId = UUID.randomUUID();
+        inTransaction();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Employee.class)))
+                .thenReturn(Mono.empty());
+        when(employeeRepository.existsById(employeeId)).thenReturn(Mono.just(true));
+
+        // When Then
+        StepVerifier.create(reactiveEmployeeService.updateEmployee(employeeId, UpdateEmployeeRequest.builder().fullName("New").build(), 4L))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void itShouldReturnPageWithNextCursor() {
+        // Given
+        UUID lastSeenId = UUID.randomUUID();
+        List<Employee> employees = List.of(
+                Employee.builder().id(UUID.randomUUID()).build(),
+                Employee.builder().id(UUID.randomUUID()).build(),
+                Employee.builder().id(UUID.randomUUID()).build());
+        when(employeeRepository.findByIdGreaterThan(eq(lastSeenId), argThat((Pageable pageable) -> pageable.getPageSize() == 3)))
+                .thenReturn(Flux.fromIterable(employees));
+
+        // When Then
+        StepVerifier.create(reactiveEmployeeService.getEmployees(CursorCodec.encode(lastSeenId), null, EmployeeFields.ALL))
+                .assertNext(page -> {
+                    assertEquals(employees.subList(0, 2), page.getItems());
+                    assertEquals(CursorCodec.encode(employees.get(1).getId()), page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void inTransaction() {
+        when(transactionalOperator.transactional(Mockito.<Mono<Object>>any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.employeeservice.service;
+
+import com.example.employeeservice.configuration.TokenConfiguration;
+import com.example.employeeservice.dto.response.TokenResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "Dp9JZ1eJ3r1yc+3JdsPKwdCY9EDafrkK1CyPSt+1vQE=";
+
+    private final TokenConfiguration tokenConfiguration = new TokenConfiguration();
+
+    private JwtDecoder jwtDecoder;
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        SecretKey key = tokenConfiguration.tokenSigningKey(SECRET);
+        jwtDecoder = tokenConfiguration.jwtDecoder(key);
+        tokenService = new TokenService(tokenConfiguration.jwtEncoder(key));
+        ReflectionTestUtils.setField(tokenService, "ttl", Duration.ofMinutes(15));
+    }
+
+    @Test
+    void itShouldIssueATokenThatValidatesLocally() {
+        // Given
+        var authentication = UsernamePasswordAuthenticationToken.authenticated("testUser", null, List.of());
+
+        // When
+        TokenResponse response = tokenService.issueToken(authentication);
+        Jwt jwt = jwtDecoder.decode(response.getAccessToken());
+
+        // Then
+        assertEquals("Bearer", response.getTokenType());
+        assertEquals(900, response.getExpiresIn());
+        assertEquals("testUser", jwt.getSubject());
+        assertEquals(TokenService.ISSUER, jwt.getClaimAsString("iss"));
+    }
+
+    @Test
+    void itShouldRejectATokenSignedWithAnotherKey() {
+        // Given
+        SecretKey otherKey = tokenConfiguration.tokenSigningKey("c2Vjb25kLWtleS10aGF0LWlzLWF0LWxlYXN0LTI1Ni1iaXRzIQ==");
+        TokenService otherService = new TokenService(tokenConfiguration.jwtEncoder(otherKey));
+        ReflectionTestUtils.setField(otherService, "ttl", Duration.ofMinutes(15));
+        String token = otherService.issueToken(UsernamePasswordAuthenticationToken.authenticated("testUser", null, List.of()))
+                .getAccessToken();
+
+        // When Then
+        assertThrows(JwtException.class, () -> jwtDecoder.decode(token));
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.employeeservice.stats;
+
+import com.example.employeeservice.dto.response.EmployeeStatsResponse;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeChangedEvent;
+import com.example.employeeservice.model.EmployeeStatsCounter;
+import com.example.employeeservice.repository.EmployeeStatsRepository;
+import com.example.employeeservice.repository.inmemory.InMemoryEmployeeRepository;
+import com.example.employeeservice.repository.inmemory.InMemoryEmployeeStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeStatsTest {
+
+    @Captor
+    private ArgumentCaptor<String> flushIds;
+    @Captor
+    private ArgumentCaptor<Map<String, Long>> deltas;
+
+    private InMemoryEmployeeStatsRepository employeeStatsRepository;
+    private EmployeeStats employeeStats;
+
+    @BeforeEach
+    void setUp() {
+        employeeStatsRepository = new InMemoryEmployeeStatsRepository();
+        employeeStats = new EmployeeStats(employeeStatsRepository);
+    }
+
+    @Test
+    void itShouldMoveOnlyTheCountersAChangeAffects() {
+        // Given
+        Employee previous = employee(LocalDate.of(1990, 3, 1), "Chess", "Go");
+        Employee employee = employee(LocalDate.of(1990, 3, 9), "Chess", "Tennis", "Tennis");
+
+        // When Then
+        assertEquals(Map.of("hobby:Go", -1L, "hobby:Tennis", 1L), EmployeeStats.delta(previous, employee));
+        assertEquals(Map.of("total", 1L, "hobby:Chess", 1L, "hobby:Go", 1L, "birthMonth:3", 1L),
+                EmployeeStats.delta(null, previous));
+        assertEquals(Map.of("total", -1L, "birthMonth:3", -1L, "hobby:Chess", -1L, "hobby:Tennis", -1L),
+                EmployeeStats.delta(employee, null));
+        assertEquals(Map.of(), EmployeeStats.delta(null, null));
+    }
+
+    @Test
+    void itShouldServePendingChangesAndFlushThemInOneWrite() {
+        // Given
+        Employee chess = employee(LocalDate.of(1990, 1, 5), "Chess");
+        Employee go = employee(null, "Go", "Chess");
+        employeeStats.onEmployeeChanged(new EmployeeChangedEvent(chess.getId(), null, chess));
+        employeeStats.onEmployeeChanged(new EmployeeChangedEvent(go.getId(), null, go));
+
+        // When
+        EmployeeStatsResponse pending = employeeStats.getStats(10);
+        employeeStats.flush();
+        EmployeeStatsResponse flushed = employeeStats.getStats(10);
+
+        // Then
+        assertEquals(2, pending.getTotal());
+        assertEquals(List.of("Chess", "Go"), List.copyOf(pending.getHobbies().keySet()));
+        assertEquals(1, pending.getBirthMonths().get(Month.JANUARY));
+        assertEquals(0, pending.getBirthMonths().get(Month.DECEMBER));
+        assertEquals(pending, flushed);
+        assertEquals(4, employeeStatsRepository.count());
+
+        // When
+        employeeStats.onEmployeeChanged(new EmployeeChangedEvent(chess.getId(), chess, null));
+
+        // Then
+        EmployeeStatsResponse deleted = employeeStats.getStats(1);
+        assertEquals(1, deleted.getTotal());
+        assertEquals(Map.of("Chess", 1L), deleted.getHobbies());
+        assertEquals(0, deleted.getBirthMonths().get(Month.JANUARY));
+    }
+
+    @Test
+    void itShouldKeepDeltasThatCouldNotBeFlushed() {
+        // Given
+        EmployeeStatsRepository failingRepository = mock(EmployeeStatsRepository.class);
+        doThrow(new DataAccessResourceFailureException("connection lost")).when(failingRepository).increment(anyString(), anyMap());
+        EmployeeStats stats = new EmployeeStats(failingRepository);
+        Employee employee = employee(null, "Chess");
+        stats.onEmployeeChanged(new EmployeeChangedEvent(employee.getId(), null, employee));
+
+        // When
+        stats.flush();
+
+        // Then
+        assertEquals(1, stats.getStats(10).getTotal());
+        assertEquals(Map.of("Chess", 1L), stats.getStats(10).getHobbies());
+    }
+
+    @Test
+    void itShouldRepeatAFailedFlushUnderTheSameIdBeforeFlushingNewerDeltas() {
+        // Given
+        EmployeeStatsRepository repository = mock(EmployeeStatsRepository.class);
+        doThrow(new DataAccessResourceFailureException("no acknowledgement"))
+                .doNothing()
+                .when(repository).increment(anyString(), anyMap());
+        EmployeeStats stats = new EmployeeStats(repository);
+        Employee chess = employee(null, "Chess");
+        Employee go = employee(null, "Go");
+        stats.onEmployeeChanged(new EmployeeChangedEvent(chess.getId(), null, chess));
+        stats.flush();
+        stats.onEmployeeChanged(new EmployeeChangedEvent(go.getId(), null, go));
+
+        // When
+        stats.flush();
+        stats.flush();
+
+        // Then
+        verify(repository, times(3)).increment(flushIds.capture(), deltas.capture());
+        assertEquals(flushIds.getAllValues().get(0), flushIds.getAllValues().get(1));
+        assertNotEquals(flushIds.getAllValues().get(1), flushIds.getAllValues().get(2));
+        assertEquals(Map.of("total", 1L, "hobby:Chess", 1L), deltas.getAllValues().get(1));
+        assertEquals(Map.of("total", 1L, "hobby:Go", 1L), deltas.getAllValues().get(2));
+    }
+
+    @Test
+    void itShouldRebuildTheCountersFromTheEmployees() {
+        // Given
+        InMemoryEmployeeRepository employeeRepository = new InMemoryEmployeeRepository();
+        employeeRepository.insert(employee(LocalDate.of(1985, 7, 14), "Chess"));
+        employeeRepository.insert(employee(null, "Chess", "Go"));
+        employeeStatsRepository.increment("setup", Map.of("total", 7L, "hobby:Go", -1L, "hobby:Polo", 3L));
+        EmployeeStatsRebuild rebuild = new EmployeeStatsRebuild(employeeRepository, employeeStatsRepository, employeeStats,
+                (MongoTemplate) null);
+        ReflectionTestUtils.setField(rebuild, "batchSize", 100);
+
+        // When
+        rebuild.rebuild();
+
+        // Then
+        EmployeeStatsResponse stats = employeeStats.getStats(10);
+        assertEquals(2, stats.getTotal());
+        assertEquals(Map.of("Chess", 2L, "Go", 1L), stats.getHobbies());
+        assertEquals(1, stats.getBirthMonths().get(Month.JULY));
+        assertEquals(4, employeeStatsRepository.count());
+    }
+
+    @Test
+    void itShouldKeepOnlyTheChangesTheRebuildDidNotReadDuringIt() {
+        // Given
+        Employee first = employee(1L, "Chess");
+        Employee second = employee(2L, "Chess");
+        Employee third = employee(3L, "Chess");
+        InMemoryEmployeeRepository employeeRepository = new InMemoryEmployeeRepository() {
+            @Override
+            public Stream<Employee> streamAll(int batchSize) {
+                // changes the employee already read and the one not read yet, as the second is read
+                return super.streamAll(batchSize).peek(employee -> {
+                    if (employee.getId().equals(second.getId())) {
+                        change(this, first, "Go");
+                        change(this, third, "Tennis");
+                    }
+                });
+            }
+        };
+        List.of(first, second, third).forEach(employee -> {
+            Employee inserted = employeeRepository.insert(employee);
+            employeeStats.onEmployeeChanged(new EmployeeChangedEvent(inserted.getId(), null, inserted));
+        });
+        EmployeeStatsRebuild rebuild = new EmployeeStatsRebuild(employeeRepository, employeeStatsRepository, employeeStats,
+                (MongoTemplate) null);
+        ReflectionTestUtils.setField(rebuild, "batchSize", 100);
+
+        // When
+        rebuild.rebuild();
+        employeeStats.flush();
+
+        // Then
+        EmployeeStatsResponse stats = employeeStats.getStats(10);
+        assertEquals(3, stats.getTotal());
+        assertEquals(Map.of("Chess", 1L, "Go", 1L, "Tennis", 1L), stats.getHobbies());
+        assertEquals(Map.of("total", 3L, "hobby:Chess", 1L, "hobby:Go", 1L, "hobby:Tennis", 1L),
+                employeeStatsRepository.findAll().stream()
+                        .filter(counter -> counter.getCount() != 0)
+                        .collect(Collectors.toMap(EmployeeStatsCounter::getId, EmployeeStatsCounter::getCount)));
+    }
+
+    @Test
+    void itShouldNotRebuildWhileAnotherReplicaHoldsTheLease() {
+        // Given
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        InMemoryEmployeeRepository employeeRepository = new InMemoryEmployeeRepository();
+        employeeRepository.insert(employee(null, "Chess"));
+        employeeStatsRepository.increment("setup", Map.of("total", 7L));
+        EmployeeStatsRebuild rebuild = new EmployeeStatsRebuild(employeeRepository, employeeStatsRepository, employeeStats,
+                mongoTemplate);
+        ReflectionTestUtils.setField(rebuild, "leaseDuration", Duration.ofSeconds(60));
+
+        // When
+        rebuild.rebuild();
+
+        // Then
+        assertEquals(List.of(new EmployeeStatsCounter("total", 7L)), employeeStatsRepository.findAll());
+    }
+
+    private void change(InMemoryEmployeeRepository employeeRepository, Employee employee, String hobby) {
+        Employee previous = employeeRepository.findById(employee.getId()).orElseThrow();
+        Employee changed = employeeRepository.findById(employee.getId()).orElseThrow();
+        changed.setHobbies(List.of(hobby));
+        employeeStats.onEmployeeChanged(new EmployeeChangedEvent(employee.getId(), previous, employeeRepository.save(changed)));
+    }
+
+    /**
+     * Employee whose id takes the given place in id order.
+     */
+    private static Employee employee(long id, String hobby) {
+        return Employee.builder()
+                .id(new UUID(0, id))
+                .email(id + "@example.com")
+                .fullName("John Doe")
+                .hobbies(List.of(hobby))
+                .build();
+    }
+
+    private static Employee employee(LocalDate birthday, String... hobbies) {
+        UUID id = UUID.randomUUID();
+        return Employee.builder()
+                .id(id)
+                .email(id + "@example.com")
+                .fullName("John Doe")
+                .birthday(birthday)
+                .hobbies(List.of(hobbies))
+                .build();
+    }
+}
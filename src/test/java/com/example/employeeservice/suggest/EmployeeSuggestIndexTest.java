@@ -0,0 +1,190 @@
+package com.example.employeeservice.suggest;
+
+import com.example.employeeservice.dto.response.EmployeeSuggestion;
+import com.example.employeeservice.model.Employee;
+import com.example.employeeservice.model.EmployeeChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeSuggestIndexTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private EmployeeSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeSuggestIndex(meterRegistry);
+        ReflectionTestUtils.setField(index, "maxLimit", 50);
+        ReflectionTestUtils.setField(index, "maxScan", 10000);
+    }
+
+    @Test
+    void itShouldRankNamePrefixMatchesFirst() {
+        // Given
+        Employee johnathan = employee("Johnathan Smith", "jsmith@example.com");
+        Employee john = employee("John Doe", "john.doe@example.com");
+        Employee mary = employee("Mary Johnson", "mary@example.com");
+        index.load(Stream.of(johnathan, john, mary));
+
+        // When
+        List<EmployeeSuggestion> suggestions = index.suggest("  JOHN ", 10);
+
+        // Then
+        assertEquals(List.of(john.getId(), johnathan.getId(), mary.getId()), ids(suggestions));
+        assertEquals(2, ids(index.suggest("john", 2)).size());
+    }
+
+    @Test
+    void itShouldMatchEveryQueryWordAndEmails() {
+        // Given
+        Employee john = employee("John Doe", "john.doe@example.com");
+        Employee jane = employee("Jane Doe", "jane@corp.io");
+        index.load(Stream.of(john, jane));
+
+        // When Then
+        assertEquals(List.of(john.getId()), ids(index.suggest("do jo", 10)));
+        assertEquals(List.of(jane.getId()), ids(index.suggest("jane@corp", 10)));
+        assertTrue(index.suggest("corp", 10).isEmpty());
+        assertEquals(List.of(john.getId()), ids(index.suggest("john.doe@ex", 10)));
+        assertTrue(index.suggest("", 10).isEmpty());
+    }
+
+    @Test
+    void itShouldApplyChangesIncrementally() {
+        // Given
+        Employee john = employee("John Doe", "jd@example.com");
+        index.put(john);
+
+        // When
+        john.setFullName("Jack Doe");
+        john.setVersion(1L);
+        index.onEmployeeChanged(new EmployeeChangedEvent(john.getId(), null, john));
+
+        // Then
+        assertTrue(index.suggest("john", 10).isEmpty());
+        assertEquals(List.of(john.getId()), ids(index.suggest("jack", 10)));
+
+        // When
+        index.onEmployeeChanged(new EmployeeChangedEvent(john.getId(), john, null));
+
+        // Then
+        assertTrue(index.suggest("jack", 10).isEmpty());
+        assertEquals(0, meterRegistry.get("employee.suggest.terms").gauge().value());
+        assertEquals(0, meterRegistry.get("employee.suggest.memory").gauge().value());
+    }
+
+    @Test
+    void itShouldKeepLiveChangesMadeWhileLoading() {
+        // Given
+        Employee renamed = employee("Old Name", "renamed@example.com");
+        Employee deleted = employee("Deleted Person", "deleted@example.com");
+        Employee current = Employee.builder().id(renamed.getId()).fullName("New Name").email(renamed.getEmail()).build();
+
+        // When
+        index.load(Stream.of(renamed, deleted).peek(employee -> {
+            if (employee == renamed) {
+                index.put(current);
+                index.remove(deleted.getId());
+            }
+        }));
+
+        // Then
+        assertEquals(List.of(renamed.getId()), ids(index.suggest("new", 10)));
+        assertTrue(index.suggest("old", 10).isEmpty());
+        assertTrue(index.suggest("deleted", 10).isEmpty());
+        assertEquals(1, meterRegistry.get("employee.suggest.employees").gauge().value());
+    }
+
+    @Test
+    void itShouldIgnoreChangesThatAreNotNewer() {
+        // Given
+        Employee john = employee("John Doe", "jd@example.com");
+        john.setVersion(2L);
+        index.put(john);
+
+        // When
+        index.put(Employee.builder().id(john.getId()).fullName("Jack Doe").email(john.getEmail()).version(1L).build());
+        index.put(Employee.builder().id(john.getId()).fullName("Jim Doe").email(john.getEmail()).version(2L).build());
+
+        // Then
+        assertEquals(List.of(john.getId()), ids(index.suggest("john", 10)));
+        assertTrue(index.suggest("jack", 10).isEmpty());
+        assertTrue(index.suggest("jim", 10).isEmpty());
+
+        // When deleted here, older events still on the topic do not restore it
+        index.onEmployeeChanged(new EmployeeChangedEvent(john.getId(), john, null));
+        index.put(john);
+
+        // Then
+        assertTrue(index.suggest("john", 10).isEmpty());
+
+        // When the tombstone follows
+        index.remove(john.getId());
+        index.put(john);
+
+        // Then
+        assertEquals(List.of(john.getId()), ids(index.suggest("john", 10)));
+    }
+
+    @Test
+    void itShouldRankEveryMatchNotJustTheFirstPostings() {
+        // Given many employees whose email comes first in term order, and one whose name starts with the query
+        Employee joz = employee("Joz Doe", "zz@example.com");
+        index.load(Stream.concat(
+                IntStream.range(0, 2000).mapToObj(i -> employee("Person " + i, "joa" + i + "@example.com")),
+                Stream.of(joz)));
+
+        // When
+        List<EmployeeSuggestion> suggestions = index.suggest("jo", 1);
+
+        // Then
+        assertEquals(List.of(joz.getId()), ids(suggestions));
+    }
+
+    @Test
+    void itShouldKeepTheBestForShortPrefixesRankedAsEmployeesChange() {
+        // Given
+        ReflectionTestUtils.setField(index, "maxLimit", 2);
+        Employee al = employee("Al Smith", "al@example.com");
+        Employee amy = employee("Amy Smith", "amy@example.com");
+        Employee anna = employee("Anna Smith", "anna@example.com");
+        index.load(Stream.of(anna, amy, al));
+
+        // Then
+        assertEquals(List.of(al.getId(), amy.getId()), ids(index.suggest("a", 2)));
+
+        // When the best one is renamed, the next best moves up
+        index.put(Employee.builder().id(al.getId()).fullName("Zed Smith").email("zed@example.com").version(1L).build());
+
+        // Then
+        assertEquals(List.of(amy.getId(), anna.getId()), ids(index.suggest("a", 2)));
+        assertEquals(List.of(amy.getId()), ids(index.suggest("am", 2)));
+
+        // When
+        index.remove(amy.getId());
+
+        // Then
+        assertEquals(List.of(anna.getId()), ids(index.suggest("a", 2)));
+        assertTrue(index.suggest("am", 2).isEmpty());
+        assertEquals(List.of(al.getId(), anna.getId()), ids(index.suggest("smi", 2)));
+    }
+
+    private static Employee employee(String fullName, String email) {
+        return Employee.builder().id(UUID.randomUUID()).fullName(fullName).email(email).build();
+    }
+
+    private static List<UUID> ids(List<EmployeeSuggestion> suggestions) {
+        return suggestions.stream().map(EmployeeSuggestion::getId).toList();
+    }
+}